@@ -0,0 +1,22 @@
+plugins {
+    java
+    alias(libs.plugins.jmh)
+}
+
+dependencies {
+    jmh(projects.main)
+    jmh(project(":extensions:format-xm"))
+    jmh(libs.slf4j)
+    jmhRuntimeOnly(libs.logback.classic)
+}
+
+jmh {
+    jmhVersion = "1.37"
+    resultFormat = "JSON"
+    resultsFile = layout.buildDirectory.file("reports/jmh/results.json")
+    jvmArgsAppend = listOfNotNull(
+        // The module only exists on JDK 16 or later, and is only used when the vector kernels are built.
+        "--add-modules=jdk.incubator.vector".takeIf { findProperty("vectorKernels")?.toString()?.toBoolean() == true },
+        "-Dlavaplayer.benchmark.fixtures=${file("fixtures").absolutePath}"
+    )
+}
@@ -0,0 +1,124 @@
+package com.sedmelluq.discord.lavaplayer.benchmark;
+
+import com.sedmelluq.discord.lavaplayer.filter.FloatPcmAudioFilter;
+import com.sedmelluq.discord.lavaplayer.format.AudioDataFormat;
+import com.sedmelluq.discord.lavaplayer.player.AudioConfiguration;
+import com.sedmelluq.discord.lavaplayer.player.AudioPlayerOptions;
+import com.sedmelluq.discord.lavaplayer.track.playback.AllocatingAudioFrameBuffer;
+import com.sedmelluq.discord.lavaplayer.track.playback.AudioFrameBuffer;
+import com.sedmelluq.discord.lavaplayer.track.playback.AudioProcessingContext;
+import com.sedmelluq.discord.lavaplayer.track.playback.LockFreeAudioFrameBuffer;
+import com.sedmelluq.discord.lavaplayer.track.playback.NonAllocatingAudioFrameBuffer;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Shared setup code for the benchmarks.
+ */
+public class BenchmarkTools {
+    /**
+     * @param type           Frame buffer implementation: allocating, non-allocating or lock-free
+     * @param bufferDuration Duration of the buffer in milliseconds
+     * @param format         Format of the frames in the buffer
+     * @return A new frame buffer of the specified type.
+     */
+    public static AudioFrameBuffer createFrameBuffer(String type, int bufferDuration, AudioDataFormat format) {
+        AtomicBoolean stopping = new AtomicBoolean();
+
+        switch (type) {
+            case "allocating":
+                return new AllocatingAudioFrameBuffer(bufferDuration, format, stopping);
+            case "non-allocating":
+                return new NonAllocatingAudioFrameBuffer(bufferDuration, format, stopping);
+            case "lock-free":
+                return new LockFreeAudioFrameBuffer(bufferDuration, format, stopping);
+            default:
+                throw new IllegalArgumentException("Unknown frame buffer type " + type);
+        }
+    }
+
+    /**
+     * @param frameBuffer  Frame buffer to use as the output of the context
+     * @param outputFormat Output format of the context
+     * @return A processing context with default configuration and player options.
+     */
+    public static AudioProcessingContext createContext(AudioFrameBuffer frameBuffer, AudioDataFormat outputFormat) {
+        return new AudioProcessingContext(new AudioConfiguration(), frameBuffer, new AudioPlayerOptions(), outputFormat);
+    }
+
+    /**
+     * @param channelCount Number of channels
+     * @param sampleCount  Number of samples per channel
+     * @param sampleRate   Sample rate to generate the signal for
+     * @return Channels of a 440 Hz sine wave at half amplitude, with the phase shifted between channels.
+     */
+    public static float[][] createSineChannels(int channelCount, int sampleCount, int sampleRate) {
+        float[][] channels = new float[channelCount][sampleCount];
+
+        for (int channel = 0; channel < channelCount; channel++) {
+            for (int i = 0; i < sampleCount; i++) {
+                channels[channel][i] = (float) (0.5 * Math.sin(2 * Math.PI * 440 * i / sampleRate + channel));
+            }
+        }
+
+        return channels;
+    }
+
+    /**
+     * @param channels Float channels to convert
+     * @return Interleaved 16-bit samples of the channels.
+     */
+    public static short[] interleave(float[][] channels) {
+        int sampleCount = channels[0].length;
+        short[] samples = new short[sampleCount * channels.length];
+
+        for (int i = 0; i < sampleCount; i++) {
+            for (int channel = 0; channel < channels.length; channel++) {
+                samples[i * channels.length + channel] = (short) (channels[channel][i] * 32767);
+            }
+        }
+
+        return samples;
+    }
+
+    /**
+     * @param channels Float channels to convert
+     * @return Split 16-bit samples of the channels.
+     */
+    public static short[][] toShortChannels(float[][] channels) {
+        short[][] samples = new short[channels.length][channels[0].length];
+
+        for (int channel = 0; channel < channels.length; channel++) {
+            for (int i = 0; i < channels[channel].length; i++) {
+                samples[channel][i] = (short) (channels[channel][i] * 32767);
+            }
+        }
+
+        return samples;
+    }
+
+    /**
+     * Filter which discards its input, used as the end of a chain when only the cost of a single filter is measured.
+     */
+    public static class DiscardingFloatFilter implements FloatPcmAudioFilter {
+        @Override
+        public void process(float[][] input, int offset, int length) {
+            // Discarded
+        }
+
+        @Override
+        public void seekPerformed(long requestedTime, long providedTime) {
+            // Nothing to do
+        }
+
+        @Override
+        public void flush() {
+            // Nothing to do
+        }
+
+        @Override
+        public void close() {
+            // Nothing to do
+        }
+    }
+}
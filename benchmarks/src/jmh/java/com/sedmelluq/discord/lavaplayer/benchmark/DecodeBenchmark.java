@@ -0,0 +1,202 @@
+package com.sedmelluq.discord.lavaplayer.benchmark;
+
+import com.sedmelluq.discord.lavaplayer.container.MediaContainerRegistry;
+import com.sedmelluq.discord.lavaplayer.player.AudioConfiguration;
+import com.sedmelluq.discord.lavaplayer.player.AudioPlayerOptions;
+import com.sedmelluq.discord.lavaplayer.player.DefaultAudioPlayerManager;
+import com.sedmelluq.discord.lavaplayer.source.local.LocalAudioSourceManager;
+import com.sedmelluq.discord.lavaplayer.tools.FriendlyException;
+import com.sedmelluq.discord.lavaplayer.track.AudioItem;
+import com.sedmelluq.discord.lavaplayer.track.AudioTrack;
+import com.sedmelluq.discord.lavaplayer.track.InternalAudioTrack;
+import com.sedmelluq.discord.lavaplayer.track.TrackStateListener;
+import com.sedmelluq.discord.lavaplayer.track.playback.LocalAudioTrackExecutor;
+import com.sedmelluq.discord.lavaplayer.track.playback.MutableAudioFrame;
+import com.sedmelluq.lavaplayer.extensions.format.xm.XmContainerProbe;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Decodes local fixture files through the whole playback path: {@link LocalAudioSourceManager} detects the container,
+ * the track is executed by a {@link LocalAudioTrackExecutor} on the benchmark thread and the frames go through the full
+ * filter pipeline into the frame buffer, from where a separate thread drains them like an audio sender would. No
+ * network is involved.
+ * <p>
+ * One operation is decoding one fixture from start to end. Besides the time per operation, the decoded audio duration,
+ * the CPU time and the bytes allocated by the decoding thread are reported as secondary results, together with
+ * <code>realtimeFactor</code>, which is the number of audio seconds decoded per CPU second.
+ * <p>
+ * Fixtures are looked up from the directory given by the <code>lavaplayer.benchmark.fixtures</code> system property,
+ * the file for each container is the one whose name without extension is the value of {@link #fixture}. See the README
+ * in the fixtures directory for how to generate them.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class DecodeBenchmark {
+    private static final String FIXTURE_DIRECTORY_PROPERTY = "lavaplayer.benchmark.fixtures";
+
+    @Param({
+        "mp3", "flac", "wav", "ogg-opus", "ogg-vorbis", "ogg-flac", "mkv-opus", "mkv-vorbis", "mkv-aac", "mp4",
+        "mp4-fragmented", "adts", "mpegts", "xm"
+    })
+    public String fixture;
+
+    private DefaultAudioPlayerManager manager;
+    private AudioTrack track;
+
+    @Setup
+    public void setup() {
+        manager = new DefaultAudioPlayerManager();
+        manager.registerSourceManager(new LocalAudioSourceManager(MediaContainerRegistry.extended(new XmContainerProbe())));
+
+        File file = findFixture();
+        AudioItem item = manager.loadItemSync(file.getAbsolutePath());
+
+        if (!(item instanceof AudioTrack)) {
+            throw new IllegalStateException("Fixture " + file + " was not detected as a track.");
+        }
+
+        track = (AudioTrack) item;
+    }
+
+    @TearDown
+    public void tearDown() {
+        manager.shutdown();
+    }
+
+    @Benchmark
+    public long decode(DecodeCounters counters) throws InterruptedException {
+        ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        InternalAudioTrack instance = (InternalAudioTrack) track.makeClone();
+        AudioConfiguration configuration = manager.getConfiguration();
+
+        LocalAudioTrackExecutor executor = new LocalAudioTrackExecutor(instance, configuration, new AudioPlayerOptions(),
+            false, manager.getFrameBufferDuration());
+
+        instance.assignExecutor(executor, true);
+
+        FrameDrain drain = new FrameDrain(executor, configuration.getOutputFormat().maximumChunkSize());
+        drain.start();
+
+        long cpuTimeStart = threadBean.getCurrentThreadCpuTime();
+        long allocatedStart = getAllocatedBytes();
+
+        executor.execute(FailingStateListener.INSTANCE);
+
+        counters.cpuSeconds += (threadBean.getCurrentThreadCpuTime() - cpuTimeStart) / 1e9;
+        counters.allocatedMegabytes += (getAllocatedBytes() - allocatedStart) / (1024.0 * 1024.0);
+
+        drain.finish();
+        counters.audioSeconds += drain.frameCount * configuration.getOutputFormat().frameDuration() / 1000.0;
+        return drain.frameCount;
+    }
+
+    private File findFixture() {
+        File directory = new File(System.getProperty(FIXTURE_DIRECTORY_PROPERTY, "fixtures"));
+        File[] matches = directory.listFiles((dir, name) -> name.startsWith(fixture + "."));
+
+        if (matches == null || matches.length == 0) {
+            throw new IllegalStateException("No fixture for " + fixture + " in " + directory.getAbsolutePath() + ".");
+        }
+
+        return matches[0];
+    }
+
+    private static long getAllocatedBytes() {
+        ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+
+        if (threadBean instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) threadBean).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+
+        return 0;
+    }
+
+    /**
+     * Secondary results, accumulated over one iteration.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class DecodeCounters {
+        public double audioSeconds;
+        public double cpuSeconds;
+        public double allocatedMegabytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            audioSeconds = 0;
+            cpuSeconds = 0;
+            allocatedMegabytes = 0;
+        }
+
+        public double realtimeFactor() {
+            return cpuSeconds > 0 ? audioSeconds / cpuSeconds : 0;
+        }
+    }
+
+    private static class FrameDrain extends Thread {
+        private final LocalAudioTrackExecutor executor;
+        private final MutableAudioFrame frame;
+        private volatile boolean finished;
+        private long frameCount;
+
+        private FrameDrain(LocalAudioTrackExecutor executor, int maximumChunkSize) {
+            super("benchmark-frame-drain");
+            setDaemon(true);
+
+            this.executor = executor;
+            this.frame = new MutableAudioFrame();
+            this.frame.setBuffer(ByteBuffer.allocate(maximumChunkSize));
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (!finished) {
+                    try {
+                        if (executor.provide(frame, 10, TimeUnit.MILLISECONDS) && !frame.isTerminator()) {
+                            frameCount++;
+                        }
+                    } catch (TimeoutException e) {
+                        // Decoder has not produced anything yet, check whether it has finished
+                    }
+                }
+
+                while (executor.provide(frame) && !frame.isTerminator()) {
+                    frameCount++;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private void finish() throws InterruptedException {
+            finished = true;
+            join();
+        }
+    }
+
+    private static class FailingStateListener implements TrackStateListener {
+        private static final FailingStateListener INSTANCE = new FailingStateListener();
+
+        @Override
+        public void onTrackException(AudioTrack track, FriendlyException exception) {
+            throw new IllegalStateException("Decoding " + track.getIdentifier() + " failed.", exception);
+        }
+
+        @Override
+        public void onTrackStuck(AudioTrack track, long thresholdMs) {
+            // Not reported by the executor itself
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.sedmelluq.discord.lavaplayer.benchmark;
+
+import com.sedmelluq.discord.lavaplayer.filter.AudioPostProcessor;
+import com.sedmelluq.discord.lavaplayer.filter.BufferingPostProcessor;
+import com.sedmelluq.discord.lavaplayer.filter.FinalPcmAudioFilter;
+import com.sedmelluq.discord.lavaplayer.filter.volume.VolumePostProcessor;
+import com.sedmelluq.discord.lavaplayer.format.AudioDataFormat;
+import com.sedmelluq.discord.lavaplayer.format.StandardAudioDataFormats;
+import com.sedmelluq.discord.lavaplayer.track.playback.AudioProcessingContext;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.ShortBuffer;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-frame cost of the final stage of the pipeline: {@link FinalPcmAudioFilter} followed by the volume and buffering
+ * post processors, for every input shape the final filter accepts. Each invocation processes the given number of samples
+ * per channel, 960 being exactly one 20 ms frame and 4096 being a typical decoder output buffer which spans frame
+ * boundaries. The frame buffer is cleared after each invocation so that the benchmark never blocks on it.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FinalPcmFilterBenchmark {
+    @Param({"pcm", "opus"})
+    public String outputCodec;
+
+    @Param({"100", "70"})
+    public int volume;
+
+    @Param({"960", "4096"})
+    public int inputFrames;
+
+    private AudioProcessingContext context;
+    private FinalPcmAudioFilter filter;
+    private short[] interleavedInput;
+    private short[][] splitInput;
+    private float[][] floatInput;
+    private ShortBuffer bufferInput;
+
+    @Setup
+    public void setup() {
+        AudioDataFormat format = "opus".equals(outputCodec) ?
+            StandardAudioDataFormats.DISCORD_OPUS : StandardAudioDataFormats.DISCORD_PCM_S16_LE;
+
+        context = BenchmarkTools.createContext(BenchmarkTools.createFrameBuffer("non-allocating", 5000, format), format);
+        context.playerOptions.volumeLevel.set(volume);
+
+        AudioPostProcessor[] postProcessors = new AudioPostProcessor[] {
+            new VolumePostProcessor(context),
+            new BufferingPostProcessor(context, format.createEncoder(context.configuration))
+        };
+
+        filter = new FinalPcmAudioFilter(context, Arrays.asList(postProcessors));
+
+        floatInput = BenchmarkTools.createSineChannels(format.channelCount, inputFrames, format.sampleRate);
+        splitInput = BenchmarkTools.toShortChannels(floatInput);
+        interleavedInput = BenchmarkTools.interleave(floatInput);
+        bufferInput = ShortBuffer.wrap(interleavedInput);
+    }
+
+    @TearDown
+    public void tearDown() {
+        filter.close();
+    }
+
+    @Benchmark
+    public void interleavedShorts() throws InterruptedException {
+        filter.process(interleavedInput, 0, interleavedInput.length);
+        context.frameBuffer.clear();
+    }
+
+    @Benchmark
+    public void splitShorts() throws InterruptedException {
+        filter.process(splitInput, 0, splitInput[0].length);
+        context.frameBuffer.clear();
+    }
+
+    @Benchmark
+    public void splitFloats() throws InterruptedException {
+        filter.process(floatInput, 0, floatInput[0].length);
+        context.frameBuffer.clear();
+    }
+
+    @Benchmark
+    public void shortBuffer() throws InterruptedException {
+        bufferInput.clear();
+        filter.process(bufferInput);
+        context.frameBuffer.clear();
+    }
+}
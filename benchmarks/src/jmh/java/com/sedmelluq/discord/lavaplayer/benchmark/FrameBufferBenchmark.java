@@ -0,0 +1,92 @@
+package com.sedmelluq.discord.lavaplayer.benchmark;
+
+import com.sedmelluq.discord.lavaplayer.format.AudioDataFormat;
+import com.sedmelluq.discord.lavaplayer.format.StandardAudioDataFormats;
+import com.sedmelluq.discord.lavaplayer.track.playback.AudioFrameBuffer;
+import com.sedmelluq.discord.lavaplayer.track.playback.MutableAudioFrame;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of storing frames into and taking frames out of a frame buffer, both from a single thread and with a
+ * decoder thread and a sender thread working on the same buffer at the same time.
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FrameBufferBenchmark {
+    private static final AudioDataFormat FORMAT = StandardAudioDataFormats.DISCORD_OPUS;
+
+    @Param({"allocating", "non-allocating", "lock-free"})
+    public String bufferType;
+
+    private AudioFrameBuffer frameBuffer;
+    private MutableAudioFrame inputFrame;
+    private long timecode;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        frameBuffer = BenchmarkTools.createFrameBuffer(bufferType, 5000, FORMAT);
+
+        byte[] data = new byte[FORMAT.expectedChunkSize()];
+        ThreadLocalRandom.current().nextBytes(data);
+
+        ByteBuffer buffer = ByteBuffer.allocateDirect(data.length);
+        buffer.put(data);
+        buffer.flip();
+
+        inputFrame = new MutableAudioFrame();
+        inputFrame.setBuffer(buffer);
+        inputFrame.setFormat(FORMAT);
+        inputFrame.setVolume(100);
+    }
+
+    /**
+     * Stores a frame if it fits without blocking. Never blocks, so the benchmark can end while the consumer is not running.
+     */
+    @Benchmark
+    @Group("contended")
+    @GroupThreads(1)
+    public boolean contendedConsume() throws InterruptedException {
+        if (frameBuffer.getRemainingCapacity() == 0) {
+            return false;
+        }
+
+        inputFrame.setTimecode(timecode += 20);
+        frameBuffer.consume(inputFrame);
+        return true;
+    }
+
+    @Benchmark
+    @Group("contended")
+    @GroupThreads(1)
+    public boolean contendedProvide(OutputState output) {
+        return frameBuffer.provide(output.frame);
+    }
+
+    @Benchmark
+    @Group("uncontended")
+    @GroupThreads(1)
+    public boolean uncontendedRoundTrip(OutputState output) throws InterruptedException {
+        inputFrame.setTimecode(timecode += 20);
+        frameBuffer.consume(inputFrame);
+        return frameBuffer.provide(output.frame);
+    }
+
+    @State(Scope.Thread)
+    public static class OutputState {
+        public MutableAudioFrame frame;
+
+        @Setup
+        public void setup() {
+            frame = new MutableAudioFrame();
+            frame.setBuffer(ByteBuffer.allocate(FORMAT.maximumChunkSize()));
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.sedmelluq.discord.lavaplayer.benchmark;
+
+import com.sedmelluq.discord.lavaplayer.format.AudioDataFormat;
+import com.sedmelluq.discord.lavaplayer.format.StandardAudioDataFormats;
+import com.sedmelluq.discord.lavaplayer.natives.opus.OpusBatchEncoder;
+import com.sedmelluq.discord.lavaplayer.natives.opus.OpusEncoder;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.ShortBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-frame cost of encoding the frames of {@link #ENCODER_COUNT} tracks to Opus, one native call per frame versus
+ * one native call for all of them with {@link OpusBatchEncoder}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OpusBatchEncoderBenchmark {
+    private static final int ENCODER_COUNT = 32;
+    private static final AudioDataFormat FORMAT = StandardAudioDataFormats.DISCORD_OPUS;
+
+    private OpusEncoder[] encoders;
+    private ShortBuffer input;
+    private ByteBuffer output;
+    private OpusBatchEncoder batchEncoder;
+
+    @Setup
+    public void setup() {
+        encoders = new OpusEncoder[ENCODER_COUNT];
+
+        for (int i = 0; i < ENCODER_COUNT; i++) {
+            encoders[i] = new OpusEncoder(FORMAT.sampleRate, FORMAT.channelCount, 10);
+        }
+
+        input = ByteBuffer.allocateDirect(FORMAT.totalSampleCount() * 2).order(ByteOrder.nativeOrder()).asShortBuffer();
+        input.put(BenchmarkTools.interleave(BenchmarkTools.createSineChannels(FORMAT.channelCount,
+            FORMAT.chunkSampleCount, FORMAT.sampleRate)));
+        input.clear();
+
+        output = ByteBuffer.allocateDirect(FORMAT.maximumChunkSize());
+        batchEncoder = new OpusBatchEncoder(ENCODER_COUNT, FORMAT.chunkSampleCount, FORMAT.channelCount,
+            FORMAT.maximumChunkSize());
+    }
+
+    @TearDown
+    public void tearDown() {
+        for (OpusEncoder encoder : encoders) {
+            encoder.close();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ENCODER_COUNT)
+    public int separate() {
+        int total = 0;
+
+        for (OpusEncoder encoder : encoders) {
+            total += encoder.encode(input, FORMAT.chunkSampleCount, output);
+        }
+
+        return total;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ENCODER_COUNT)
+    public int batched() {
+        int total = 0;
+
+        batchEncoder.clear();
+
+        for (OpusEncoder encoder : encoders) {
+            batchEncoder.add(encoder, input);
+        }
+
+        batchEncoder.encode();
+
+        for (int i = 0; i < ENCODER_COUNT; i++) {
+            total += batchEncoder.getOutput(i).remaining();
+        }
+
+        return total;
+    }
+}
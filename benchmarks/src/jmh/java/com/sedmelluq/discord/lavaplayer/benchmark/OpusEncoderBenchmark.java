@@ -0,0 +1,53 @@
+package com.sedmelluq.discord.lavaplayer.benchmark;
+
+import com.sedmelluq.discord.lavaplayer.format.StandardAudioDataFormats;
+import com.sedmelluq.discord.lavaplayer.format.transcoder.OpusChunkEncoder;
+import com.sedmelluq.discord.lavaplayer.player.AudioConfiguration;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.ShortBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of encoding one 20 ms stereo frame at 48 kHz to Opus.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OpusEncoderBenchmark {
+    @Param({"10", "5", "0"})
+    public int encodingQuality;
+
+    private OpusChunkEncoder encoder;
+    private ShortBuffer input;
+    private ByteBuffer output;
+
+    @Setup
+    public void setup() {
+        AudioConfiguration configuration = new AudioConfiguration();
+        configuration.setOpusEncodingQuality(encodingQuality);
+
+        encoder = new OpusChunkEncoder(configuration, StandardAudioDataFormats.DISCORD_OPUS);
+        input = ByteBuffer.allocateDirect(1920 * 2).order(ByteOrder.nativeOrder()).asShortBuffer();
+        input.put(BenchmarkTools.interleave(BenchmarkTools.createSineChannels(2, 960, 48000)));
+        output = ByteBuffer.allocateDirect(StandardAudioDataFormats.DISCORD_OPUS.maximumChunkSize());
+    }
+
+    @TearDown
+    public void tearDown() {
+        encoder.close();
+    }
+
+    @Benchmark
+    public ByteBuffer encode() {
+        input.clear();
+        output.clear();
+        encoder.encode(input, output);
+        return output;
+    }
+}
@@ -0,0 +1,69 @@
+package com.sedmelluq.discord.lavaplayer.benchmark;
+
+import com.sedmelluq.discord.lavaplayer.filter.kernel.PcmKernels;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the PCM kernels on one 20 ms stereo frame at 48 kHz, comparing the scalar kernels to the ones picked for the
+ * JVM (the Vector API kernels when the benchmark JVM has the incubator module).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PcmKernelBenchmark {
+    private static final int FRAMES = 960;
+    private static final int CHANNELS = 2;
+
+    @Param({"scalar", "default"})
+    public String implementation;
+
+    private PcmKernels kernels;
+    private float[][] floatChannels;
+    private short[][] shortChannels;
+    private short[] interleaved;
+
+    @Setup
+    public void setup() {
+        kernels = "scalar".equals(implementation) ? PcmKernels.scalar() : PcmKernels.get();
+        floatChannels = BenchmarkTools.createSineChannels(CHANNELS, FRAMES, 48000);
+        shortChannels = BenchmarkTools.toShortChannels(floatChannels);
+        interleaved = BenchmarkTools.interleave(floatChannels);
+    }
+
+    @Benchmark
+    public float[][] convertToFloat() {
+        for (int channel = 0; channel < CHANNELS; channel++) {
+            kernels.convertToFloat(shortChannels[channel], 0, floatChannels[channel], 0, FRAMES);
+        }
+
+        return floatChannels;
+    }
+
+    @Benchmark
+    public short[] convertToShortAndInterleave() {
+        for (int channel = 0; channel < CHANNELS; channel++) {
+            kernels.convertToShort(floatChannels[channel], 0, shortChannels[channel], 0, FRAMES);
+        }
+
+        kernels.interleave(shortChannels, 0, interleaved, 0, FRAMES, CHANNELS);
+        return interleaved;
+    }
+
+    @Benchmark
+    public float[][] deinterleaveToFloat() {
+        kernels.deinterleaveToFloat(interleaved, 0, floatChannels, 0, FRAMES, CHANNELS);
+        return floatChannels;
+    }
+
+    @Benchmark
+    public short[] applyGain() {
+        kernels.applyGain(interleaved, 0, interleaved.length, 7071, 10000);
+        kernels.applyGain(interleaved, 0, interleaved.length, 10000, 7071);
+        return interleaved;
+    }
+}
@@ -0,0 +1,116 @@
+package com.sedmelluq.discord.lavaplayer.benchmark;
+
+import com.sedmelluq.discord.lavaplayer.filter.FloatPcmAudioFilter;
+import com.sedmelluq.discord.lavaplayer.filter.ResamplingPcmAudioFilter;
+import com.sedmelluq.discord.lavaplayer.player.AudioConfiguration;
+import com.sedmelluq.discord.lavaplayer.player.AudioConfiguration.ResamplingImplementation;
+import com.sedmelluq.discord.lavaplayer.player.AudioConfiguration.ResamplingQuality;
+
+/**
+ * Quality counterpart of {@link ResamplingBenchmark}. Resamples sine waves from 44.1 kHz to 48 kHz with every
+ * implementation and quality, and prints the signal-to-noise ratio of the output compared to the exact sine wave at the
+ * output rate. The start and the end of the output are skipped, so the result does not depend on how an implementation
+ * handles the edges. Run the main method from the JMH jar built by <code>./gradlew :benchmarks:jmhJar</code>.
+ */
+public class ResamplingAccuracy {
+    private static final int SOURCE_RATE = 44100;
+    private static final int TARGET_RATE = 48000;
+    private static final int[] FREQUENCIES = {440, 5000, 15000, 19000};
+    private static final int SKIPPED_SAMPLES = 2000;
+
+    public static void main(String[] args) throws InterruptedException {
+        for (ResamplingImplementation implementation : ResamplingImplementation.values()) {
+            for (ResamplingQuality quality : ResamplingQuality.values()) {
+                StringBuilder line = new StringBuilder(implementation + " " + quality + ":");
+
+                for (int frequency : FREQUENCIES) {
+                    line.append(String.format(" %d Hz %.1f dB", frequency, measure(implementation, quality, frequency)));
+                }
+
+                System.out.println(line);
+            }
+        }
+    }
+
+    private static double measure(ResamplingImplementation implementation, ResamplingQuality quality, int frequency)
+        throws InterruptedException {
+
+        AudioConfiguration configuration = new AudioConfiguration();
+        configuration.setResamplingQuality(quality);
+        configuration.setResamplingImplementation(implementation);
+
+        CollectingFilter output = new CollectingFilter(TARGET_RATE * 2);
+        ResamplingPcmAudioFilter filter = new ResamplingPcmAudioFilter(configuration, 1, output, SOURCE_RATE, TARGET_RATE);
+
+        try {
+            float[][] input = new float[1][SOURCE_RATE];
+
+            for (int i = 0; i < input[0].length; i++) {
+                input[0][i] = (float) (0.5 * Math.sin(2 * Math.PI * frequency * i / SOURCE_RATE));
+            }
+
+            for (int offset = 0; offset < input[0].length; offset += 882) {
+                filter.process(input, offset, Math.min(882, input[0].length - offset));
+            }
+        } finally {
+            filter.close();
+        }
+
+        return output.signalToNoise(frequency);
+    }
+
+    private static class CollectingFilter implements FloatPcmAudioFilter {
+        private final float[] samples;
+        private int length;
+
+        private CollectingFilter(int capacity) {
+            this.samples = new float[capacity];
+        }
+
+        @Override
+        public void process(float[][] input, int offset, int length) {
+            int count = Math.min(length, samples.length - this.length);
+            System.arraycopy(input[0], offset, samples, this.length, count);
+            this.length += count;
+        }
+
+        private double signalToNoise(int frequency) {
+            // Find the output delay of the implementation, so that only the error of the signal itself is measured.
+            double bestNoise = Double.MAX_VALUE;
+            double signal = 0;
+
+            for (int delay = 0; delay < 200; delay++) {
+                double noise = 0;
+                double currentSignal = 0;
+
+                for (int i = SKIPPED_SAMPLES; i < length - SKIPPED_SAMPLES; i++) {
+                    double expected = 0.5 * Math.sin(2 * Math.PI * frequency * (i - delay) / TARGET_RATE);
+                    noise += (samples[i] - expected) * (samples[i] - expected);
+                    currentSignal += expected * expected;
+                }
+
+                if (noise < bestNoise) {
+                    bestNoise = noise;
+                    signal = currentSignal;
+                }
+            }
+
+            return 10 * Math.log10(signal / bestNoise);
+        }
+
+        @Override
+        public void seekPerformed(long requestedTime, long providedTime) {
+            // Nothing to do.
+        }
+
+        @Override
+        public void flush() {
+            // Nothing to do.
+        }
+
+        @Override
+        public void close() {
+            // Nothing to do.
+        }
+    }
+}
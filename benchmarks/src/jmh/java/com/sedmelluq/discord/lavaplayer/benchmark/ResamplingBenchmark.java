@@ -0,0 +1,48 @@
+package com.sedmelluq.discord.lavaplayer.benchmark;
+
+import com.sedmelluq.discord.lavaplayer.filter.ResamplingPcmAudioFilter;
+import com.sedmelluq.discord.lavaplayer.player.AudioConfiguration;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of resampling 20 ms of 44.1 kHz stereo audio to 48 kHz. See {@link ResamplingAccuracy} for the quality of the
+ * same configurations.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResamplingBenchmark {
+    @Param({"LOW", "MEDIUM", "HIGH"})
+    public AudioConfiguration.ResamplingQuality quality;
+
+    @Param({"NATIVE", "JAVA"})
+    public AudioConfiguration.ResamplingImplementation implementation;
+
+    private ResamplingPcmAudioFilter filter;
+    private float[][] input;
+
+    @Setup
+    public void setup() {
+        AudioConfiguration configuration = new AudioConfiguration();
+        configuration.setResamplingQuality(quality);
+        configuration.setResamplingImplementation(implementation);
+
+        filter = new ResamplingPcmAudioFilter(configuration, 2, new BenchmarkTools.DiscardingFloatFilter(), 44100, 48000);
+        input = BenchmarkTools.createSineChannels(2, 882, 44100);
+    }
+
+    @TearDown
+    public void tearDown() {
+        filter.close();
+    }
+
+    @Benchmark
+    public void process() throws InterruptedException {
+        filter.process(input, 0, input[0].length);
+    }
+}
@@ -0,0 +1,95 @@
+package com.sedmelluq.lava.common.tools;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Utility methods for using virtual threads on runtimes which support them (JDK 21+). Accessed reflectively, so that
+ * the library can still be compiled for and run on older runtimes.
+ */
+public class VirtualThreadTools {
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadTools.class);
+
+    private static final AtomicInteger poolNumber = new AtomicInteger(1);
+    private static final Method ofVirtualMethod;
+    private static final Method builderNameMethod;
+    private static final Method builderFactoryMethod;
+    private static final Method threadPerTaskExecutorMethod;
+
+    static {
+        Method ofVirtual = null;
+        Method builderName = null;
+        Method builderFactory = null;
+        Method threadPerTaskExecutor = null;
+
+        try {
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            ofVirtual = Thread.class.getMethod("ofVirtual");
+            builderName = builderClass.getMethod("name", String.class, long.class);
+            builderFactory = builderClass.getMethod("factory");
+            threadPerTaskExecutor = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+        } catch (Exception e) {
+            log.debug("Virtual threads are not supported by this runtime.");
+            ofVirtual = null;
+        }
+
+        ofVirtualMethod = ofVirtual;
+        builderNameMethod = builderName;
+        builderFactoryMethod = builderFactory;
+        threadPerTaskExecutorMethod = threadPerTaskExecutor;
+    }
+
+    /**
+     * @return True if the current runtime supports virtual threads.
+     */
+    public static boolean isSupported() {
+        return ofVirtualMethod != null;
+    }
+
+    /**
+     * @param name Name that will be included in thread names.
+     * @return A thread factory for virtual threads, <code>null</code> if virtual threads are not supported.
+     */
+    public static ThreadFactory createThreadFactory(String name) {
+        if (!isSupported()) {
+            return null;
+        }
+
+        String namePrefix = "lava-virtual-" + name + "-" + poolNumber.getAndIncrement() + "-thread-";
+
+        try {
+            Object builder = ofVirtualMethod.invoke(null);
+            builder = builderNameMethod.invoke(builder, namePrefix, 1L);
+            return (ThreadFactory) builderFactoryMethod.invoke(builder);
+        } catch (Exception e) {
+            log.warn("Failed to create a virtual thread factory.", e);
+            return null;
+        }
+    }
+
+    /**
+     * @param name Name that will be included in thread names.
+     * @return An executor which starts a new virtual thread for each task, <code>null</code> if virtual threads are not
+     * supported.
+     */
+    public static ExecutorService createThreadPerTaskExecutor(String name) {
+        ThreadFactory threadFactory = createThreadFactory(name);
+
+        if (threadFactory == null) {
+            return null;
+        }
+
+        try {
+            return (ExecutorService) threadPerTaskExecutorMethod.invoke(null, threadFactory);
+        } catch (Exception e) {
+            log.warn("Failed to create a virtual thread executor.", e);
+            return null;
+        }
+    }
+}
@@ -13,6 +13,29 @@ base {
     archivesName = "lavaplayer"
 }
 
+// Vector API kernels, compiled for Java 17 and only loaded at runtime when the incubator module is available. They are
+// opt-in with -PvectorKernels=true, as the default build only requires JDK 11.
+val vectorKernels = findProperty("vectorKernels")?.toString()?.toBoolean() ?: false
+
+if (vectorKernels) {
+    val vector = sourceSets.create("vector") {
+        compileClasspath += sourceSets.main.get().output + sourceSets.main.get().compileClasspath
+    }
+
+    tasks.named<JavaCompile>(vector.compileJavaTaskName) {
+        javaCompiler = project.javaToolchains.compilerFor {
+            languageVersion = JavaLanguageVersion.of(17)
+        }
+
+        options.release = 17
+        options.compilerArgs.add("--add-modules=jdk.incubator.vector")
+    }
+
+    tasks.jar {
+        from(vector.output)
+    }
+}
+
 dependencies {
     api(projects.common)
     implementation(projects.nativesPublish)
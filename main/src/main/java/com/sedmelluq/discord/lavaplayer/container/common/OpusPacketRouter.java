@@ -4,8 +4,10 @@ import com.sedmelluq.discord.lavaplayer.filter.AudioPipeline;
 import com.sedmelluq.discord.lavaplayer.filter.AudioPipelineFactory;
 import com.sedmelluq.discord.lavaplayer.filter.PcmFormat;
 import com.sedmelluq.discord.lavaplayer.filter.volume.AudioFrameVolumeChanger;
+import com.sedmelluq.discord.lavaplayer.filter.volume.OpusGainVolumeProcessor;
 import com.sedmelluq.discord.lavaplayer.format.AudioDataFormat;
 import com.sedmelluq.discord.lavaplayer.format.OpusAudioDataFormat;
+import com.sedmelluq.discord.lavaplayer.natives.NativeResourcePools;
 import com.sedmelluq.discord.lavaplayer.natives.opus.OpusDecoder;
 import com.sedmelluq.discord.lavaplayer.track.playback.AudioProcessingContext;
 import com.sedmelluq.discord.lavaplayer.track.playback.MutableAudioFrame;
@@ -20,11 +22,20 @@ import java.nio.ShortBuffer;
  * A router for opus packets to the output specified by an audio processing context. It automatically detects if the
  * packets can go clean through to the output without any decoding and encoding steps on each packet and rebuilds the
  * pipeline of the output if necessary.
+ * <p>
+ * The decision is made for every packet, so once the volume and filters return to neutral, the packets go through
+ * without transcoding again starting from the next packet. The last packet that went through is kept, so that when
+ * transcoding is enabled again, the new decoder can be primed with it and the first decoded packet continues smoothly
+ * from the previous one instead of starting from a blank decoder state.
+ * <p>
+ * When only the volume differs from the neutral state and {@link OpusGainVolumeProcessor#isApplicable} allows it, the
+ * packets go through an {@link OpusGainVolumeProcessor} instead of the full pipeline.
  */
 public class OpusPacketRouter {
     private static final Logger log = LoggerFactory.getLogger(OpusPacketRouter.class);
 
     private final AudioProcessingContext context;
+    private final NativeResourcePools pools;
     private final int inputFrequency;
     private final int inputChannels;
     private final byte[] headerBytes;
@@ -39,6 +50,10 @@ public class OpusPacketRouter {
     private ShortBuffer frameBuffer;
     private AudioDataFormat inputFormat;
     private int lastFrameSize;
+    private ByteBuffer lastPassedPacket;
+    private int lastPassedFrameSize;
+    private OpusGainVolumeProcessor gainProcessor;
+    private int gainVolume;
 
     /**
      * @param context        Configuration and output information for processing
@@ -47,6 +62,7 @@ public class OpusPacketRouter {
      */
     public OpusPacketRouter(AudioProcessingContext context, int inputFrequency, int inputChannels) {
         this.context = context;
+        this.pools = context.configuration.getNativeResourcePools();
         this.inputFrequency = inputFrequency;
         this.inputChannels = inputChannels;
         this.headerBytes = new byte[2];
@@ -66,6 +82,7 @@ public class OpusPacketRouter {
     public void seekPerformed(long requestedTimecode, long providedTimecode) {
         this.requestedTimecode = requestedTimecode;
         currentTimecode = providedTimecode;
+        lastPassedFrameSize = 0;
 
         if (downstream != null) {
             downstream.seekPerformed(requestedTimecode, providedTimecode);
@@ -97,8 +114,10 @@ public class OpusPacketRouter {
 
             if (opusDecoder != null) {
                 passDownstream(buffer, frameSize);
+            } else if (gainProcessor != null) {
+                passWithGain(buffer, frameSize);
             } else {
-                passThrough(buffer);
+                passThrough(buffer, frameSize);
             }
         }
     }
@@ -108,6 +127,8 @@ public class OpusPacketRouter {
      */
     public void close() {
         destroyDecoder();
+        destroyGainProcessor();
+        lastPassedPacket = null;
     }
 
     private int processFrameSize(ByteBuffer buffer) {
@@ -152,18 +173,23 @@ public class OpusPacketRouter {
             nativeBuffer = buffer;
         }
 
+        opusDecoder.decode(nativeBuffer, prepareFrameBuffer(frameSize));
+        downstream.process(frameBuffer);
+    }
+
+    private ShortBuffer prepareFrameBuffer(int frameSize) {
         if (frameBuffer == null || frameBuffer.capacity() < frameSize * inputChannels) {
             frameBuffer = ByteBuffer.allocateDirect(frameSize * inputChannels * 2).order(ByteOrder.nativeOrder()).asShortBuffer();
         }
 
         frameBuffer.clear();
         frameBuffer.limit(frameSize);
-
-        opusDecoder.decode(nativeBuffer, frameBuffer);
-        downstream.process(frameBuffer);
+        return frameBuffer;
     }
 
-    private void passThrough(ByteBuffer buffer) throws InterruptedException {
+    private void passThrough(ByteBuffer buffer, int frameSize) throws InterruptedException {
+        rememberPassedPacket(buffer, frameSize);
+
         if (requestedTimecode < currentTimecode) {
             offeredFrame.setTimecode(currentTimecode);
             offeredFrame.setBuffer(buffer);
@@ -172,28 +198,90 @@ public class OpusPacketRouter {
         }
     }
 
+    private void passWithGain(ByteBuffer buffer, int frameSize) throws InterruptedException {
+        int volume = context.playerOptions.volumeLevel.get();
+
+        if (volume != gainVolume) {
+            gainVolume = volume;
+            AudioFrameVolumeChanger.apply(context);
+        }
+
+        rememberPassedPacket(buffer, frameSize);
+        ByteBuffer output = gainProcessor.process(buffer, 100, volume);
+
+        if (requestedTimecode < currentTimecode) {
+            offeredFrame.setTimecode(currentTimecode);
+            offeredFrame.setBuffer(output);
+            offeredFrame.setVolume(volume);
+
+            context.frameBuffer.consume(offeredFrame);
+            offeredFrame.setVolume(100);
+        }
+    }
+
+    private void rememberPassedPacket(ByteBuffer buffer, int frameSize) {
+        if (lastPassedPacket == null || lastPassedPacket.capacity() < buffer.remaining()) {
+            lastPassedPacket = ByteBuffer.allocateDirect(buffer.remaining() + 200);
+        }
+
+        lastPassedPacket.clear();
+        lastPassedPacket.put(buffer.duplicate());
+        lastPassedPacket.flip();
+
+        lastPassedFrameSize = frameSize;
+    }
+
     private void checkDecoderNecessity() {
-        if (AudioPipelineFactory.isProcessingRequired(context, inputFormat)) {
-            if (opusDecoder == null) {
-                log.debug("Enabling reencode mode on opus track.");
+        if (!AudioPipelineFactory.isProcessingRequired(context, inputFormat)) {
+            if (opusDecoder != null || gainProcessor != null) {
+                log.debug("Enabling passthrough mode on opus track.");
 
-                initialiseDecoder();
+                destroyDecoder();
+                destroyGainProcessor();
 
                 AudioFrameVolumeChanger.apply(context);
             }
-        } else {
-            if (opusDecoder != null) {
-                log.debug("Enabling passthrough mode on opus track.");
+        } else if (context.outputFormat.equals(inputFormat) && OpusGainVolumeProcessor.isApplicable(context)) {
+            if (gainProcessor == null) {
+                log.debug("Enabling gain mode on opus track.");
 
                 destroyDecoder();
+                initialiseGainProcessor();
 
                 AudioFrameVolumeChanger.apply(context);
             }
+        } else if (opusDecoder == null) {
+            log.debug("Enabling reencode mode on opus track.");
+
+            destroyGainProcessor();
+            initialiseDecoder();
+
+            AudioFrameVolumeChanger.apply(context);
+        }
+    }
+
+    private void initialiseGainProcessor() {
+        gainProcessor = new OpusGainVolumeProcessor(context.configuration, inputFormat);
+        gainVolume = context.playerOptions.volumeLevel.get();
+
+        if (lastPassedFrameSize == inputFormat.chunkSampleCount) {
+            // Same as for the decoder of the full pipeline, the output of this is discarded.
+            gainProcessor.prime(lastPassedPacket);
+        }
+
+        lastPassedFrameSize = 0;
+    }
+
+    private void destroyGainProcessor() {
+        if (gainProcessor != null) {
+            gainProcessor.close();
+            gainProcessor = null;
         }
     }
 
     private void initialiseDecoder() {
-        opusDecoder = new OpusDecoder(inputFrequency, inputChannels);
+        opusDecoder = pools.acquireOpusDecoder(inputFrequency, inputChannels);
+        primeDecoder();
 
         try {
             downstream = AudioPipelineFactory.create(context, new PcmFormat(inputChannels, inputFrequency));
@@ -206,9 +294,17 @@ public class OpusPacketRouter {
         }
     }
 
+    private void primeDecoder() {
+        if (lastPassedFrameSize != 0) {
+            // The output of this is discarded, it only brings the decoder state to where the passthrough left off.
+            opusDecoder.decode(lastPassedPacket, prepareFrameBuffer(lastPassedFrameSize));
+            lastPassedFrameSize = 0;
+        }
+    }
+
     private void destroyDecoder() {
         if (opusDecoder != null) {
-            opusDecoder.close();
+            pools.releaseOpusDecoder(opusDecoder, inputFrequency, inputChannels);
             opusDecoder = null;
         }
 
@@ -5,6 +5,7 @@ import com.sedmelluq.discord.lavaplayer.tools.io.SeekableInputStream;
 import java.io.DataInput;
 import java.io.DataInputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 
@@ -216,6 +217,16 @@ public class MatroskaFileReader {
         inputStream.seek(position);
     }
 
+    /**
+     * @param length Number of bytes to read
+     * @return Buffer containing the next length bytes, see {@link SeekableInputStream#slice(int)} for how long its
+     * contents stay valid.
+     * @throws IOException On read error
+     */
+    public ByteBuffer readBuffer(int length) throws IOException {
+        return inputStream.slice(length);
+    }
+
     public DataInput getDataInput() {
         return dataInput;
     }
@@ -7,7 +7,8 @@ import java.nio.ByteBuffer;
 /**
  * An implementation of {@link MatroskaBlock} which can be reused by loading the next block into it by calling
  * {@link #parseHeader(MatroskaFileReader, MatroskaElement, int)}. Does not reallocate any objects unless it encounters
- * a block with more than twice as many frames as seen before, or a frame more than twice as long as before.
+ * a block with more than twice as many frames as seen before. Frame data is read with
+ * {@link MatroskaFileReader#readBuffer(int)}.
  */
 public class MutableMatroskaBlock implements MatroskaBlock {
     private int timecode;
@@ -15,8 +16,6 @@ public class MutableMatroskaBlock implements MatroskaBlock {
     private boolean keyFrame;
     private int[] frameSizes;
     private int frameCount;
-    private ByteBuffer buffer;
-    private byte[] bufferArray;
 
     @Override
     public int getTimecode() {
@@ -44,18 +43,8 @@ public class MutableMatroskaBlock implements MatroskaBlock {
             throw new IllegalArgumentException("Frame index out of bounds.");
         }
 
-        int frameSize = frameSizes[index];
-
-        if (buffer == null || frameSize > buffer.capacity()) {
-            buffer = ByteBuffer.allocate(frameSizes[index] * 2);
-            bufferArray = buffer.array();
-        }
-
-        reader.getDataInput().readFully(bufferArray, 0, frameSize);
-
-        buffer.position(0);
-        buffer.limit(frameSize);
-        return buffer;
+        // Streams which hold the file in memory give a view of the frame, others reuse their own buffer for it.
+        return reader.readBuffer(frameSizes[index]);
     }
 
     /**
@@ -7,9 +7,9 @@ import com.sedmelluq.discord.lavaplayer.container.mpeg.reader.MpegSectionInfo;
 import com.sedmelluq.discord.lavaplayer.container.mpeg.reader.MpegVersionedSectionInfo;
 import com.sedmelluq.discord.lavaplayer.tools.Units;
 import com.sedmelluq.discord.lavaplayer.tools.io.DetachedByteChannel;
+import com.sedmelluq.discord.lavaplayer.tools.io.SeekableInputStreamChannel;
 
 import java.io.IOException;
-import java.nio.channels.Channels;
 import java.nio.channels.ReadableByteChannel;
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -50,7 +50,7 @@ public class MpegFragmentedFileTrackProvider implements MpegFileTrackProvider {
     public void provideFrames() throws InterruptedException, IOException {
         MpegSectionInfo moof;
 
-        ReadableByteChannel channel = new DetachedByteChannel(Channels.newChannel(reader.seek));
+        ReadableByteChannel channel = new DetachedByteChannel(new SeekableInputStreamChannel(reader.seek));
         while ((moof = reader.nextChild(root)) != null) {
             if (!"moof".equals(moof.type)) {
                 reader.skip(moof);
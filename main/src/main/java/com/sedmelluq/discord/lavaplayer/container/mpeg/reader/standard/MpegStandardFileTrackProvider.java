@@ -5,9 +5,9 @@ import com.sedmelluq.discord.lavaplayer.container.mpeg.reader.MpegFileTrackProvi
 import com.sedmelluq.discord.lavaplayer.container.mpeg.reader.MpegReader;
 import com.sedmelluq.discord.lavaplayer.container.mpeg.reader.MpegVersionedSectionInfo;
 import com.sedmelluq.discord.lavaplayer.tools.io.DetachedByteChannel;
+import com.sedmelluq.discord.lavaplayer.tools.io.SeekableInputStreamChannel;
 
 import java.io.IOException;
-import java.nio.channels.Channels;
 import java.nio.channels.ReadableByteChannel;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -66,7 +66,7 @@ public class MpegStandardFileTrackProvider implements MpegFileTrackProvider {
 
     @Override
     public void provideFrames() throws InterruptedException {
-        try (ReadableByteChannel channel = new DetachedByteChannel(Channels.newChannel(reader.seek))) {
+        try (ReadableByteChannel channel = new DetachedByteChannel(new SeekableInputStreamChannel(reader.seek))) {
             while (currentChunk < seekInfo.chunkOffsets.length) {
                 reader.seek.seek(seekInfo.chunkOffsets[currentChunk]);
 
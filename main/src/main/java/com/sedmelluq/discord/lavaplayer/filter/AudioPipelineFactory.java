@@ -48,15 +48,14 @@ public class AudioPipelineFactory {
         }
 
         if (inputChannels != outputChannels) {
-            builder.addFirst(new ChannelCountPcmAudioFilter(inputChannels, outputChannels,
-                builder.makeFirstUniversal(outputChannels)));
+            builder.addChannelCountFirst(inputChannels, outputChannels);
         }
 
         return new AudioPipeline(builder.build(null, inputChannels));
     }
 
     private static Collection<AudioPostProcessor> createPostProcessors(AudioProcessingContext context) {
-        AudioChunkEncoder chunkEncoder = context.outputFormat.createEncoder(context.configuration);
+        AudioChunkEncoder chunkEncoder = BufferingPostProcessor.createEncoder(context);
 
         return Arrays.asList(
             new VolumePostProcessor(context),
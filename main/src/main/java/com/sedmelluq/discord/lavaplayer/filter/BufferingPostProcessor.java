@@ -1,6 +1,9 @@
 package com.sedmelluq.discord.lavaplayer.filter;
 
 import com.sedmelluq.discord.lavaplayer.format.transcoder.AudioChunkEncoder;
+import com.sedmelluq.discord.lavaplayer.format.transcoder.BatchedOpusChunkEncoder;
+import com.sedmelluq.discord.lavaplayer.format.transcoder.OpusBatchEncodingGroup;
+import com.sedmelluq.discord.lavaplayer.natives.opus.OpusBatchEncoder;
 import com.sedmelluq.discord.lavaplayer.track.playback.AudioProcessingContext;
 import com.sedmelluq.discord.lavaplayer.track.playback.MutableAudioFrame;
 
@@ -15,6 +18,7 @@ public class BufferingPostProcessor implements AudioPostProcessor {
     private final AudioChunkEncoder encoder;
     private final MutableAudioFrame offeredFrame;
     private final ByteBuffer outputBuffer;
+    private final boolean encodeInPlace;
 
     /**
      * @param context Processing context to determine the destination buffer from.
@@ -25,12 +29,41 @@ public class BufferingPostProcessor implements AudioPostProcessor {
         this.context = context;
         this.offeredFrame = new MutableAudioFrame();
         this.outputBuffer = ByteBuffer.allocateDirect(context.outputFormat.maximumChunkSize());
+        this.encodeInPlace = encoder.supportsEncodeInto();
 
         offeredFrame.setFormat(context.outputFormat);
     }
 
+    /**
+     * @param context Processing context to determine the output format and configuration from
+     * @return Encoder for the output format, which encodes in batches with other tracks if the configuration has an
+     * Opus batch encoding group for the output format and the connector library supports batch encoding.
+     */
+    public static AudioChunkEncoder createEncoder(AudioProcessingContext context) {
+        OpusBatchEncodingGroup batchGroup = context.configuration.getOpusBatchEncodingGroup();
+
+        if (batchGroup != null && batchGroup.getFormat().equals(context.outputFormat) &&
+            OpusBatchEncoder.isSupported()) {
+
+            return new BatchedOpusChunkEncoder(context.configuration, batchGroup);
+        }
+
+        return context.outputFormat.createEncoder(context.configuration);
+    }
+
     @Override
     public void process(long timecode, ShortBuffer buffer) throws InterruptedException {
+        if (encodeInPlace) {
+            ByteBuffer reserved = context.frameBuffer.reserve(context.outputFormat.maximumChunkSize());
+
+            if (reserved != null) {
+                // The frame buffer supports encoding directly into its storage, which saves copying the frame.
+                int length = encoder.encodeInto(buffer, reserved);
+                context.frameBuffer.commit(timecode, context.playerOptions.volumeLevel.get(), length);
+                return;
+            }
+        }
+
         outputBuffer.clear();
         encoder.encode(buffer, outputBuffer);
 
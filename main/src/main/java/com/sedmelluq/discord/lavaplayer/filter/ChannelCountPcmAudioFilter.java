@@ -1,5 +1,7 @@
 package com.sedmelluq.discord.lavaplayer.filter;
 
+import com.sedmelluq.discord.lavaplayer.filter.kernel.PcmKernels;
+
 import java.nio.ShortBuffer;
 
 /**
@@ -11,6 +13,8 @@ import java.nio.ShortBuffer;
  * in [2, 0, 1, 2] out [0, 1, 0, 1] saved []
  */
 public class ChannelCountPcmAudioFilter implements UniversalPcmAudioFilter {
+    private static final int CHUNK_FRAMES = 2048;
+
     private final UniversalPcmAudioFilter downstream;
     private final int outputChannels;
     private final ShortBuffer outputBuffer;
@@ -18,6 +22,8 @@ public class ChannelCountPcmAudioFilter implements UniversalPcmAudioFilter {
     private final int commonChannels;
     private final int channelsToAdd;
     private final short[] inputSet;
+    private final short[] inputChunk;
+    private final PcmKernels kernels;
     private final float[][] splitFloatOutput;
     private final short[][] splitShortOutput;
     private int inputIndex;
@@ -31,10 +37,12 @@ public class ChannelCountPcmAudioFilter implements UniversalPcmAudioFilter {
         this.downstream = downstream;
         this.inputChannels = inputChannels;
         this.outputChannels = outputChannels;
-        this.outputBuffer = ShortBuffer.allocate(2048 * inputChannels);
+        this.outputBuffer = ShortBuffer.allocate(CHUNK_FRAMES * outputChannels);
         this.commonChannels = Math.min(outputChannels, inputChannels);
         this.channelsToAdd = outputChannels - commonChannels;
         this.inputSet = new short[inputChannels];
+        this.inputChunk = new short[CHUNK_FRAMES * inputChannels];
+        this.kernels = PcmKernels.get();
         this.splitFloatOutput = new float[outputChannels][];
         this.splitShortOutput = new short[outputChannels][];
         this.inputIndex = 0;
@@ -45,11 +53,7 @@ public class ChannelCountPcmAudioFilter implements UniversalPcmAudioFilter {
         if (canPassThrough(length)) {
             downstream.process(input, offset, length);
         } else {
-            if (inputChannels == 1 && outputChannels == 2) {
-                processMonoToStereo(ShortBuffer.wrap(input, offset, length));
-            } else {
-                processNormalizer(ShortBuffer.wrap(input, offset, length));
-            }
+            processNormalizer(ShortBuffer.wrap(input, offset, length));
         }
     }
 
@@ -58,47 +62,41 @@ public class ChannelCountPcmAudioFilter implements UniversalPcmAudioFilter {
         if (canPassThrough(buffer.remaining())) {
             downstream.process(buffer);
         } else {
-            if (inputChannels == 1 && outputChannels == 2) {
-                processMonoToStereo(buffer);
-            } else {
-                processNormalizer(buffer);
-            }
+            processNormalizer(buffer);
         }
     }
 
     private void processNormalizer(ShortBuffer buffer) throws InterruptedException {
-        while (buffer.hasRemaining()) {
+        // Complete the frame left partial by the previous buffer.
+        while (inputIndex > 0 && buffer.hasRemaining()) {
             inputSet[inputIndex++] = buffer.get();
 
             if (inputIndex == inputChannels) {
-                outputBuffer.put(inputSet, 0, commonChannels);
-
-                for (int i = 0; i < channelsToAdd; i++) {
-                    outputBuffer.put(inputSet[0]);
-                }
-
-                if (!outputBuffer.hasRemaining()) {
-                    outputBuffer.flip();
-                    downstream.process(outputBuffer);
-                    outputBuffer.clear();
-                }
-
+                writeFrames(inputSet, 1);
                 inputIndex = 0;
             }
         }
-    }
 
-    private void processMonoToStereo(ShortBuffer buffer) throws InterruptedException {
+        while (buffer.remaining() >= inputChannels) {
+            int frames = Math.min(buffer.remaining() / inputChannels, outputBuffer.remaining() / outputChannels);
+            buffer.get(inputChunk, 0, frames * inputChannels);
+            writeFrames(inputChunk, frames);
+        }
+
         while (buffer.hasRemaining()) {
-            short sample = buffer.get();
-            outputBuffer.put(sample);
-            outputBuffer.put(sample);
-
-            if (!outputBuffer.hasRemaining()) {
-                outputBuffer.flip();
-                downstream.process(outputBuffer);
-                outputBuffer.clear();
-            }
+            inputSet[inputIndex++] = buffer.get();
+        }
+    }
+
+    private void writeFrames(short[] input, int frames) throws InterruptedException {
+        int position = outputBuffer.position();
+        kernels.remapChannels(input, 0, inputChannels, outputBuffer.array(), position, outputChannels, frames);
+        outputBuffer.position(position + frames * outputChannels);
+
+        if (outputBuffer.remaining() < outputChannels) {
+            outputBuffer.flip();
+            downstream.process(outputBuffer);
+            outputBuffer.clear();
         }
     }
 
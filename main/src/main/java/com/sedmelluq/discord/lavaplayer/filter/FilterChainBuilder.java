@@ -1,5 +1,6 @@
 package com.sedmelluq.discord.lavaplayer.filter;
 
+import com.sedmelluq.discord.lavaplayer.filter.converter.RemappingToFloatAudioFilter;
 import com.sedmelluq.discord.lavaplayer.filter.converter.ToFloatAudioFilter;
 import com.sedmelluq.discord.lavaplayer.filter.converter.ToShortAudioFilter;
 import com.sedmelluq.discord.lavaplayer.filter.converter.ToSplitShortAudioFilter;
@@ -9,6 +10,11 @@ import java.util.List;
 
 /**
  * Builder for audio filter chains.
+ * <p>
+ * Adjacent stages are fused where the builder controls both of them: a channel count change followed by a float PCM
+ * filter converts to float in the same pass (see {@link #addChannelCountFirst}), and float PCM reaching the final
+ * filter is converted and interleaved in one pass. Volume is applied in place on the final buffer by a post processor,
+ * and user provided filters such as an equalizer are opaque to the builder, so these stages are not fused.
  */
 public class FilterChainBuilder {
     private final List<AudioFilter> filters = new ArrayList<>();
@@ -57,6 +63,24 @@ public class FilterChainBuilder {
         }
     }
 
+    /**
+     * Adds a filter which changes the channel count of the input to the one expected by the current head of the chain.
+     * When the head only accepts float PCM, the channel count change is fused with the conversion to float, so that the
+     * samples are copied once instead of going through an interleaved buffer and an adapter filter.
+     *
+     * @param inputChannels  Number of channels in the input of the added filter.
+     * @param outputChannels Number of input channels expected by the current head of the chain.
+     */
+    public void addChannelCountFirst(int inputChannels, int outputChannels) {
+        AudioFilter first = first();
+
+        if (!(first instanceof UniversalPcmAudioFilter) && first instanceof FloatPcmAudioFilter) {
+            addFirst(new RemappingToFloatAudioFilter((FloatPcmAudioFilter) first, inputChannels, outputChannels));
+        } else {
+            addFirst(new ChannelCountPcmAudioFilter(inputChannels, outputChannels, makeFirstUniversal(outputChannels)));
+        }
+    }
+
     /**
      * @param context      See {@link AudioFilterChain#context}.
      * @param channelCount Number of input channels expected by the current head of the chain.
@@ -1,5 +1,6 @@
 package com.sedmelluq.discord.lavaplayer.filter;
 
+import com.sedmelluq.discord.lavaplayer.filter.kernel.PcmKernels;
 import com.sedmelluq.discord.lavaplayer.format.AudioDataFormat;
 import com.sedmelluq.discord.lavaplayer.track.playback.AudioProcessingContext;
 import org.slf4j.Logger;
@@ -20,6 +21,8 @@ public class FinalPcmAudioFilter implements UniversalPcmAudioFilter {
     private final AudioDataFormat format;
     private final ShortBuffer frameBuffer;
     private final Collection<AudioPostProcessor> postProcessors;
+    private final PcmKernels kernels;
+    private final short[] interleavedChunk;
 
     private long ignoredFrames;
     private long timecodeBase;
@@ -36,15 +39,13 @@ public class FinalPcmAudioFilter implements UniversalPcmAudioFilter {
             .order(ByteOrder.nativeOrder())
             .asShortBuffer();
         this.postProcessors = postProcessors;
+        this.kernels = PcmKernels.get();
+        this.interleavedChunk = new short[format.totalSampleCount()];
 
         timecodeBase = 0;
         timecodeSampleOffset = 0;
     }
 
-    private short decodeSample(float sample) {
-        return (short) Math.min(Math.max((int) (sample * 32768.f), -32768), 32767);
-    }
-
     @Override
     public void seekPerformed(long requestedTime, long providedTime) {
         frameBuffer.clear();
@@ -84,40 +85,39 @@ public class FinalPcmAudioFilter implements UniversalPcmAudioFilter {
 
     @Override
     public void process(short[] input, int offset, int length) throws InterruptedException {
-        for (int i = 0; i < length; i++) {
-            if (ignoredFrames > 0) {
-                ignoredFrames--;
-            } else {
-                frameBuffer.put(input[offset + i]);
+        int end = offset + length;
+        offset += skipIgnored(length, 1);
 
-                dispatch();
-            }
+        while (offset < end) {
+            int chunk = Math.min(end - offset, frameBuffer.remaining());
+
+            frameBuffer.put(input, offset, chunk);
+            offset += chunk;
+
+            dispatch();
         }
     }
 
     @Override
     public void process(short[][] input, int offset, int length) throws InterruptedException {
-        int secondChannelIndex = Math.min(1, input.length - 1);
+        int channelCount = format.channelCount;
+        int end = offset + length;
+        offset += skipIgnored(length, channelCount);
 
-        for (int i = 0; i < length; i++) {
-            if (ignoredFrames > 0) {
-                ignoredFrames -= format.channelCount;
-            } else {
-                frameBuffer.put(input[0][offset + i]);
-                frameBuffer.put(input[secondChannelIndex][offset + i]);
+        while (offset < end) {
+            int chunk = Math.max(1, Math.min(end - offset, frameBuffer.remaining() / channelCount));
 
-                dispatch();
-            }
+            kernels.interleave(input, offset, interleavedChunk, 0, chunk, channelCount);
+            frameBuffer.put(interleavedChunk, 0, chunk * channelCount);
+            offset += chunk;
+
+            dispatch();
         }
     }
 
     @Override
     public void process(ShortBuffer buffer) throws InterruptedException {
-        if (ignoredFrames > 0) {
-            long skipped = Math.min(buffer.remaining(), ignoredFrames);
-            buffer.position(buffer.position() + (int) skipped);
-            ignoredFrames -= skipped;
-        }
+        buffer.position(buffer.position() + skipIgnored(buffer.remaining(), 1));
 
         ShortBuffer local = buffer.duplicate();
 
@@ -135,18 +135,34 @@ public class FinalPcmAudioFilter implements UniversalPcmAudioFilter {
 
     @Override
     public void process(float[][] buffer, int offset, int length) throws InterruptedException {
-        int secondChannelIndex = Math.min(1, buffer.length - 1);
+        int channelCount = format.channelCount;
+        int end = offset + length;
+        offset += skipIgnored(length, channelCount);
 
-        for (int i = 0; i < length; i++) {
-            if (ignoredFrames > 0) {
-                ignoredFrames -= 2;
-            } else {
-                frameBuffer.put(decodeSample(buffer[0][offset + i]));
-                frameBuffer.put(decodeSample(buffer[secondChannelIndex][offset + i]));
+        while (offset < end) {
+            int chunk = Math.max(1, Math.min(end - offset, frameBuffer.remaining() / channelCount));
 
-                dispatch();
-            }
+            kernels.interleaveToShort(buffer, offset, interleavedChunk, 0, chunk, channelCount);
+            frameBuffer.put(interleavedChunk, 0, chunk * channelCount);
+            offset += chunk;
+
+            dispatch();
+        }
+    }
+
+    /**
+     * @param length          Number of input units (samples or frames) available
+     * @param samplesPerInput Number of samples in one input unit
+     * @return Number of input units to skip from the start of the input because they are before the seek position.
+     */
+    private int skipIgnored(int length, int samplesPerInput) {
+        if (ignoredFrames <= 0) {
+            return 0;
         }
+
+        int skipped = (int) Math.min(length, (ignoredFrames + samplesPerInput - 1) / samplesPerInput);
+        ignoredFrames -= (long) skipped * samplesPerInput;
+        return skipped;
     }
 
     private void dispatch() throws InterruptedException {
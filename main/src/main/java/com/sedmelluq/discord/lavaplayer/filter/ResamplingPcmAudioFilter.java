@@ -1,16 +1,29 @@
 package com.sedmelluq.discord.lavaplayer.filter;
 
+import com.sedmelluq.discord.lavaplayer.filter.resample.PolyphaseFilterBank;
+import com.sedmelluq.discord.lavaplayer.filter.resample.PolyphaseResampler;
+import com.sedmelluq.discord.lavaplayer.natives.NativeResourcePools;
 import com.sedmelluq.discord.lavaplayer.natives.samplerate.SampleRateConverter;
 import com.sedmelluq.discord.lavaplayer.player.AudioConfiguration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
- * Filter which resamples audio to the specified sample rate
+ * Filter which resamples audio to the specified sample rate. Uses either libsamplerate or the Java polyphase resampler,
+ * depending on {@link AudioConfiguration#getResamplingImplementation()}.
  */
 public class ResamplingPcmAudioFilter implements FloatPcmAudioFilter {
+    private static final Logger log = LoggerFactory.getLogger(ResamplingPcmAudioFilter.class);
+
     private static final int BUFFER_SIZE = 4096;
 
     private final FloatPcmAudioFilter downstream;
     private final SampleRateConverter[] converters;
+    private final PolyphaseResampler resampler;
+    private final NativeResourcePools pools;
+    private final SampleRateConverter.ResamplingType type;
+    private final int sourceRate;
+    private final int targetRate;
     private final SampleRateConverter.Progress progress = new SampleRateConverter.Progress();
     private final float[][] outputSegments;
 
@@ -25,19 +38,50 @@ public class ResamplingPcmAudioFilter implements FloatPcmAudioFilter {
                                     int sourceRate, int targetRate) {
 
         this.downstream = downstream;
-        converters = new SampleRateConverter[channels];
+        this.pools = configuration.getNativeResourcePools();
+        this.type = getResamplingType(configuration.getResamplingQuality());
+        this.sourceRate = sourceRate;
+        this.targetRate = targetRate;
         outputSegments = new float[channels][];
 
-        SampleRateConverter.ResamplingType type = getResamplingType(configuration.getResamplingQuality());
-
         for (int i = 0; i < channels; i++) {
             outputSegments[i] = new float[BUFFER_SIZE];
-            converters[i] = new SampleRateConverter(type, 1, sourceRate, targetRate);
+        }
+
+        PolyphaseFilterBank bank = null;
+
+        if (configuration.getResamplingImplementation() == AudioConfiguration.ResamplingImplementation.JAVA) {
+            bank = PolyphaseFilterBank.get(sourceRate, targetRate, configuration.getResamplingQuality());
+
+            if (bank == null) {
+                log.debug("Resampling from {} to {} needs too many phases, using native resampler.", sourceRate, targetRate);
+            }
+        }
+
+        if (bank != null) {
+            resampler = new PolyphaseResampler(bank, channels);
+            converters = new SampleRateConverter[0];
+        } else {
+            resampler = null;
+            converters = new SampleRateConverter[channels];
+
+            try {
+                for (int i = 0; i < channels; i++) {
+                    converters[i] = pools.acquireSampleRateConverter(type, 1, sourceRate, targetRate);
+                }
+            } catch (RuntimeException e) {
+                close();
+                throw e;
+            }
         }
     }
 
     @Override
     public void seekPerformed(long requestedTime, long providedTime) {
+        if (resampler != null) {
+            resampler.reset();
+        }
+
         for (SampleRateConverter converter : converters) {
             converter.reset();
         }
@@ -50,13 +94,21 @@ public class ResamplingPcmAudioFilter implements FloatPcmAudioFilter {
 
     @Override
     public void close() {
-        for (SampleRateConverter converter : converters) {
-            converter.close();
+        for (int i = 0; i < converters.length; i++) {
+            if (converters[i] != null) {
+                pools.releaseSampleRateConverter(converters[i], type, 1, sourceRate, targetRate);
+                converters[i] = null;
+            }
         }
     }
 
     @Override
     public void process(float[][] input, int offset, int length) throws InterruptedException {
+        if (resampler != null) {
+            processWithResampler(input, offset, length);
+            return;
+        }
+
         do {
             for (int i = 0; i < input.length; i++) {
                 converters[i].process(input[i], offset, length, outputSegments[i], 0, BUFFER_SIZE, false, progress);
@@ -71,6 +123,20 @@ public class ResamplingPcmAudioFilter implements FloatPcmAudioFilter {
         } while (length > 0 || progress.getOutputGenerated() == BUFFER_SIZE);
     }
 
+    private void processWithResampler(float[][] input, int offset, int length) throws InterruptedException {
+        while (length > 0) {
+            int accepted = resampler.write(input, offset, length);
+            offset += accepted;
+            length -= accepted;
+
+            int generated;
+
+            while ((generated = resampler.read(outputSegments, 0, BUFFER_SIZE)) > 0) {
+                downstream.process(outputSegments, 0, generated);
+            }
+        }
+    }
+
     private static SampleRateConverter.ResamplingType getResamplingType(AudioConfiguration.ResamplingQuality quality) {
         switch (quality) {
             case HIGH:
@@ -0,0 +1,126 @@
+package com.sedmelluq.discord.lavaplayer.filter.converter;
+
+import com.sedmelluq.discord.lavaplayer.filter.ChannelCountPcmAudioFilter;
+import com.sedmelluq.discord.lavaplayer.filter.FloatPcmAudioFilter;
+import com.sedmelluq.discord.lavaplayer.filter.kernel.PcmKernels;
+
+import java.nio.ShortBuffer;
+
+/**
+ * Filter which takes in PCM data in any representation, changes its channel count and outputs it as float PCM. This is
+ * {@link ChannelCountPcmAudioFilter} fused with {@link ToFloatAudioFilter}: interleaved input is remapped and converted
+ * to float in one pass, instead of being copied into an interleaved buffer with the new channel count first. Channels
+ * are mapped the same way as in {@link ChannelCountPcmAudioFilter}.
+ */
+public class RemappingToFloatAudioFilter extends ConverterAudioFilter {
+    private final FloatPcmAudioFilter downstream;
+    private final int inputChannels;
+    private final int outputChannels;
+    private final float[][] buffers;
+    private final float[][] splitOutput;
+    private final short[] inputBuffer;
+    private final short[] inputSet;
+    private final PcmKernels kernels;
+    private int inputIndex;
+
+    /**
+     * @param downstream     The float PCM filter to pass the output to.
+     * @param inputChannels  Number of channels in the input.
+     * @param outputChannels Number of channels expected by the downstream filter.
+     */
+    public RemappingToFloatAudioFilter(FloatPcmAudioFilter downstream, int inputChannels, int outputChannels) {
+        this.downstream = downstream;
+        this.inputChannels = inputChannels;
+        this.outputChannels = outputChannels;
+        this.buffers = new float[outputChannels][];
+        this.splitOutput = new float[outputChannels][];
+        this.inputBuffer = new short[BUFFER_SIZE * inputChannels];
+        this.inputSet = new short[inputChannels];
+        this.kernels = PcmKernels.get();
+
+        for (int i = 0; i < outputChannels; i++) {
+            this.buffers[i] = new float[BUFFER_SIZE];
+        }
+    }
+
+    @Override
+    public void process(float[][] input, int offset, int length) throws InterruptedException {
+        for (int i = 0; i < outputChannels; i++) {
+            splitOutput[i] = input[i < inputChannels ? i : 0];
+        }
+
+        downstream.process(splitOutput, offset, length);
+    }
+
+    @Override
+    public void process(short[] input, int offset, int length) throws InterruptedException {
+        if (inputIndex == 0) {
+            int end = offset + length;
+
+            while (end - offset >= inputChannels) {
+                int chunkLength = Math.min((end - offset) / inputChannels, BUFFER_SIZE);
+
+                kernels.remapToFloat(input, offset, inputChannels, buffers, 0, outputChannels, chunkLength);
+                offset += chunkLength * inputChannels;
+
+                downstream.process(buffers, 0, chunkLength);
+            }
+
+            length = end - offset;
+        }
+
+        if (length > 0) {
+            process(ShortBuffer.wrap(input, offset, length));
+        }
+    }
+
+    @Override
+    public void process(ShortBuffer buffer) throws InterruptedException {
+        // Complete the frame left partial by the previous buffer.
+        while (inputIndex > 0 && buffer.hasRemaining()) {
+            inputSet[inputIndex++] = buffer.get();
+
+            if (inputIndex == inputChannels) {
+                kernels.remapToFloat(inputSet, 0, inputChannels, buffers, 0, outputChannels, 1);
+                inputIndex = 0;
+
+                downstream.process(buffers, 0, 1);
+            }
+        }
+
+        while (buffer.remaining() >= inputChannels) {
+            int chunkLength = Math.min(buffer.remaining() / inputChannels, BUFFER_SIZE);
+
+            buffer.get(inputBuffer, 0, chunkLength * inputChannels);
+            kernels.remapToFloat(inputBuffer, 0, inputChannels, buffers, 0, outputChannels, chunkLength);
+
+            downstream.process(buffers, 0, chunkLength);
+        }
+
+        while (buffer.hasRemaining()) {
+            inputSet[inputIndex++] = buffer.get();
+        }
+    }
+
+    @Override
+    public void process(short[][] input, int offset, int length) throws InterruptedException {
+        int end = offset + length;
+
+        while (offset < end) {
+            int chunkLength = Math.min(end - offset, BUFFER_SIZE);
+
+            for (int channel = 0; channel < outputChannels; channel++) {
+                short[] channelInput = input[channel < inputChannels ? channel : 0];
+                kernels.convertToFloat(channelInput, offset, buffers[channel], 0, chunkLength);
+            }
+
+            offset += chunkLength;
+            downstream.process(buffers, 0, chunkLength);
+        }
+    }
+
+    @Override
+    public void seekPerformed(long requestedTime, long providedTime) {
+        inputIndex = 0;
+    }
+}
@@ -1,6 +1,7 @@
 package com.sedmelluq.discord.lavaplayer.filter.converter;
 
 import com.sedmelluq.discord.lavaplayer.filter.FloatPcmAudioFilter;
+import com.sedmelluq.discord.lavaplayer.filter.kernel.PcmKernels;
 
 import java.nio.ShortBuffer;
 
@@ -11,6 +12,8 @@ public class ToFloatAudioFilter extends ConverterAudioFilter {
     private final FloatPcmAudioFilter downstream;
     private final int channelCount;
     private final float[][] buffers;
+    private final short[] inputBuffer;
+    private final PcmKernels kernels;
 
     /**
      * @param downstream   The float PCM filter to pass the output to.
@@ -21,6 +24,9 @@ public class ToFloatAudioFilter extends ConverterAudioFilter {
         this.channelCount = channelCount;
         this.buffers = new float[channelCount][];
 
+        this.inputBuffer = new short[BUFFER_SIZE * channelCount];
+        this.kernels = PcmKernels.get();
+
         for (int i = 0; i < channelCount; i++) {
             this.buffers[i] = new float[BUFFER_SIZE];
         }
@@ -38,11 +44,8 @@ public class ToFloatAudioFilter extends ConverterAudioFilter {
         while (end - offset >= channelCount) {
             int chunkLength = Math.min((end - offset) / channelCount, BUFFER_SIZE);
 
-            for (int chunkPosition = 0; chunkPosition < chunkLength; chunkPosition++) {
-                for (int channel = 0; channel < channelCount; channel++) {
-                    buffers[channel][chunkPosition] = shortToFloat(input[offset++]);
-                }
-            }
+            kernels.deinterleaveToFloat(input, offset, buffers, 0, chunkLength, channelCount);
+            offset += chunkLength * channelCount;
 
             downstream.process(buffers, 0, chunkLength);
         }
@@ -57,11 +60,8 @@ public class ToFloatAudioFilter extends ConverterAudioFilter {
                 break;
             }
 
-            for (int chunkPosition = 0; chunkPosition < chunkLength; chunkPosition++) {
-                for (int channel = 0; channel < buffers.length; channel++) {
-                    buffers[channel][chunkPosition] = shortToFloat(buffer.get());
-                }
-            }
+            buffer.get(inputBuffer, 0, chunkLength * channelCount);
+            kernels.deinterleaveToFloat(inputBuffer, 0, buffers, 0, chunkLength, channelCount);
 
             downstream.process(buffers, 0, chunkLength);
         }
@@ -75,17 +75,11 @@ public class ToFloatAudioFilter extends ConverterAudioFilter {
             int chunkLength = Math.min(end - offset, BUFFER_SIZE);
 
             for (int channel = 0; channel < buffers.length; channel++) {
-                for (int chunkPosition = 0; chunkPosition < chunkLength; chunkPosition++) {
-                    buffers[channel][chunkPosition] = shortToFloat(input[channel][offset + chunkPosition]);
-                }
+                kernels.convertToFloat(input[channel], offset, buffers[channel], 0, chunkLength);
             }
 
             offset += chunkLength;
             downstream.process(buffers, 0, chunkLength);
         }
     }
-
-    private static float shortToFloat(short value) {
-        return value / 32768.0f;
-    }
 }
@@ -1,6 +1,7 @@
 package com.sedmelluq.discord.lavaplayer.filter.converter;
 
 import com.sedmelluq.discord.lavaplayer.filter.ShortPcmAudioFilter;
+import com.sedmelluq.discord.lavaplayer.filter.kernel.PcmKernels;
 
 import java.nio.ShortBuffer;
 
@@ -11,6 +12,7 @@ public class ToShortAudioFilter extends ConverterAudioFilter {
     private final ShortPcmAudioFilter downstream;
     private final int channelCount;
     private final short[] outputBuffer;
+    private final PcmKernels kernels;
 
     /**
      * @param downstream   The short PCM filter to pass the output to.
@@ -20,6 +22,7 @@ public class ToShortAudioFilter extends ConverterAudioFilter {
         this.downstream = downstream;
         this.channelCount = channelCount;
         this.outputBuffer = new short[BUFFER_SIZE * channelCount];
+        this.kernels = PcmKernels.get();
     }
 
     @Override
@@ -28,16 +31,11 @@ public class ToShortAudioFilter extends ConverterAudioFilter {
 
         while (offset < end) {
             int chunkSize = Math.min(BUFFER_SIZE, end - offset);
-            int writePosition = 0;
 
-            for (int chunkPosition = 0; chunkPosition < chunkSize; chunkPosition++) {
-                for (int channel = 0; channel < channelCount; channel++) {
-                    outputBuffer[writePosition++] = floatToShort(input[channel][chunkPosition]);
-                }
-            }
+            kernels.interleaveToShort(input, offset, outputBuffer, 0, chunkSize, channelCount);
 
             offset += chunkSize;
-            downstream.process(outputBuffer, 0, chunkSize);
+            downstream.process(outputBuffer, 0, chunkSize * channelCount);
         }
     }
 
@@ -57,16 +55,11 @@ public class ToShortAudioFilter extends ConverterAudioFilter {
 
         while (offset < end) {
             int chunkSize = Math.min(BUFFER_SIZE, end - offset);
-            int writePosition = 0;
 
-            for (int chunkPosition = 0; chunkPosition < chunkSize; chunkPosition++) {
-                for (int channel = 0; channel < channelCount; channel++) {
-                    outputBuffer[writePosition++] = input[channel][chunkPosition];
-                }
-            }
+            kernels.interleave(input, offset, outputBuffer, 0, chunkSize, channelCount);
 
             offset += chunkSize;
-            downstream.process(outputBuffer, 0, chunkSize);
+            downstream.process(outputBuffer, 0, chunkSize * channelCount);
         }
     }
 }
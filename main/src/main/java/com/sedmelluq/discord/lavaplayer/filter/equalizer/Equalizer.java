@@ -4,10 +4,16 @@ import com.sedmelluq.discord.lavaplayer.filter.FloatPcmAudioFilter;
 import com.sedmelluq.discord.lavaplayer.format.AudioDataFormat;
 
 import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * An equalizer PCM filter. Applies the equalizer with configuration specified by band multipliers (either set
  * externally or using {@link #setGain(int, float)}).
+ * <p>
+ * Each band is a second order band-pass filter, whose coefficients are calculated for the sample rate of the input.
+ * The state and coefficients of the bands are kept in separate arrays indexed by band, so the per-sample update of all
+ * bands is one loop of independent lanes, which the JIT compiler can vectorize.
  */
 public class Equalizer extends EqualizerConfiguration implements FloatPcmAudioFilter {
     /**
@@ -15,41 +21,45 @@ public class Equalizer extends EqualizerConfiguration implements FloatPcmAudioFi
      */
     public static final int BAND_COUNT = 15;
 
-    private static final int SAMPLE_RATE = 48000;
+    /**
+     * Lowest supported sample rate. Bands with a center frequency at or above half of the sample rate have no effect.
+     */
+    public static final int MINIMUM_SAMPLE_RATE = 8000;
+
+    private static final int DEFAULT_SAMPLE_RATE = 48000;
+    private static final double BAND_WIDTH_OCTAVES = 2.0 / 3.0;
+    private static final double[] BAND_FREQUENCIES = {
+        25, 40, 63, 100, 160, 250, 400, 630, 1000, 1600, 2500, 4000, 6300, 10000, 16000
+    };
+
+    private static final Map<Integer, Coefficients> coefficientsCache = new ConcurrentHashMap<>();
 
     private final ChannelProcessor[] channels;
     private final FloatPcmAudioFilter next;
 
-    private static final Coefficients[] coefficients48000 = {
-        new Coefficients(9.9847546664e-01f, 7.6226668143e-04f, 1.9984647656e+00f),
-        new Coefficients(9.9756184654e-01f, 1.2190767289e-03f, 1.9975344645e+00f),
-        new Coefficients(9.9616261379e-01f, 1.9186931041e-03f, 1.9960947369e+00f),
-        new Coefficients(9.9391578543e-01f, 3.0421072865e-03f, 1.9937449618e+00f),
-        new Coefficients(9.9028307215e-01f, 4.8584639242e-03f, 1.9898465702e+00f),
-        new Coefficients(9.8485897264e-01f, 7.5705136795e-03f, 1.9837962543e+00f),
-        new Coefficients(9.7588512657e-01f, 1.2057436715e-02f, 1.9731772447e+00f),
-        new Coefficients(9.6228521814e-01f, 1.8857390928e-02f, 1.9556164694e+00f),
-        new Coefficients(9.4080933132e-01f, 2.9595334338e-02f, 1.9242054384e+00f),
-        new Coefficients(9.0702059196e-01f, 4.6489704022e-02f, 1.8653476166e+00f),
-        new Coefficients(8.5868004289e-01f, 7.0659978553e-02f, 1.7600401337e+00f),
-        new Coefficients(7.8409610788e-01f, 1.0795194606e-01f, 1.5450725522e+00f),
-        new Coefficients(6.8332861002e-01f, 1.5833569499e-01f, 1.1426447155e+00f),
-        new Coefficients(5.5267518228e-01f, 2.2366240886e-01f, 4.0186190803e-01f),
-        new Coefficients(4.1811888447e-01f, 2.9094055777e-01f, -7.0905944223e-01f)
-    };
-
     /**
      * @param channelCount    Number of channels in the input.
+     * @param sampleRate      Sample rate of the input.
      * @param next            The next filter in the chain.
      * @param bandMultipliers The band multiplier values. Keeps using this array internally, so the values can be changed
      *                        externally.
      */
-    public Equalizer(int channelCount, FloatPcmAudioFilter next, float[] bandMultipliers) {
+    public Equalizer(int channelCount, int sampleRate, FloatPcmAudioFilter next, float[] bandMultipliers) {
         super(bandMultipliers);
-        this.channels = createProcessors(channelCount, bandMultipliers);
+        this.channels = createProcessors(channelCount, getCoefficients(sampleRate), bandMultipliers);
         this.next = next;
     }
 
+    /**
+     * @param channelCount    Number of channels in the input.
+     * @param next            The next filter in the chain.
+     * @param bandMultipliers The band multiplier values. Keeps using this array internally, so the values can be changed
+     *                        externally.
+     */
+    public Equalizer(int channelCount, FloatPcmAudioFilter next, float[] bandMultipliers) {
+        this(channelCount, DEFAULT_SAMPLE_RATE, next, bandMultipliers);
+    }
+
     /**
      * @param channelCount Number of channels in the input.
      * @param next         The next filter in the chain.
@@ -63,7 +73,7 @@ public class Equalizer extends EqualizerConfiguration implements FloatPcmAudioFi
      * @return <code>true</code> if the output format is compatible for the equalizer (based on sample rate).
      */
     public static boolean isCompatible(AudioDataFormat format) {
-        return format.sampleRate == SAMPLE_RATE;
+        return format.sampleRate >= MINIMUM_SAMPLE_RATE;
     }
 
     @Override
@@ -92,83 +102,156 @@ public class Equalizer extends EqualizerConfiguration implements FloatPcmAudioFi
         // Nothing to do here.
     }
 
-    private static ChannelProcessor[] createProcessors(int channelCount, float[] bandMultipliers) {
+    private static ChannelProcessor[] createProcessors(int channelCount, Coefficients coefficients,
+                                                       float[] bandMultipliers) {
+
         ChannelProcessor[] processors = new ChannelProcessor[channelCount];
 
         for (int i = 0; i < channelCount; i++) {
-            processors[i] = new ChannelProcessor(bandMultipliers);
+            processors[i] = new ChannelProcessor(coefficients, bandMultipliers);
         }
 
         return processors;
     }
 
+    private static Coefficients getCoefficients(int sampleRate) {
+        if (sampleRate < MINIMUM_SAMPLE_RATE) {
+            throw new IllegalArgumentException("Sample rate " + sampleRate + " is not supported by the equalizer.");
+        }
+
+        return coefficientsCache.computeIfAbsent(sampleRate, Coefficients::new);
+    }
+
     private static class ChannelProcessor {
-        private final float[] history;
+        private final float[] alpha;
+        private final float[] beta;
+        private final float[] gamma;
         private final float[] bandMultipliers;
 
-        private int current;
-        private int minusOne;
-        private int minusTwo;
-
-        private ChannelProcessor(float[] bandMultipliers) {
-            this.history = new float[BAND_COUNT * 6];
+        // The previous and the one before that input and output value of each band. Instead of moving the values on every
+        // sample, the new values overwrite the older ones and the arrays swap roles.
+        private float[] inputMinusOne;
+        private float[] inputMinusTwo;
+        private float[] outputMinusOne;
+        private float[] outputMinusTwo;
+
+        private ChannelProcessor(Coefficients coefficients, float[] bandMultipliers) {
+            this.alpha = coefficients.alpha;
+            this.beta = coefficients.beta;
+            this.gamma = coefficients.gamma;
             this.bandMultipliers = bandMultipliers;
-            this.current = 0;
-            this.minusOne = 2;
-            this.minusTwo = 1;
+            this.inputMinusOne = new float[BAND_COUNT];
+            this.inputMinusTwo = new float[BAND_COUNT];
+            this.outputMinusOne = new float[BAND_COUNT];
+            this.outputMinusTwo = new float[BAND_COUNT];
         }
 
         private void process(float[] samples, int startIndex, int endIndex) {
+            float[] x1 = inputMinusOne;
+            float[] x2 = inputMinusTwo;
+            float[] y1 = outputMinusOne;
+            float[] y2 = outputMinusTwo;
+
             for (int sampleIndex = startIndex; sampleIndex < endIndex; sampleIndex++) {
                 float sample = samples[sampleIndex];
-                float result = sample * 0.25f;
 
                 for (int bandIndex = 0; bandIndex < BAND_COUNT; bandIndex++) {
-                    int x = bandIndex * 6;
-                    int y = x + 3;
-
-                    Coefficients coefficients = coefficients48000[bandIndex];
-
-                    float bandResult = coefficients.alpha * (sample - history[x + minusTwo]) +
-                        coefficients.gamma * history[y + minusOne] -
-                        coefficients.beta * history[y + minusTwo];
+                    float bandResult = alpha[bandIndex] * (sample - x2[bandIndex]) +
+                        gamma[bandIndex] * y1[bandIndex] -
+                        beta[bandIndex] * y2[bandIndex];
 
-                    history[x + current] = sample;
-                    history[y + current] = bandResult;
-
-                    result += bandResult * bandMultipliers[bandIndex];
+                    x2[bandIndex] = sample;
+                    y2[bandIndex] = bandResult;
                 }
 
-                samples[sampleIndex] = Math.min(Math.max(result * 4.0f, -1.0f), 1.0f);
+                float[] swap = x1;
+                x1 = x2;
+                x2 = swap;
 
-                if (++current == 3) {
-                    current = 0;
-                }
+                swap = y1;
+                y1 = y2;
+                y2 = swap;
 
-                if (++minusOne == 3) {
-                    minusOne = 0;
-                }
+                float result = sample * 0.25f;
 
-                if (++minusTwo == 3) {
-                    minusTwo = 0;
+                for (int bandIndex = 0; bandIndex < BAND_COUNT; bandIndex++) {
+                    result += y1[bandIndex] * bandMultipliers[bandIndex];
                 }
+
+                samples[sampleIndex] = Math.min(Math.max(result * 4.0f, -1.0f), 1.0f);
             }
+
+            inputMinusOne = x1;
+            inputMinusTwo = x2;
+            outputMinusOne = y1;
+            outputMinusTwo = y2;
         }
 
         private void reset() {
-            Arrays.fill(history, 0.0f);
+            Arrays.fill(inputMinusOne, 0.0f);
+            Arrays.fill(inputMinusTwo, 0.0f);
+            Arrays.fill(outputMinusOne, 0.0f);
+            Arrays.fill(outputMinusTwo, 0.0f);
         }
     }
 
+    /**
+     * Band-pass coefficients of all bands for one sample rate, for the filter
+     * <code>y[n] = alpha * (x[n] - x[n - 2]) + gamma * y[n - 1] - beta * y[n - 2]</code>. The bands are two thirds of an
+     * octave wide, with the gain at the edges of the band being -3 dB of the gain at the center frequency.
+     */
     private static class Coefficients {
-        private final float beta;
-        private final float alpha;
-        private final float gamma;
-
-        private Coefficients(float beta, float alpha, float gamma) {
-            this.beta = beta;
-            this.alpha = alpha;
-            this.gamma = gamma;
+        private final float[] alpha = new float[BAND_COUNT];
+        private final float[] beta = new float[BAND_COUNT];
+        private final float[] gamma = new float[BAND_COUNT];
+
+        private Coefficients(int sampleRate) {
+            for (int band = 0; band < BAND_COUNT; band++) {
+                calculateBand(band, sampleRate);
+            }
+        }
+
+        private void calculateBand(int band, int sampleRate) {
+            double frequency = BAND_FREQUENCIES[band];
+
+            if (frequency >= sampleRate / 2.0) {
+                // Leaving the coefficients at zero makes the band output silence.
+                return;
+            }
+
+            double lowerEdge = frequency / Math.pow(2.0, BAND_WIDTH_OCTAVES / 2.0);
+            double centerCos = Math.cos(2.0 * Math.PI * frequency / sampleRate);
+            double edgeCos = Math.cos(2.0 * Math.PI * lowerEdge / sampleRate);
+            double edgeSin = Math.sin(2.0 * Math.PI * lowerEdge / sampleRate);
+
+            // Squared gains at the center and at the edge of the band.
+            double centerGain = 1.0;
+            double edgeGain = 0.5;
+
+            double a = edgeGain * centerCos * centerCos - 2.0 * edgeGain * edgeCos * centerCos + edgeGain -
+                centerGain * edgeSin * edgeSin;
+            double b = 2.0 * edgeGain * edgeCos * edgeCos + edgeGain * centerCos * centerCos -
+                2.0 * edgeGain * edgeCos * centerCos - edgeGain + centerGain * edgeSin * edgeSin;
+            double c = 0.25 * edgeGain * centerCos * centerCos - 0.5 * edgeGain * edgeCos * centerCos +
+                0.25 * edgeGain - 0.25 * centerGain * edgeSin * edgeSin;
+
+            double discriminant = b * b - 4.0 * a * c;
+
+            if (discriminant < 0) {
+                return;
+            }
+
+            // Smaller root of a * x^2 + b * x + c = 0.
+            double root = Math.min((-b - Math.sqrt(discriminant)) / (2.0 * a), (-b + Math.sqrt(discriminant)) / (2.0 * a));
+
+            if (Math.abs(2.0 * root) >= 1.0) {
+                // The pole radius would be outside the unit circle, the band would be unstable.
+                return;
+            }
+
+            beta[band] = (float) (2.0 * root);
+            alpha[band] = (float) (0.5 - root);
+            gamma[band] = (float) (2.0 * (0.5 + root) * centerCos);
         }
     }
 }
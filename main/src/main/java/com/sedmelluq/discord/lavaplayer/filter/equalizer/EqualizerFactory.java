@@ -24,7 +24,8 @@ public class EqualizerFactory extends EqualizerConfiguration implements PcmFilte
     @Override
     public List<AudioFilter> buildChain(AudioTrack track, AudioDataFormat format, UniversalPcmAudioFilter output) {
         if (Equalizer.isCompatible(format)) {
-            return Collections.singletonList(new Equalizer(format.channelCount, output, bandMultipliers));
+            return Collections.singletonList(new Equalizer(format.channelCount, format.sampleRate, output,
+                bandMultipliers));
         } else {
             return Collections.emptyList();
         }
@@ -0,0 +1,234 @@
+package com.sedmelluq.discord.lavaplayer.filter.kernel;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Sample loops shared by the PCM filters. All methods work on arrays, so that buffers are copied in and out with bulk
+ * operations instead of going through them one sample at a time.
+ * <p>
+ * The implementation is picked once at startup: when running on Java 21 or later with the
+ * <code>jdk.incubator.vector</code> module available (started with <code>--add-modules jdk.incubator.vector</code>),
+ * the conversion and gain loops use the Vector API, otherwise plain scalar loops are used. Earlier versions do have the
+ * module, but do not compile the conversions between vector shapes to vector instructions, which makes them several
+ * times slower than the scalar loops. The vector implementation is only included in builds made with the Gradle
+ * property <code>vectorKernels</code> set to <code>true</code>. Setting the system property
+ * <code>lavaplayer.pcm.disableVectorKernels</code> to <code>true</code> forces the scalar implementation.
+ */
+public abstract class PcmKernels {
+    private static final Logger log = LoggerFactory.getLogger(PcmKernels.class);
+
+    private static final String VECTOR_MODULE = "jdk.incubator.vector";
+    private static final String VECTOR_IMPLEMENTATION =
+        "com.sedmelluq.discord.lavaplayer.filter.kernel.VectorPcmKernels";
+    private static final String DISABLE_PROPERTY = "lavaplayer.pcm.disableVectorKernels";
+    private static final int MINIMUM_VECTOR_VERSION = 21;
+
+    private static final PcmKernels SCALAR = new ScalarPcmKernels();
+    private static final PcmKernels INSTANCE = load();
+
+    /**
+     * @return The kernels picked for this JVM.
+     */
+    public static PcmKernels get() {
+        return INSTANCE;
+    }
+
+    /**
+     * @return The scalar kernels, regardless of what is supported by this JVM.
+     */
+    public static PcmKernels scalar() {
+        return SCALAR;
+    }
+
+    /**
+     * @return Name of the implementation, for logging and benchmarks.
+     */
+    public abstract String getName();
+
+    /**
+     * Convert 16-bit samples to float samples in range [-1, 1).
+     *
+     * @param input        Input samples
+     * @param inputOffset  Offset of the first input sample
+     * @param output       Output samples
+     * @param outputOffset Offset of the first output sample
+     * @param length       Number of samples to convert
+     */
+    public abstract void convertToFloat(short[] input, int inputOffset, float[] output, int outputOffset, int length);
+
+    /**
+     * Convert float samples to 16-bit samples, clamping the values which are out of range.
+     *
+     * @param input        Input samples
+     * @param inputOffset  Offset of the first input sample
+     * @param output       Output samples
+     * @param outputOffset Offset of the first output sample
+     * @param length       Number of samples to convert
+     */
+    public abstract void convertToShort(float[] input, int inputOffset, short[] output, int outputOffset, int length);
+
+    /**
+     * Multiply samples by <code>numerator / denominator</code> in place, clamping the values which are out of range.
+     *
+     * @param samples     Samples to apply the gain to
+     * @param offset      Offset of the first sample
+     * @param length      Number of samples
+     * @param numerator   Numerator of the multiplier
+     * @param denominator Denominator of the multiplier
+     */
+    public abstract void applyGain(short[] samples, int offset, int length, int numerator, int denominator);
+
+    /**
+     * Split interleaved 16-bit samples into float channels.
+     *
+     * @param input        Interleaved input samples
+     * @param inputOffset  Offset of the first input sample
+     * @param output       Output channels
+     * @param outputOffset Offset of the first output sample in each channel
+     * @param frames       Number of samples per channel
+     * @param channels     Number of channels
+     */
+    public void deinterleaveToFloat(short[] input, int inputOffset, float[][] output, int outputOffset, int frames,
+                                    int channels) {
+
+        for (int channel = 0; channel < channels; channel++) {
+            float[] channelOutput = output[channel];
+            int inputIndex = inputOffset + channel;
+
+            for (int i = 0; i < frames; i++) {
+                channelOutput[outputOffset + i] = input[inputIndex] / 32768.0f;
+                inputIndex += channels;
+            }
+        }
+    }
+
+    /**
+     * Interleave split 16-bit channels.
+     *
+     * @param input        Input channels
+     * @param inputOffset  Offset of the first input sample in each channel
+     * @param output       Interleaved output samples
+     * @param outputOffset Offset of the first output sample
+     * @param frames       Number of samples per channel
+     * @param channels     Number of output channels, channels missing from the input repeat its last channel
+     */
+    public void interleave(short[][] input, int inputOffset, short[] output, int outputOffset, int frames,
+                           int channels) {
+
+        for (int channel = 0; channel < channels; channel++) {
+            short[] channelInput = input[Math.min(channel, input.length - 1)];
+            int outputIndex = outputOffset + channel;
+
+            for (int i = 0; i < frames; i++) {
+                output[outputIndex] = channelInput[inputOffset + i];
+                outputIndex += channels;
+            }
+        }
+    }
+
+    /**
+     * Convert float channels to interleaved 16-bit samples in one pass, clamping the values which are out of range.
+     *
+     * @param input        Input channels
+     * @param inputOffset  Offset of the first input sample in each channel
+     * @param output       Interleaved output samples
+     * @param outputOffset Offset of the first output sample
+     * @param frames       Number of samples per channel
+     * @param channels     Number of output channels, channels missing from the input repeat its last channel
+     */
+    public void interleaveToShort(float[][] input, int inputOffset, short[] output, int outputOffset, int frames,
+                                  int channels) {
+
+        for (int channel = 0; channel < channels; channel++) {
+            float[] channelInput = input[Math.min(channel, input.length - 1)];
+            int outputIndex = outputOffset + channel;
+
+            for (int i = 0; i < frames; i++) {
+                int value = (int) (channelInput[inputOffset + i] * 32768.0f);
+                output[outputIndex] = (short) Math.min(Math.max(value, -32768), 32767);
+                outputIndex += channels;
+            }
+        }
+    }
+
+    /**
+     * Change the number of channels of interleaved samples. The first channels common to both input and output are
+     * copied, additional output channels are copies of the first input channel.
+     *
+     * @param input          Interleaved input samples
+     * @param inputOffset    Offset of the first input sample
+     * @param inputChannels  Number of input channels
+     * @param output         Interleaved output samples
+     * @param outputOffset   Offset of the first output sample
+     * @param outputChannels Number of output channels
+     * @param frames         Number of samples per channel
+     */
+    public void remapChannels(short[] input, int inputOffset, int inputChannels, short[] output, int outputOffset,
+                              int outputChannels, int frames) {
+
+        for (int channel = 0; channel < outputChannels; channel++) {
+            int inputIndex = inputOffset + (channel < inputChannels ? channel : 0);
+            int outputIndex = outputOffset + channel;
+
+            for (int i = 0; i < frames; i++) {
+                output[outputIndex] = input[inputIndex];
+                inputIndex += inputChannels;
+                outputIndex += outputChannels;
+            }
+        }
+    }
+
+    /**
+     * Change the number of channels of interleaved 16-bit samples and split them into float channels in one pass. Maps
+     * the channels the same way as {@link #remapChannels}.
+     *
+     * @param input          Interleaved input samples
+     * @param inputOffset    Offset of the first input sample
+     * @param inputChannels  Number of input channels
+     * @param output         Output channels
+     * @param outputOffset   Offset of the first output sample in each channel
+     * @param outputChannels Number of output channels
+     * @param frames         Number of samples per channel
+     */
+    public void remapToFloat(short[] input, int inputOffset, int inputChannels, float[][] output, int outputOffset,
+                             int outputChannels, int frames) {
+
+        for (int channel = 0; channel < outputChannels; channel++) {
+            float[] channelOutput = output[channel];
+            int inputIndex = inputOffset + (channel < inputChannels ? channel : 0);
+
+            for (int i = 0; i < frames; i++) {
+                channelOutput[outputOffset + i] = input[inputIndex] / 32768.0f;
+                inputIndex += inputChannels;
+            }
+        }
+    }
+
+    private static PcmKernels load() {
+        if (Boolean.getBoolean(DISABLE_PROPERTY)) {
+            log.debug("Vector PCM kernels disabled by system property.");
+            return SCALAR;
+        } else if (Runtime.version().feature() < MINIMUM_VECTOR_VERSION) {
+            log.debug("Vector PCM kernels require Java {}, using scalar PCM kernels.", MINIMUM_VECTOR_VERSION);
+            return SCALAR;
+        } else if (!ModuleLayer.boot().findModule(VECTOR_MODULE).isPresent()) {
+            log.debug("Module {} is not available, using scalar PCM kernels.", VECTOR_MODULE);
+            return SCALAR;
+        }
+
+        try {
+            PcmKernels kernels = (PcmKernels) Class.forName(VECTOR_IMPLEMENTATION)
+                .getDeclaredConstructor()
+                .newInstance();
+            log.info("Using {} PCM kernels.", kernels.getName());
+            return kernels;
+        } catch (ClassNotFoundException e) {
+            log.debug("Vector PCM kernels are not included in this build, using scalar PCM kernels.");
+            return SCALAR;
+        } catch (Throwable e) {
+            log.warn("Failed to load vector PCM kernels, using scalar ones.", e);
+            return SCALAR;
+        }
+    }
+}
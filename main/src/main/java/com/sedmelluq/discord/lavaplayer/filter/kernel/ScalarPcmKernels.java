@@ -0,0 +1,35 @@
+package com.sedmelluq.discord.lavaplayer.filter.kernel;
+
+/**
+ * Kernels implemented with plain loops, which the JIT compiler can still unroll and in simple cases vectorize.
+ */
+public class ScalarPcmKernels extends PcmKernels {
+    @Override
+    public String getName() {
+        return "scalar";
+    }
+
+    @Override
+    public void convertToFloat(short[] input, int inputOffset, float[] output, int outputOffset, int length) {
+        for (int i = 0; i < length; i++) {
+            output[outputOffset + i] = input[inputOffset + i] / 32768.0f;
+        }
+    }
+
+    @Override
+    public void convertToShort(float[] input, int inputOffset, short[] output, int outputOffset, int length) {
+        for (int i = 0; i < length; i++) {
+            output[outputOffset + i] = (short) Math.min(Math.max((int) (input[inputOffset + i] * 32768.0f), -32768), 32767);
+        }
+    }
+
+    @Override
+    public void applyGain(short[] samples, int offset, int length, int numerator, int denominator) {
+        int end = offset + length;
+
+        for (int i = offset; i < end; i++) {
+            int value = samples[i] * numerator / denominator;
+            samples[i] = (short) Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, value));
+        }
+    }
+}
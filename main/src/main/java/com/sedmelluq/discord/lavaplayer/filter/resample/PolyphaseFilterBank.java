@@ -0,0 +1,206 @@
+package com.sedmelluq.discord.lavaplayer.filter.resample;
+
+import com.sedmelluq.discord.lavaplayer.player.AudioConfiguration.ResamplingQuality;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Coefficients of a polyphase windowed sinc filter for converting between two sample rates. The rate ratio is reduced
+ * to <code>upFactor / downFactor</code>, and the lowpass filter of the virtual signal upsampled by
+ * <code>upFactor</code> is split into <code>upFactor</code> phases of {@link #getTaps()} coefficients each. The
+ * coefficients are immutable, so one bank is shared by all resamplers for the same rates and quality.
+ */
+public class PolyphaseFilterBank {
+    /**
+     * Maximum number of phases in a bank. Rate pairs with a larger reduced up factor are not supported.
+     */
+    public static final int MAXIMUM_PHASES = 2048;
+
+    private static final Map<Key, PolyphaseFilterBank> banks = new ConcurrentHashMap<>();
+
+    private final int upFactor;
+    private final int downFactor;
+    private final int taps;
+    private final float[] coefficients;
+
+    private PolyphaseFilterBank(int upFactor, int downFactor, ResamplingQuality quality) {
+        Design design = Design.forQuality(quality);
+
+        this.upFactor = upFactor;
+        this.downFactor = downFactor;
+        // When downsampling, the cutoff is lower than the input Nyquist frequency, so the filter needs to be longer in
+        // input samples for the same steepness.
+        this.taps = roundToEven(Math.ceil(design.taps * Math.max(1.0, (double) downFactor / upFactor)));
+        this.coefficients = createCoefficients(design);
+    }
+
+    /**
+     * @param sourceRate Input sample rate
+     * @param targetRate Output sample rate
+     * @param quality    Quality of the filter
+     * @return A shared filter bank for the rates, or <code>null</code> if the rates would need more than
+     * {@link #MAXIMUM_PHASES} phases.
+     */
+    public static PolyphaseFilterBank get(int sourceRate, int targetRate, ResamplingQuality quality) {
+        int divisor = greatestCommonDivisor(sourceRate, targetRate);
+        int upFactor = targetRate / divisor;
+        int downFactor = sourceRate / divisor;
+
+        if (upFactor > MAXIMUM_PHASES) {
+            return null;
+        }
+
+        return banks.computeIfAbsent(new Key(upFactor, downFactor, quality),
+            key -> new PolyphaseFilterBank(key.upFactor, key.downFactor, key.quality));
+    }
+
+    /**
+     * @return Number of phases, one output sample advances the phase by {@link #getDownFactor()}.
+     */
+    public int getUpFactor() {
+        return upFactor;
+    }
+
+    /**
+     * @return Number of phases to advance the phase by for each output sample.
+     */
+    public int getDownFactor() {
+        return downFactor;
+    }
+
+    /**
+     * @return Number of input samples each output sample is calculated from.
+     */
+    public int getTaps() {
+        return taps;
+    }
+
+    /**
+     * @return Coefficients of all phases, the coefficients of phase <code>p</code> start at index
+     * <code>p * taps</code> and are in the order of the input samples they are multiplied with.
+     */
+    float[] getCoefficients() {
+        return coefficients;
+    }
+
+    private float[] createCoefficients(Design design) {
+        int length = taps * upFactor;
+        // Centered at half of the length, the filter lines up with PolyphaseResampler, which starts its history with
+        // taps / 2 - 1 samples of silence, so that the output is not shifted in time.
+        double center = length / 2.0;
+        // Cutoff relative to the sample rate of the upsampled signal.
+        double cutoff = design.cutoff * 0.5 / Math.max(upFactor, downFactor);
+        double windowNormalizer = besselI0(design.kaiserBeta);
+
+        double[] prototype = new double[length];
+
+        for (int i = 0; i < length; i++) {
+            double argument = 2.0 * Math.PI * cutoff * (i - center);
+            double sinc = argument == 0 ? 1.0 : Math.sin(argument) / argument;
+            double windowPosition = (i - center) / center;
+            double window = besselI0(design.kaiserBeta * Math.sqrt(1.0 - windowPosition * windowPosition));
+
+            prototype[i] = sinc * window / windowNormalizer;
+        }
+
+        float[] result = new float[length];
+
+        for (int phase = 0; phase < upFactor; phase++) {
+            double sum = 0;
+
+            for (int tap = 0; tap < taps; tap++) {
+                sum += prototype[phase + tap * upFactor];
+            }
+
+            // Normalizing each phase separately gives exact unity gain for a constant signal in every phase.
+            for (int tap = 0; tap < taps; tap++) {
+                result[phase * taps + (taps - 1 - tap)] = (float) (prototype[phase + tap * upFactor] / sum);
+            }
+        }
+
+        return result;
+    }
+
+    private static double besselI0(double value) {
+        double sum = 1.0;
+        double term = 1.0;
+        double halfValue = value / 2.0;
+
+        for (int k = 1; k < 50 && term > sum * 1e-12; k++) {
+            term *= (halfValue / k) * (halfValue / k);
+            sum += term;
+        }
+
+        return sum;
+    }
+
+    private static int roundToEven(double value) {
+        int result = (int) value;
+        return (result & 1) == 0 ? result : result + 1;
+    }
+
+    private static int greatestCommonDivisor(int a, int b) {
+        while (b != 0) {
+            int remainder = a % b;
+            a = b;
+            b = remainder;
+        }
+
+        return a;
+    }
+
+    private enum Design {
+        HIGH(64, 0.92, 8.0),
+        MEDIUM(32, 0.87, 7.0),
+        LOW(16, 0.80, 6.0);
+
+        private final int taps;
+        private final double cutoff;
+        private final double kaiserBeta;
+
+        Design(int taps, double cutoff, double kaiserBeta) {
+            this.taps = taps;
+            this.cutoff = cutoff;
+            this.kaiserBeta = kaiserBeta;
+        }
+
+        private static Design forQuality(ResamplingQuality quality) {
+            switch (quality) {
+                case HIGH:
+                    return HIGH;
+                case MEDIUM:
+                    return MEDIUM;
+                case LOW:
+                default:
+                    return LOW;
+            }
+        }
+    }
+
+    private static class Key {
+        private final int upFactor;
+        private final int downFactor;
+        private final ResamplingQuality quality;
+
+        private Key(int upFactor, int downFactor, ResamplingQuality quality) {
+            this.upFactor = upFactor;
+            this.downFactor = downFactor;
+            this.quality = quality;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Key key = (Key) o;
+            return upFactor == key.upFactor && downFactor == key.downFactor && quality == key.quality;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(upFactor, downFactor, quality);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.sedmelluq.discord.lavaplayer.filter.resample;
+
+import java.util.Arrays;
+
+/**
+ * Resampler for split float channels using a shared {@link PolyphaseFilterBank}. Input is added with
+ * {@link #write(float[][], int, int)} and the output it makes available is taken with {@link #read(float[][], int, int)}.
+ * The state of the resampler is only the recent input history and the current phase, all channels advance together.
+ * Not thread safe.
+ */
+public class PolyphaseResampler {
+    private static final int INPUT_CAPACITY = 4096;
+
+    private final float[] coefficients;
+    private final int upFactor;
+    private final int downFactor;
+    private final int taps;
+    private final float[][] history;
+    private int start;
+    private int end;
+    private int phase;
+
+    /**
+     * @param bank     Filter bank for the sample rates to convert between
+     * @param channels Number of channels
+     */
+    public PolyphaseResampler(PolyphaseFilterBank bank, int channels) {
+        this.coefficients = bank.getCoefficients();
+        this.upFactor = bank.getUpFactor();
+        this.downFactor = bank.getDownFactor();
+        this.taps = bank.getTaps();
+        this.history = new float[channels][taps + INPUT_CAPACITY];
+
+        reset();
+    }
+
+    /**
+     * Add input samples. Accepts at most as many samples as fit into the history, so the output must be read with
+     * {@link #read(float[][], int, int)} before writing again when not all of the input was accepted.
+     *
+     * @param input  Input channels
+     * @param offset Offset of the first input sample in each channel
+     * @param length Number of samples per channel
+     * @return Number of samples per channel that were accepted.
+     */
+    public int write(float[][] input, int offset, int length) {
+        if (start > 0) {
+            for (float[] channel : history) {
+                System.arraycopy(channel, start, channel, 0, end - start);
+            }
+
+            end -= start;
+            start = 0;
+        }
+
+        int accepted = Math.min(length, history[0].length - end);
+
+        for (int i = 0; i < history.length; i++) {
+            System.arraycopy(input[i], offset, history[i], end, accepted);
+        }
+
+        end += accepted;
+        return accepted;
+    }
+
+    /**
+     * @param output Output channels
+     * @param offset Offset of the first output sample in each channel
+     * @param length Maximum number of samples per channel to write
+     * @return Number of samples per channel written, zero if more input is needed.
+     */
+    public int read(float[][] output, int offset, int length) {
+        int generated = 0;
+        int position = start;
+        int currentPhase = phase;
+
+        while (generated < length && position + taps <= end) {
+            int coefficientOffset = currentPhase * taps;
+
+            for (int channel = 0; channel < history.length; channel++) {
+                output[channel][offset + generated] = convolve(history[channel], position, coefficientOffset);
+            }
+
+            generated++;
+            currentPhase += downFactor;
+            position += currentPhase / upFactor;
+            currentPhase %= upFactor;
+        }
+
+        start = position;
+        phase = currentPhase;
+        return generated;
+    }
+
+    /**
+     * Clear the input history, so that previous input does not affect the next output.
+     */
+    public void reset() {
+        for (float[] channel : history) {
+            Arrays.fill(channel, 0.0f);
+        }
+
+        // Silence in front of the input aligns the filter center with the first input sample, so the output is not delayed
+        // relative to the input.
+        start = 0;
+        end = taps / 2 - 1;
+        phase = 0;
+    }
+
+    private float convolve(float[] samples, int position, int coefficientOffset) {
+        float first = 0.0f;
+        float second = 0.0f;
+
+        // Two independent sums halve the length of the dependency chain of the additions.
+        for (int i = 0; i < taps; i += 2) {
+            first += samples[position + i] * coefficients[coefficientOffset + i];
+            second += samples[position + i + 1] * coefficients[coefficientOffset + i + 1];
+        }
+
+        return first + second;
+    }
+}
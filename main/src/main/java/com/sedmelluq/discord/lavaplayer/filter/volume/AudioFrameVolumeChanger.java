@@ -20,17 +20,22 @@ public class AudioFrameVolumeChanger implements AudioFrameRebuilder {
     private final AudioConfiguration configuration;
     private final AudioDataFormat format;
     private final int newVolume;
+    private final boolean useGain;
     private final ShortBuffer sampleBuffer;
     private final PcmVolumeProcessor volumeProcessor;
 
     private AudioChunkEncoder encoder;
     private AudioChunkDecoder decoder;
+    private OpusGainVolumeProcessor gainProcessor;
     private int frameIndex;
 
-    private AudioFrameVolumeChanger(AudioConfiguration configuration, AudioDataFormat format, int newVolume) {
+    private AudioFrameVolumeChanger(AudioConfiguration configuration, AudioDataFormat format, int newVolume,
+                                    boolean useGain) {
+
         this.configuration = configuration;
         this.format = format;
         this.newVolume = newVolume;
+        this.useGain = useGain;
 
         this.sampleBuffer = ByteBuffer
             .allocateDirect(format.totalSampleCount() * 2)
@@ -45,20 +50,13 @@ public class AudioFrameVolumeChanger implements AudioFrameRebuilder {
             return frame;
         }
 
-        decoder.decode(frame.getData(), sampleBuffer);
-
         int targetVolume = newVolume;
 
         if (++frameIndex < 50) {
             targetVolume = (int) ((newVolume - frame.getVolume()) * (frameIndex / 50.0) + frame.getVolume());
         }
 
-        // Volume 0 is stored in the frame with volume 100 buffer
-        if (targetVolume != 0) {
-            volumeProcessor.applyVolume(frame.getVolume(), targetVolume, sampleBuffer);
-        }
-
-        byte[] bytes = encoder.encode(sampleBuffer);
+        byte[] bytes = useGain ? rebuildWithGain(frame, targetVolume) : rebuildWithPcm(frame, targetVolume);
 
         // One frame per 20ms is consumed. To not spike the CPU usage, reencode only once per 5ms. By the time the buffer is
         // fully rebuilt, it is probably near to 3/4 its maximum size.
@@ -72,12 +70,39 @@ public class AudioFrameVolumeChanger implements AudioFrameRebuilder {
         return new ImmutableAudioFrame(frame.getTimecode(), bytes, targetVolume, format);
     }
 
+    private byte[] rebuildWithPcm(AudioFrame frame, int targetVolume) {
+        decoder.decode(frame.getData(), sampleBuffer);
+
+        // Volume 0 is stored in the frame with volume 100 buffer
+        if (targetVolume != 0) {
+            volumeProcessor.applyVolume(frame.getVolume(), targetVolume, sampleBuffer);
+        }
+
+        return encoder.encode(sampleBuffer);
+    }
+
+    private byte[] rebuildWithGain(AudioFrame frame, int targetVolume) {
+        ByteBuffer output = gainProcessor.process(ByteBuffer.wrap(frame.getData()), frame.getVolume(), targetVolume);
+
+        byte[] bytes = new byte[output.remaining()];
+        output.get(bytes);
+        return bytes;
+    }
+
     private void setupLibraries() {
-        encoder = format.createEncoder(configuration);
-        decoder = format.createDecoder();
+        if (useGain) {
+            gainProcessor = new OpusGainVolumeProcessor(configuration, format);
+        } else {
+            encoder = format.createEncoder(configuration);
+            decoder = format.createDecoder();
+        }
     }
 
     private void clearLibraries() {
+        if (gainProcessor != null) {
+            gainProcessor.close();
+        }
+
         if (encoder != null) {
             encoder.close();
         }
@@ -88,13 +113,15 @@ public class AudioFrameVolumeChanger implements AudioFrameRebuilder {
     }
 
     /**
-     * Applies a volume level to the buffered frames of a frame consumer
+     * Applies a volume level to the buffered frames of a frame consumer. When
+     * {@link OpusGainVolumeProcessor#isApplicable(AudioProcessingContext)}, the frames are changed with the cheaper gain
+     * based processor.
      *
      * @param context Configuration and output information for processing
      */
     public static void apply(AudioProcessingContext context) {
         AudioFrameVolumeChanger volumeChanger = new AudioFrameVolumeChanger(context.configuration, context.outputFormat,
-            context.playerOptions.volumeLevel.get());
+            context.playerOptions.volumeLevel.get(), OpusGainVolumeProcessor.isApplicable(context));
 
         try {
             volumeChanger.setupLibraries();
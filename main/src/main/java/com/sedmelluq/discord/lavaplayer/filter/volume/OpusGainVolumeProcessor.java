@@ -0,0 +1,142 @@
+package com.sedmelluq.discord.lavaplayer.filter.volume;
+
+import com.sedmelluq.discord.lavaplayer.format.AudioDataFormat;
+import com.sedmelluq.discord.lavaplayer.format.OpusAudioDataFormat;
+import com.sedmelluq.discord.lavaplayer.natives.NativeResourcePools;
+import com.sedmelluq.discord.lavaplayer.natives.opus.OpusDecoder;
+import com.sedmelluq.discord.lavaplayer.natives.opus.OpusEncoder;
+import com.sedmelluq.discord.lavaplayer.player.AudioConfiguration;
+import com.sedmelluq.discord.lavaplayer.track.playback.AudioProcessingContext;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.ShortBuffer;
+
+/**
+ * Changes the volume of Opus packets without going through the PCM pipeline. Opus packets have no gain field that
+ * could be rewritten, so the packet is still decoded and encoded again, but the volume is applied as decoder gain and
+ * the encoder runs with the lower complexity of {@link AudioConfiguration#getOpusGainEncodingQuality()}, which makes
+ * this several times cheaper than the full pipeline. Only used when enabled in the configuration and no filters are
+ * active, as it trades some quality for the reduced CPU usage, and when the connector library supports decoder gain.
+ */
+public class OpusGainVolumeProcessor {
+    private static final int MINIMUM_GAIN = -32768;
+    private static final int MAXIMUM_GAIN = 32767;
+
+    private final AudioDataFormat format;
+    private final NativeResourcePools pools;
+    private final int quality;
+    private final OpusDecoder decoder;
+    private final OpusEncoder encoder;
+    private final ShortBuffer sampleBuffer;
+    private final ByteBuffer outputBuffer;
+    private ByteBuffer directInput;
+    private int currentGain;
+
+    /**
+     * @param configuration Configuration to take the encoding quality from
+     * @param format        Opus format of both the input and the output packets
+     */
+    public OpusGainVolumeProcessor(AudioConfiguration configuration, AudioDataFormat format) {
+        this.format = format;
+        this.pools = configuration.getNativeResourcePools();
+        this.quality = configuration.getOpusGainEncodingQuality();
+        this.decoder = pools.acquireOpusDecoder(format.sampleRate, format.channelCount);
+
+        try {
+            this.encoder = pools.acquireOpusEncoder(format.sampleRate, format.channelCount, quality);
+        } catch (RuntimeException e) {
+            pools.releaseOpusDecoder(decoder, format.sampleRate, format.channelCount);
+            throw e;
+        }
+
+        this.sampleBuffer = ByteBuffer
+            .allocateDirect(format.totalSampleCount() * 2)
+            .order(ByteOrder.nativeOrder())
+            .asShortBuffer();
+        this.outputBuffer = ByteBuffer.allocateDirect(format.maximumChunkSize());
+    }
+
+    /**
+     * @param context Configuration and output information for processing
+     * @return True if the volume of the output of this context can be changed with this processor.
+     */
+    public static boolean isApplicable(AudioProcessingContext context) {
+        return context.configuration.isOpusGainVolumeEnabled() &&
+            OpusAudioDataFormat.CODEC_NAME.equals(context.outputFormat.codecName()) &&
+            context.playerOptions.filterFactory.get() == null &&
+            OpusDecoder.isGainSupported();
+    }
+
+    /**
+     * Decode a packet without producing any output, so that the next packet continues smoothly from it.
+     *
+     * @param packet Packet preceding the next one given to {@link #process(ByteBuffer, int, int)}
+     */
+    public void prime(ByteBuffer packet) {
+        sampleBuffer.clear();
+        decoder.decode(toDirect(packet), sampleBuffer);
+    }
+
+    /**
+     * @param packet        Opus packet to change the volume of, its position is moved to its limit
+     * @param initialVolume Volume level the packet was encoded at
+     * @param targetVolume  Volume level to change the packet to
+     * @return Buffer with the re-encoded packet, valid until the next call.
+     */
+    public ByteBuffer process(ByteBuffer packet, int initialVolume, int targetVolume) {
+        int gain = calculateGain(initialVolume, targetVolume);
+
+        if (gain != currentGain) {
+            decoder.setGain(gain);
+            currentGain = gain;
+        }
+
+        sampleBuffer.clear();
+        decoder.decode(toDirect(packet), sampleBuffer);
+        encoder.encode(sampleBuffer, format.chunkSampleCount, outputBuffer);
+        return outputBuffer;
+    }
+
+    /**
+     * Release the native decoder and encoder.
+     */
+    public void close() {
+        pools.releaseOpusDecoder(decoder, format.sampleRate, format.channelCount);
+        pools.releaseOpusEncoder(encoder, format.sampleRate, format.channelCount, quality);
+    }
+
+    private ByteBuffer toDirect(ByteBuffer packet) {
+        if (packet.isDirect()) {
+            ByteBuffer direct = packet.duplicate();
+            packet.position(packet.limit());
+            return direct;
+        }
+
+        if (directInput == null || directInput.capacity() < packet.remaining()) {
+            directInput = ByteBuffer.allocateDirect(packet.remaining() + 200);
+        }
+
+        directInput.clear();
+        directInput.put(packet);
+        directInput.flip();
+        return directInput;
+    }
+
+    private static int calculateGain(int initialVolume, int targetVolume) {
+        // Volume 0 is stored in the frame with volume 100 buffer
+        int initialMultiplier = PcmVolumeProcessor.getIntegerMultiplier(initialVolume != 0 ? initialVolume : 100);
+        int targetMultiplier = PcmVolumeProcessor.getIntegerMultiplier(targetVolume != 0 ? targetVolume : 100);
+
+        if (initialMultiplier == targetMultiplier) {
+            return 0;
+        } else if (targetMultiplier <= 0) {
+            return MINIMUM_GAIN;
+        } else if (initialMultiplier <= 0) {
+            return MAXIMUM_GAIN;
+        }
+
+        double gain = 256 * 20 * Math.log10((double) targetMultiplier / initialMultiplier);
+        return (int) Math.max(MINIMUM_GAIN, Math.min(MAXIMUM_GAIN, Math.round(gain)));
+    }
+}
@@ -1,5 +1,7 @@
 package com.sedmelluq.discord.lavaplayer.filter.volume;
 
+import com.sedmelluq.discord.lavaplayer.filter.kernel.PcmKernels;
+
 import java.nio.ShortBuffer;
 
 /**
@@ -8,6 +10,7 @@ import java.nio.ShortBuffer;
 public class PcmVolumeProcessor {
     private int currentVolume = -1;
     private int integerMultiplier;
+    private short[] samples;
 
     /**
      * @param initialVolume Initial volume level (only useful for getLastVolume() as specified with each call)
@@ -49,12 +52,20 @@ public class PcmVolumeProcessor {
         if (currentVolume != activeVolume) {
             currentVolume = activeVolume;
 
-            if (activeVolume <= 150) {
-                float floatMultiplier = (float) Math.tan(activeVolume * 0.0079f);
-                integerMultiplier = (int) (floatMultiplier * 10000);
-            } else {
-                integerMultiplier = 24621 * activeVolume / 150;
-            }
+            integerMultiplier = getIntegerMultiplier(activeVolume);
+        }
+    }
+
+    /**
+     * @param volume Volume level
+     * @return The multiplier for the samples at this volume level, scaled by 10000.
+     */
+    static int getIntegerMultiplier(int volume) {
+        if (volume <= 150) {
+            float floatMultiplier = (float) Math.tan(volume * 0.0079f);
+            return (int) (floatMultiplier * 10000);
+        } else {
+            return 24621 * volume / 150;
         }
     }
 
@@ -63,12 +74,7 @@ public class PcmVolumeProcessor {
             return;
         }
 
-        int endOffset = buffer.limit();
-
-        for (int i = buffer.position(); i < endOffset; i++) {
-            int value = buffer.get(i) * integerMultiplier / 10000;
-            buffer.put(i, (short) Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, value)));
-        }
+        applyGain(buffer, integerMultiplier, 10000);
     }
 
     private void unapplyCurrentVolume(ShortBuffer buffer) {
@@ -76,11 +82,27 @@ public class PcmVolumeProcessor {
             return;
         }
 
-        int endOffset = buffer.limit();
+        applyGain(buffer, 10000, integerMultiplier);
+    }
+
+    private void applyGain(ShortBuffer buffer, int numerator, int denominator) {
+        int position = buffer.position();
+        int length = buffer.remaining();
 
-        for (int i = buffer.position(); i < endOffset; i++) {
-            int value = buffer.get(i) * 10000 / integerMultiplier;
-            buffer.put(i, (short) Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, value)));
+        if (buffer.hasArray()) {
+            PcmKernels.get().applyGain(buffer.array(), buffer.arrayOffset() + position, length, numerator, denominator);
+            return;
         }
+
+        if (samples == null || samples.length < length) {
+            samples = new short[length];
+        }
+
+        buffer.get(samples, 0, length);
+        PcmKernels.get().applyGain(samples, 0, length, numerator, denominator);
+
+        buffer.position(position);
+        buffer.put(samples, 0, length);
+        buffer.position(position);
     }
 }
@@ -19,6 +19,28 @@ public interface AudioChunkEncoder {
      */
     void encode(ShortBuffer buffer, ByteBuffer out);
 
+    /**
+     * Encode into the remaining space of a buffer, such as a region reserved in a frame buffer, without changing its
+     * position or limit.
+     *
+     * @param buffer Input buffer containing the PCM samples.
+     * @param target Buffer to write the encoded bytes to, starting from its position
+     * @return Number of bytes written
+     */
+    default int encodeInto(ShortBuffer buffer, ByteBuffer target) {
+        byte[] encoded = encode(buffer);
+        target.duplicate().put(encoded);
+        return encoded.length;
+    }
+
+    /**
+     * @return Whether {@link #encodeInto(ShortBuffer, ByteBuffer)} can be used with this encoder. When it is not, chunks
+     * must be encoded with {@link #encode(ShortBuffer, ByteBuffer)} instead.
+     */
+    default boolean supportsEncodeInto() {
+        return true;
+    }
+
     /**
      * Frees up all held resources.
      */
@@ -0,0 +1,68 @@
+package com.sedmelluq.discord.lavaplayer.format.transcoder;
+
+import com.sedmelluq.discord.lavaplayer.format.AudioDataFormat;
+import com.sedmelluq.discord.lavaplayer.natives.NativeResourcePools;
+import com.sedmelluq.discord.lavaplayer.natives.opus.OpusEncoder;
+import com.sedmelluq.discord.lavaplayer.player.AudioConfiguration;
+
+import java.nio.ByteBuffer;
+import java.nio.ShortBuffer;
+
+/**
+ * Audio chunk encoder for Opus codec, which encodes its chunks in batches together with other tracks through an
+ * {@link OpusBatchEncodingGroup}.
+ */
+public class BatchedOpusChunkEncoder implements AudioChunkEncoder {
+    private final OpusBatchEncodingGroup group;
+    private final NativeResourcePools pools;
+    private final int quality;
+    private final OpusEncoder encoder;
+    private final ByteBuffer encodedBuffer;
+    private boolean closed;
+
+    /**
+     * @param configuration Audio configuration used for configuring the encoder
+     * @param group         Group to encode the chunks in, its format is the target format
+     */
+    public BatchedOpusChunkEncoder(AudioConfiguration configuration, OpusBatchEncodingGroup group) {
+        AudioDataFormat format = group.getFormat();
+
+        this.group = group;
+        this.pools = configuration.getNativeResourcePools();
+        this.quality = configuration.getOpusEncodingQuality();
+        this.encoder = pools.acquireOpusEncoder(format.sampleRate, format.channelCount, quality);
+        this.encodedBuffer = ByteBuffer.allocate(group.getFormat().maximumChunkSize());
+    }
+
+    @Override
+    public byte[] encode(ShortBuffer buffer) {
+        group.encode(encoder, buffer, encodedBuffer);
+
+        byte[] bytes = new byte[encodedBuffer.remaining()];
+        encodedBuffer.get(bytes);
+        return bytes;
+    }
+
+    @Override
+    public void encode(ShortBuffer buffer, ByteBuffer outBuffer) {
+        group.encode(encoder, buffer, outBuffer);
+    }
+
+    @Override
+    public int encodeInto(ShortBuffer buffer, ByteBuffer target) {
+        // The batch is encoded into its own buffer, so the frame is copied out of it once.
+        group.encode(encoder, buffer, encodedBuffer);
+
+        int length = encodedBuffer.remaining();
+        target.duplicate().put(encodedBuffer);
+        return length;
+    }
+
+    @Override
+    public void close() {
+        if (!closed) {
+            closed = true;
+            pools.releaseOpusEncoder(encoder, group.getFormat().sampleRate, group.getFormat().channelCount, quality);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.sedmelluq.discord.lavaplayer.format.transcoder;
+
+import com.sedmelluq.discord.lavaplayer.format.AudioDataFormat;
+import com.sedmelluq.discord.lavaplayer.natives.opus.OpusBatchEncoder;
+import com.sedmelluq.discord.lavaplayer.natives.opus.OpusEncoder;
+
+import java.nio.ByteBuffer;
+import java.nio.ShortBuffer;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Collects frames encoded by the playback threads of different tracks into batches, so that they are encoded with one
+ * native call per batch instead of one per frame. There is no separate encoding thread: a batch is encoded by the
+ * thread that fills it, or by the first thread that has waited for the maximum wait time without the batch filling up.
+ * <p>
+ * Tracks decode ahead of playback, so the added latency of at most the maximum wait time per frame does not affect
+ * the output. Use {@link com.sedmelluq.discord.lavaplayer.player.AudioConfiguration#setOpusBatchEncodingGroup} to make
+ * the pipelines of all tracks of an audio player manager use a group. If the connector library does not support batch
+ * encoding, the group is not used and each track encodes its frames separately.
+ */
+public class OpusBatchEncodingGroup {
+    private final AudioDataFormat format;
+    private final int batchSize;
+    private final long maximumWaitNanos;
+    private final ReentrantLock lock;
+    private final Condition condition;
+    private final Deque<Batch> freeBatches;
+    private Batch currentBatch;
+
+    /**
+     * @param format          Opus format of the encoders in this group
+     * @param batchSize       Maximum number of frames in one batch
+     * @param maximumWait     Maximum time to wait for a batch to fill up
+     * @param maximumWaitUnit Unit of the maximum wait time
+     */
+    public OpusBatchEncodingGroup(AudioDataFormat format, int batchSize, long maximumWait, TimeUnit maximumWaitUnit) {
+        this.format = format;
+        this.batchSize = batchSize;
+        this.maximumWaitNanos = maximumWaitUnit.toNanos(maximumWait);
+        this.lock = new ReentrantLock();
+        this.condition = lock.newCondition();
+        this.freeBatches = new ArrayDeque<>();
+    }
+
+    /**
+     * @return Format of the encoders in this group.
+     */
+    public AudioDataFormat getFormat() {
+        return format;
+    }
+
+    /**
+     * Encode one frame as a part of a batch. Returns once the batch containing it has been encoded. An interrupt does
+     * not abort the wait, as the encoder is used by the batch until it is encoded, but the interrupted status is kept.
+     *
+     * @param encoder Encoder of the track
+     * @param input   Samples of one frame
+     * @param output  Buffer to write the encoded frame to, its position is set to zero and limit to the size of the
+     *                frame
+     */
+    public void encode(OpusEncoder encoder, ShortBuffer input, ByteBuffer output) {
+        boolean interrupted = false;
+
+        lock.lock();
+
+        try {
+            Batch batch = currentBatch != null ? currentBatch : (currentBatch = takeBatch());
+            int index = batch.encoder.add(encoder, input);
+            long remainingNanos = maximumWaitNanos;
+
+            batch.participants++;
+
+            while (!batch.encoded) {
+                if (!batch.encoding && (batch.encoder.isFull() || remainingNanos <= 0)) {
+                    encodeBatch(batch);
+                } else {
+                    try {
+                        if (batch.encoding) {
+                            condition.await();
+                        } else {
+                            remainingNanos = condition.awaitNanos(remainingNanos);
+                        }
+                    } catch (InterruptedException e) {
+                        interrupted = true;
+                    }
+                }
+            }
+
+            try {
+                output.clear();
+                output.put(batch.encoder.getOutput(index));
+                output.flip();
+            } finally {
+                releaseBatch(batch);
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void releaseBatch(Batch batch) {
+        if (--batch.participants == 0) {
+            batch.encoder.clear();
+            batch.encoded = false;
+            batch.encoding = false;
+            freeBatches.push(batch);
+        }
+    }
+
+    private void encodeBatch(Batch batch) {
+        batch.encoding = true;
+        currentBatch = null;
+
+        lock.unlock();
+
+        try {
+            batch.encoder.encode();
+        } finally {
+            lock.lock();
+
+            batch.encoded = true;
+            condition.signalAll();
+        }
+    }
+
+    private Batch takeBatch() {
+        Batch batch = freeBatches.poll();
+        return batch != null ? batch : new Batch(new OpusBatchEncoder(batchSize, format.chunkSampleCount,
+            format.channelCount, format.maximumChunkSize()));
+    }
+
+    private static class Batch {
+        private final OpusBatchEncoder encoder;
+        private int participants;
+        private boolean encoding;
+        private boolean encoded;
+
+        private Batch(OpusBatchEncoder encoder) {
+            this.encoder = encoder;
+        }
+    }
+}
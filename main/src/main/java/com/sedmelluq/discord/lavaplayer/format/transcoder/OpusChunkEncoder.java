@@ -1,6 +1,7 @@
 package com.sedmelluq.discord.lavaplayer.format.transcoder;
 
 import com.sedmelluq.discord.lavaplayer.format.AudioDataFormat;
+import com.sedmelluq.discord.lavaplayer.natives.NativeResourcePools;
 import com.sedmelluq.discord.lavaplayer.natives.opus.OpusEncoder;
 import com.sedmelluq.discord.lavaplayer.player.AudioConfiguration;
 
@@ -12,8 +13,11 @@ import java.nio.ShortBuffer;
  */
 public class OpusChunkEncoder implements AudioChunkEncoder {
     private final AudioDataFormat format;
+    private final NativeResourcePools pools;
+    private final int quality;
     private final OpusEncoder encoder;
     private final ByteBuffer encodedBuffer;
+    private boolean closed;
 
     /**
      * @param configuration Audio configuration used for configuring the encoder
@@ -21,7 +25,9 @@ public class OpusChunkEncoder implements AudioChunkEncoder {
      */
     public OpusChunkEncoder(AudioConfiguration configuration, AudioDataFormat format) {
         encodedBuffer = ByteBuffer.allocateDirect(format.maximumChunkSize());
-        encoder = new OpusEncoder(format.sampleRate, format.channelCount, configuration.getOpusEncodingQuality());
+        pools = configuration.getNativeResourcePools();
+        quality = configuration.getOpusEncodingQuality();
+        encoder = pools.acquireOpusEncoder(format.sampleRate, format.channelCount, quality);
         this.format = format;
     }
 
@@ -49,8 +55,21 @@ public class OpusChunkEncoder implements AudioChunkEncoder {
         }
     }
 
+    @Override
+    public int encodeInto(ShortBuffer buffer, ByteBuffer target) {
+        return encoder.encodeInto(buffer, format.chunkSampleCount, target);
+    }
+
+    @Override
+    public boolean supportsEncodeInto() {
+        return encoder.supportsEncodeInto();
+    }
+
     @Override
     public void close() {
-        encoder.close();
+        if (!closed) {
+            closed = true;
+            pools.releaseOpusEncoder(encoder, format.sampleRate, format.channelCount, quality);
+        }
     }
 }
@@ -53,6 +53,13 @@ public class PcmChunkEncoder implements AudioChunkEncoder {
         buffer.reset();
     }
 
+    @Override
+    public int encodeInto(ShortBuffer buffer, ByteBuffer target) {
+        int length = buffer.remaining() * 2;
+        target.duplicate().order(encoded.order()).asShortBuffer().put(buffer.duplicate());
+        return length;
+    }
+
     @Override
     public void close() {
         // Nothing to close here
@@ -0,0 +1,181 @@
+package com.sedmelluq.discord.lavaplayer.natives;
+
+import com.sedmelluq.lava.common.natives.NativeResourceHolder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Pool of native resources of one type, keyed by the parameters they were created with. A released resource is reset
+ * and kept for the next acquire with the same key, unless the pool already holds the maximum number of idle resources,
+ * in which case it is closed.
+ *
+ * @param <K> Type of the key, must implement equals and hashCode
+ * @param <T> Type of the pooled resource
+ */
+public class NativeResourcePool<K, T extends NativeResourceHolder> {
+    private static final Logger log = LoggerFactory.getLogger(NativeResourcePool.class);
+
+    private final String name;
+    private final Function<K, T> factory;
+    private final Predicate<T> resetter;
+    private final int maximumIdlePerKey;
+    private final int maximumIdle;
+    private final Map<K, Deque<T>> idleResources;
+    private int idleCount;
+    private int inUseCount;
+    private long createdCount;
+    private long reusedCount;
+    private long closedCount;
+
+    /**
+     * @param name              Name of the pool for logging
+     * @param factory           Function to create a new resource for a key
+     * @param resetter          Function to reset the state of a released resource, returns false if the resource cannot
+     *                          be reset and must be closed instead of reused
+     * @param maximumIdlePerKey Maximum number of idle resources with the same key
+     * @param maximumIdle       Maximum number of idle resources in total
+     */
+    public NativeResourcePool(String name, Function<K, T> factory, Predicate<T> resetter, int maximumIdlePerKey,
+                              int maximumIdle) {
+
+        this.name = name;
+        this.factory = factory;
+        this.resetter = resetter;
+        this.maximumIdlePerKey = maximumIdlePerKey;
+        this.maximumIdle = maximumIdle;
+        this.idleResources = new HashMap<>();
+    }
+
+    /**
+     * @param key Parameters of the resource
+     * @return An idle resource with the same key, or a new one if there are none.
+     */
+    public T acquire(K key) {
+        synchronized (this) {
+            Deque<T> resources = idleResources.get(key);
+            T resource = resources != null ? resources.poll() : null;
+
+            if (resource != null) {
+                idleCount--;
+                inUseCount++;
+                reusedCount++;
+                return resource;
+            }
+        }
+
+        // Created outside of the lock, as creating a native resource can take a while.
+        T resource = factory.apply(key);
+
+        synchronized (this) {
+            inUseCount++;
+            createdCount++;
+        }
+
+        return resource;
+    }
+
+    /**
+     * @param key      Key the resource was acquired with
+     * @param resource Resource to return to the pool, must not be used by the caller anymore
+     */
+    public void release(K key, T resource) {
+        boolean reusable = maximumIdle > 0 && reset(resource);
+
+        synchronized (this) {
+            inUseCount--;
+
+            if (reusable && idleCount < maximumIdle) {
+                Deque<T> resources = idleResources.computeIfAbsent(key, k -> new ArrayDeque<>());
+
+                if (resources.size() < maximumIdlePerKey) {
+                    resources.push(resource);
+                    idleCount++;
+                    return;
+                }
+            }
+
+            closedCount++;
+        }
+
+        resource.close();
+    }
+
+    private boolean reset(T resource) {
+        try {
+            return resetter.test(resource);
+        } catch (RuntimeException | LinkageError e) {
+            // A native library without the reset entry points must not keep the resource from being closed.
+            log.debug("Failed to reset resource in {} pool, closing it.", name, e);
+            return false;
+        }
+    }
+
+    /**
+     * Close all idle resources.
+     */
+    public void clear() {
+        Map<K, Deque<T>> resources;
+
+        synchronized (this) {
+            resources = new HashMap<>(idleResources);
+            idleResources.clear();
+            closedCount += idleCount;
+            idleCount = 0;
+        }
+
+        for (Deque<T> keyResources : resources.values()) {
+            for (T resource : keyResources) {
+                resource.close();
+            }
+        }
+    }
+
+    /**
+     * @return Name of the pool.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return Number of resources currently waiting to be reused.
+     */
+    public synchronized int getIdleCount() {
+        return idleCount;
+    }
+
+    /**
+     * @return Number of resources currently acquired from this pool.
+     */
+    public synchronized int getInUseCount() {
+        return inUseCount;
+    }
+
+    /**
+     * @return Total number of resources created by this pool.
+     */
+    public synchronized long getCreatedCount() {
+        return createdCount;
+    }
+
+    /**
+     * @return Total number of acquires which were served by an idle resource.
+     */
+    public synchronized long getReusedCount() {
+        return reusedCount;
+    }
+
+    /**
+     * @return Total number of resources closed by this pool, because there was no room for them or they were cleared.
+     */
+    public synchronized long getClosedCount() {
+        return closedCount;
+    }
+}
@@ -0,0 +1,211 @@
+package com.sedmelluq.discord.lavaplayer.natives;
+
+import com.sedmelluq.discord.lavaplayer.natives.opus.OpusDecoder;
+import com.sedmelluq.discord.lavaplayer.natives.opus.OpusEncoder;
+import com.sedmelluq.discord.lavaplayer.natives.samplerate.SampleRateConverter;
+
+/**
+ * Pools of the native resources used by audio pipelines: sample rate converters, Opus decoders and Opus encoders.
+ * Starting a track creates several of these and stopping it destroys them, which adds up when tracks are skipped
+ * rapidly. Set an instance with a non-zero capacity with
+ * {@link com.sedmelluq.discord.lavaplayer.player.AudioConfiguration#setNativeResourcePools} to make the pipelines of an
+ * audio player manager reuse them instead. Resources are reset when released, so no state carries over between tracks.
+ * Opus codecs are not reused when the loaded connector library is too old to reset them.
+ */
+public class NativeResourcePools {
+    private final NativeResourcePool<ConverterKey, SampleRateConverter> sampleRateConverters;
+    private final NativeResourcePool<CodecKey, OpusDecoder> opusDecoders;
+    private final NativeResourcePool<CodecKey, OpusEncoder> opusEncoders;
+
+    /**
+     * @param maximumIdlePerKey Maximum number of idle resources with the same parameters in each pool
+     * @param maximumIdle       Maximum number of idle resources in total in each pool, zero to disable reuse
+     */
+    public NativeResourcePools(int maximumIdlePerKey, int maximumIdle) {
+        sampleRateConverters = new NativeResourcePool<>("sample rate converter",
+            key -> new SampleRateConverter(key.type, key.channels, key.sourceRate, key.targetRate),
+            converter -> {
+                converter.reset();
+                return true;
+            }, maximumIdlePerKey, maximumIdle);
+
+        opusDecoders = new NativeResourcePool<>("Opus decoder",
+            key -> new OpusDecoder(key.sampleRate, key.channels),
+            decoder -> {
+                // Connector libraries without these entry points cannot reset a decoder, so it is not reused.
+                if (!decoder.supportsReset()) {
+                    return false;
+                } else if (decoder.supportsGain()) {
+                    decoder.setGain(0);
+                }
+
+                decoder.reset();
+                return true;
+            }, maximumIdlePerKey, maximumIdle);
+
+        opusEncoders = new NativeResourcePool<>("Opus encoder",
+            key -> new OpusEncoder(key.sampleRate, key.channels, key.quality),
+            encoder -> {
+                if (!encoder.supportsReset()) {
+                    return false;
+                }
+
+                encoder.reset();
+                return true;
+            }, maximumIdlePerKey, maximumIdle);
+    }
+
+    /**
+     * @param type       Resampling type
+     * @param channels   Number of channels
+     * @param sourceRate Source sample rate
+     * @param targetRate Target sample rate
+     * @return A converter with the specified parameters.
+     */
+    public SampleRateConverter acquireSampleRateConverter(SampleRateConverter.ResamplingType type, int channels,
+                                                          int sourceRate, int targetRate) {
+
+        return sampleRateConverters.acquire(new ConverterKey(type, channels, sourceRate, targetRate));
+    }
+
+    /**
+     * @param converter  Converter to release, must not be used by the caller anymore
+     * @param type       Resampling type it was acquired with
+     * @param channels   Number of channels it was acquired with
+     * @param sourceRate Source sample rate it was acquired with
+     * @param targetRate Target sample rate it was acquired with
+     */
+    public void releaseSampleRateConverter(SampleRateConverter converter, SampleRateConverter.ResamplingType type,
+                                           int channels, int sourceRate, int targetRate) {
+
+        sampleRateConverters.release(new ConverterKey(type, channels, sourceRate, targetRate), converter);
+    }
+
+    /**
+     * @param sampleRate Output sample rate
+     * @param channels   Channel count
+     * @return A decoder with the specified parameters and no gain.
+     */
+    public OpusDecoder acquireOpusDecoder(int sampleRate, int channels) {
+        return opusDecoders.acquire(new CodecKey(sampleRate, channels, 0));
+    }
+
+    /**
+     * @param decoder    Decoder to release, must not be used by the caller anymore
+     * @param sampleRate Output sample rate it was acquired with
+     * @param channels   Channel count it was acquired with
+     */
+    public void releaseOpusDecoder(OpusDecoder decoder, int sampleRate, int channels) {
+        opusDecoders.release(new CodecKey(sampleRate, channels, 0), decoder);
+    }
+
+    /**
+     * @param sampleRate Input sample rate
+     * @param channels   Channel count
+     * @param quality    Encoding quality (0-10)
+     * @return An encoder with the specified parameters.
+     */
+    public OpusEncoder acquireOpusEncoder(int sampleRate, int channels, int quality) {
+        return opusEncoders.acquire(new CodecKey(sampleRate, channels, quality));
+    }
+
+    /**
+     * @param encoder    Encoder to release, must not be used by the caller anymore
+     * @param sampleRate Input sample rate it was acquired with
+     * @param channels   Channel count it was acquired with
+     * @param quality    Encoding quality it was acquired with
+     */
+    public void releaseOpusEncoder(OpusEncoder encoder, int sampleRate, int channels, int quality) {
+        opusEncoders.release(new CodecKey(sampleRate, channels, quality), encoder);
+    }
+
+    /**
+     * @return Pool of sample rate converters, for its metrics.
+     */
+    public NativeResourcePool<?, SampleRateConverter> getSampleRateConverters() {
+        return sampleRateConverters;
+    }
+
+    /**
+     * @return Pool of Opus decoders, for its metrics.
+     */
+    public NativeResourcePool<?, OpusDecoder> getOpusDecoders() {
+        return opusDecoders;
+    }
+
+    /**
+     * @return Pool of Opus encoders, for its metrics.
+     */
+    public NativeResourcePool<?, OpusEncoder> getOpusEncoders() {
+        return opusEncoders;
+    }
+
+    /**
+     * Close all idle resources in all pools.
+     */
+    public void clear() {
+        sampleRateConverters.clear();
+        opusDecoders.clear();
+        opusEncoders.clear();
+    }
+
+    private static class ConverterKey {
+        private final SampleRateConverter.ResamplingType type;
+        private final int channels;
+        private final int sourceRate;
+        private final int targetRate;
+
+        private ConverterKey(SampleRateConverter.ResamplingType type, int channels, int sourceRate, int targetRate) {
+            this.type = type;
+            this.channels = channels;
+            this.sourceRate = sourceRate;
+            this.targetRate = targetRate;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+
+            ConverterKey that = (ConverterKey) o;
+            return type == that.type && channels == that.channels && sourceRate == that.sourceRate &&
+                targetRate == that.targetRate;
+        }
+
+        @Override
+        public int hashCode() {
+            int result = type.hashCode();
+            result = 31 * result + channels;
+            result = 31 * result + sourceRate;
+            return 31 * result + targetRate;
+        }
+    }
+
+    private static class CodecKey {
+        private final int sampleRate;
+        private final int channels;
+        private final int quality;
+
+        private CodecKey(int sampleRate, int channels, int quality) {
+            this.sampleRate = sampleRate;
+            this.channels = channels;
+            this.quality = quality;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+
+            CodecKey that = (CodecKey) o;
+            return sampleRate == that.sampleRate && channels == that.channels && quality == that.quality;
+        }
+
+        @Override
+        public int hashCode() {
+            int result = sampleRate;
+            result = 31 * result + channels;
+            return 31 * result + quality;
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.sedmelluq.discord.lavaplayer.natives.opus;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.ShortBuffer;
+import java.util.Arrays;
+
+/**
+ * Encodes frames of multiple encoders with a single native call. Frames are added with
+ * {@link #add(OpusEncoder, ShortBuffer)}, encoded together with {@link #encode()} and then read with
+ * {@link #getOutput(int)}. All encoders must have the same channel count and are used with the same frame size. Not
+ * thread safe, and the encoders in the batch must not be closed before the batch is encoded or cleared.
+ */
+public class OpusBatchEncoder {
+    private final OpusEncoderLibrary library;
+    private final int capacity;
+    private final int frameSize;
+    private final int inputStride;
+    private final int outputStride;
+    private final long[] instances;
+    private final int[] results;
+    private final ShortBuffer inputBuffer;
+    private final ByteBuffer outputBuffer;
+    private int size;
+    private boolean encoded;
+
+    /**
+     * @param capacity          Maximum number of frames in one batch
+     * @param frameSize         Number of samples per channel in one frame
+     * @param channels          Channel count of the encoders
+     * @param maximumOutputSize Maximum size of one encoded frame in bytes
+     */
+    public OpusBatchEncoder(int capacity, int frameSize, int channels, int maximumOutputSize) {
+        this.library = OpusEncoderLibrary.getInstance();
+        this.capacity = capacity;
+        this.frameSize = frameSize;
+        this.inputStride = frameSize * channels;
+        this.outputStride = maximumOutputSize;
+        this.instances = new long[capacity];
+        this.results = new int[capacity];
+        this.inputBuffer = ByteBuffer
+            .allocateDirect(capacity * inputStride * 2)
+            .order(ByteOrder.nativeOrder())
+            .asShortBuffer();
+        this.outputBuffer = ByteBuffer.allocateDirect(capacity * outputStride);
+    }
+
+    /**
+     * @return Whether batch encoding is supported by the connector library, which is loaded if it has not been loaded
+     * yet. When it is not, frames must be encoded separately with {@link OpusEncoder}.
+     */
+    public static boolean isSupported() {
+        return OpusEncoderLibrary.getInstance().supportsBatchEncoding();
+    }
+
+    /**
+     * @param encoder Encoder to encode the frame with
+     * @param input   Samples of one frame, the position of the buffer is not changed
+     * @return Index of the frame in this batch, to use with {@link #getOutput(int)}.
+     */
+    public int add(OpusEncoder encoder, ShortBuffer input) {
+        if (size >= capacity) {
+            throw new IllegalStateException("Batch is already full.");
+        } else if (encoded) {
+            throw new IllegalStateException("Batch has already been encoded, clear it first.");
+        } else if (input.remaining() < inputStride) {
+            throw new IllegalArgumentException("Input contains less than one frame.");
+        }
+
+        long instance = encoder.getNativeInstance();
+        int index = size++;
+        instances[index] = instance;
+
+        ShortBuffer frame = input.duplicate();
+        frame.limit(frame.position() + inputStride);
+
+        inputBuffer.clear();
+        inputBuffer.position(index * inputStride);
+        inputBuffer.put(frame);
+
+        return index;
+    }
+
+    /**
+     * @return Number of frames in this batch.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return True if no more frames can be added to this batch.
+     */
+    public boolean isFull() {
+        return size >= capacity;
+    }
+
+    /**
+     * Encode all frames in this batch. If the batch as a whole fails, the error is reported for each frame by
+     * {@link #getOutput(int)}.
+     */
+    public void encode() {
+        if (size > 0 && !encoded) {
+            int result = library.encodeBatch(instances, size, inputBuffer, frameSize, inputStride, outputBuffer,
+                outputStride, results);
+
+            if (result < 0) {
+                Arrays.fill(results, 0, size, result);
+            }
+        }
+
+        encoded = true;
+    }
+
+    /**
+     * @param index Index of the frame, as returned by {@link #add(OpusEncoder, ShortBuffer)}
+     * @return View of the encoded frame, valid until the batch is cleared.
+     */
+    public ByteBuffer getOutput(int index) {
+        if (!encoded || index >= size) {
+            throw new IllegalStateException("Frame " + index + " has not been encoded.");
+        } else if (results[index] < 0) {
+            throw new IllegalStateException("Encoding failed with error " + results[index]);
+        }
+
+        ByteBuffer output = outputBuffer.duplicate();
+        output.limit(index * outputStride + results[index]);
+        output.position(index * outputStride);
+        return output;
+    }
+
+    /**
+     * Remove all frames from this batch.
+     */
+    public void clear() {
+        Arrays.fill(instances, 0, size, 0);
+        Arrays.fill(results, 0, size, 0);
+
+        size = 0;
+        encoded = false;
+    }
+}
@@ -55,6 +55,57 @@ public class OpusDecoder extends NativeResourceHolder {
         return result;
     }
 
+    /**
+     * @return Whether {@link #setGain(int)} is supported by the loaded native library.
+     */
+    public boolean supportsGain() {
+        return library.supportsGain();
+    }
+
+    /**
+     * @return Whether {@link #setGain(int)} is supported by the connector library, which is loaded if it has not been
+     * loaded yet.
+     */
+    public static boolean isGainSupported() {
+        return OpusDecoderLibrary.getInstance().supportsGain();
+    }
+
+    /**
+     * @return Whether {@link #reset()} is supported by the loaded native library.
+     */
+    public boolean supportsReset() {
+        return library.supportsReset();
+    }
+
+    /**
+     * Set the gain the decoder applies to its output. Applying it in the decoder is free compared to scaling the
+     * samples separately after decoding.
+     *
+     * @param gain Gain in 1/256 dB units, from -32768 to 32767
+     */
+    public void setGain(int gain) {
+        checkNotReleased();
+
+        int result = library.setGain(instance, gain);
+
+        if (result < 0) {
+            throw new IllegalStateException("Setting decoder gain failed with error " + result);
+        }
+    }
+
+    /**
+     * Reset the decoder state, so that the next packet is decoded as if it was the first one. The gain is kept.
+     */
+    public void reset() {
+        checkNotReleased();
+
+        int result = library.reset(instance);
+
+        if (result < 0) {
+            throw new IllegalStateException("Resetting decoder failed with error " + result);
+        }
+    }
+
     @Override
     protected void freeResources() {
         library.destroy(instance);
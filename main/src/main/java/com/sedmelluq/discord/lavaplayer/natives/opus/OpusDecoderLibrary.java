@@ -15,9 +15,38 @@ class OpusDecoderLibrary {
         return new OpusDecoderLibrary();
     }
 
+    boolean supportsGain() {
+        return NativeSupport.GAIN;
+    }
+
+    boolean supportsReset() {
+        return NativeSupport.RESET;
+    }
+
     native long create(int sampleRate, int channels);
 
     native void destroy(long instance);
 
     native int decode(long instance, ByteBuffer directInput, int inputSize, ShortBuffer directOutput, int frameSize);
+
+    native int setGain(long instance, int gain);
+
+    native int reset(long instance);
+
+    private static class NativeSupport {
+        private static final OpusDecoderLibrary library = new OpusDecoderLibrary();
+        private static final boolean GAIN = detect(() -> library.setGain(0, 0));
+        private static final boolean RESET = detect(() -> library.reset(0));
+
+        private static boolean detect(Runnable probe) {
+            try {
+                // Native methods return without doing anything when there is no instance.
+                probe.run();
+                return true;
+            } catch (UnsatisfiedLinkError e) {
+                // Connector library built before this entry point was added.
+                return false;
+            }
+        }
+    }
 }
@@ -54,6 +54,76 @@ public class OpusEncoder extends NativeResourceHolder {
         return result;
     }
 
+    /**
+     * Encode the input buffer into the remaining space of the output buffer, without changing the position or limit of
+     * the output buffer. The output buffer may be direct or backed by an array, so that frames can be encoded straight
+     * into the storage of a frame buffer.
+     *
+     * @param directInput Input sample buffer
+     * @param frameSize   Number of samples per channel
+     * @param output      Output byte buffer, written to starting from its position
+     * @return Number of bytes written to the output
+     */
+    public int encodeInto(ShortBuffer directInput, int frameSize, ByteBuffer output) {
+        checkNotReleased();
+
+        if (!directInput.isDirect()) {
+            throw new IllegalArgumentException("Input must be a direct buffer.");
+        }
+
+        int result;
+
+        if (output.isDirect()) {
+            result = library.encodeAt(instance, directInput, frameSize, output, output.position(), output.remaining());
+        } else if (output.hasArray() && !output.isReadOnly()) {
+            result = library.encodeToArray(instance, directInput, frameSize, output.array(),
+                output.arrayOffset() + output.position(), output.remaining());
+        } else {
+            throw new IllegalArgumentException("Output must be a direct buffer or backed by a writable array.");
+        }
+
+        if (result < 0) {
+            throw new IllegalStateException("Encoding failed with error " + result);
+        }
+
+        return result;
+    }
+
+    /**
+     * @return Whether {@link #encodeInto(ShortBuffer, int, ByteBuffer)} is supported by the loaded native library.
+     */
+    public boolean supportsEncodeInto() {
+        return library.supportsEncodeInto();
+    }
+
+    /**
+     * @return Whether {@link #reset()} is supported by the loaded native library.
+     */
+    public boolean supportsReset() {
+        return library.supportsReset();
+    }
+
+    /**
+     * Reset the encoder state, so that the next frame is encoded as if it was the first one. The quality is kept.
+     */
+    public void reset() {
+        checkNotReleased();
+
+        int result = library.reset(instance);
+
+        if (result < 0) {
+            throw new IllegalStateException("Resetting encoder failed with error " + result);
+        }
+    }
+
+    /**
+     * @return The native encoder instance, for encoding in batches with {@link OpusBatchEncoder}.
+     */
+    long getNativeInstance() {
+        checkNotReleased();
+        return instance;
+    }
+
     @Override
     protected void freeResources() {
         library.destroy(instance);
@@ -17,9 +17,81 @@ class OpusEncoderLibrary {
         return new OpusEncoderLibrary();
     }
 
+    boolean supportsEncodeInto() {
+        return EncodeIntoSupport.SUPPORTED;
+    }
+
+    boolean supportsReset() {
+        return ResetSupport.SUPPORTED;
+    }
+
+    boolean supportsBatchEncoding() {
+        return BatchSupport.SUPPORTED;
+    }
+
     native long create(int sampleRate, int channels, int application, int quality);
 
     native void destroy(long instance);
 
+    native int reset(long instance);
+
     native int encode(long instance, ShortBuffer directInput, int frameSize, ByteBuffer directOutput, int outputCapacity);
+
+    native int encodeAt(long instance, ShortBuffer directInput, int frameSize, ByteBuffer directOutput,
+                        int outputOffset, int outputCapacity);
+
+    native int encodeToArray(long instance, ShortBuffer directInput, int frameSize, byte[] output, int outputOffset,
+                             int outputCapacity);
+
+    native int encodeBatch(long[] instances, int count, ShortBuffer directInput, int frameSize, int inputStride,
+                            ByteBuffer directOutput, int outputStride, int[] results);
+
+    private static class EncodeIntoSupport {
+        private static final boolean SUPPORTED = detect();
+
+        private static boolean detect() {
+            OpusEncoderLibrary library = new OpusEncoderLibrary();
+
+            try {
+                // Native methods return without touching the buffers when there is no instance.
+                library.encodeAt(0, null, 0, null, 0, 0);
+                library.encodeToArray(0, null, 0, null, 0, 0);
+                return true;
+            } catch (UnsatisfiedLinkError e) {
+                // Connector library built before these entry points were added.
+                return false;
+            }
+        }
+    }
+
+    private static class ResetSupport {
+        private static final boolean SUPPORTED = detect();
+
+        private static boolean detect() {
+            try {
+                // Returns without doing anything when there is no instance.
+                new OpusEncoderLibrary().reset(0);
+                return true;
+            } catch (UnsatisfiedLinkError e) {
+                return false;
+            }
+        }
+    }
+
+    private static class BatchSupport {
+        private static final boolean SUPPORTED = detect();
+
+        private static boolean detect() {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(2);
+
+            try {
+                // An empty batch does not encode anything, but the buffers must be valid direct buffers.
+                new OpusEncoderLibrary().encodeBatch(new long[0], 0, buffer.asShortBuffer(), 0, 0, buffer, 0,
+                    new int[0]);
+                return true;
+            } catch (UnsatisfiedLinkError e) {
+                return false;
+            }
+        }
+    }
 }
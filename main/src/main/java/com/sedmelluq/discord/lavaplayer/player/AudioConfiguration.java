@@ -2,6 +2,12 @@ package com.sedmelluq.discord.lavaplayer.player;
 
 import com.sedmelluq.discord.lavaplayer.format.AudioDataFormat;
 import com.sedmelluq.discord.lavaplayer.format.StandardAudioDataFormats;
+import com.sedmelluq.discord.lavaplayer.format.transcoder.OpusBatchEncodingGroup;
+import com.sedmelluq.discord.lavaplayer.natives.NativeResourcePools;
+import com.sedmelluq.discord.lavaplayer.tools.io.ChunkedHttpStream;
+import com.sedmelluq.discord.lavaplayer.tools.io.PrefetchingSeekableInputStream;
+import com.sedmelluq.discord.lavaplayer.tools.io.SegmentCache;
+import com.sedmelluq.discord.lavaplayer.track.playback.AdaptiveBufferPolicy;
 import com.sedmelluq.discord.lavaplayer.track.playback.AllocatingAudioFrameBuffer;
 import com.sedmelluq.discord.lavaplayer.track.playback.AudioFrameBufferFactory;
 
@@ -10,22 +16,43 @@ import com.sedmelluq.discord.lavaplayer.track.playback.AudioFrameBufferFactory;
  */
 public class AudioConfiguration {
     public static final int OPUS_QUALITY_MAX = 10;
+    public static final int OPUS_GAIN_QUALITY_DEFAULT = 3;
 
     private volatile ResamplingQuality resamplingQuality;
+    private volatile ResamplingImplementation resamplingImplementation;
     private volatile int opusEncodingQuality;
+    private volatile boolean opusGainVolumeEnabled;
+    private volatile int opusGainEncodingQuality;
     private volatile AudioDataFormat outputFormat;
     private volatile boolean filterHotSwapEnabled;
     private volatile AudioFrameBufferFactory frameBufferFactory;
+    private volatile OpusBatchEncodingGroup opusBatchEncodingGroup;
+    private volatile NativeResourcePools nativeResourcePools;
+    private volatile AdaptiveBufferPolicy adaptiveBufferPolicy;
+    private volatile int readAheadBufferSize;
+    private volatile int chunkedDownloadSize;
+    private volatile int chunkedDownloadParallelism;
+    private volatile SegmentCache segmentCache;
 
     /**
      * Create a new configuration with default values.
      */
     public AudioConfiguration() {
         resamplingQuality = ResamplingQuality.LOW;
+        resamplingImplementation = ResamplingImplementation.NATIVE;
         opusEncodingQuality = OPUS_QUALITY_MAX;
+        opusGainVolumeEnabled = false;
+        opusGainEncodingQuality = OPUS_GAIN_QUALITY_DEFAULT;
         outputFormat = StandardAudioDataFormats.DISCORD_OPUS;
         filterHotSwapEnabled = false;
         frameBufferFactory = AllocatingAudioFrameBuffer::new;
+        opusBatchEncodingGroup = null;
+        nativeResourcePools = new NativeResourcePools(0, 0);
+        adaptiveBufferPolicy = null;
+        readAheadBufferSize = 0;
+        chunkedDownloadSize = 0;
+        chunkedDownloadParallelism = 3;
+        segmentCache = null;
     }
 
     public ResamplingQuality getResamplingQuality() {
@@ -36,6 +63,18 @@ public class AudioConfiguration {
         this.resamplingQuality = resamplingQuality;
     }
 
+    public ResamplingImplementation getResamplingImplementation() {
+        return resamplingImplementation;
+    }
+
+    /**
+     * @param resamplingImplementation Resampler to use for the pipelines, both use the quality level from
+     *                                 {@link #getResamplingQuality()}.
+     */
+    public void setResamplingImplementation(ResamplingImplementation resamplingImplementation) {
+        this.resamplingImplementation = resamplingImplementation;
+    }
+
     public int getOpusEncodingQuality() {
         return opusEncodingQuality;
     }
@@ -44,6 +83,27 @@ public class AudioConfiguration {
         this.opusEncodingQuality = Math.max(0, Math.min(opusEncodingQuality, OPUS_QUALITY_MAX));
     }
 
+    public boolean isOpusGainVolumeEnabled() {
+        return opusGainVolumeEnabled;
+    }
+
+    /**
+     * @param opusGainVolumeEnabled When enabled, volume changes on Opus output with no other filters active are applied
+     *                              as decoder gain and re-encoded with {@link #getOpusGainEncodingQuality()}, which is
+     *                              much cheaper than the full pipeline at the cost of some quality.
+     */
+    public void setOpusGainVolumeEnabled(boolean opusGainVolumeEnabled) {
+        this.opusGainVolumeEnabled = opusGainVolumeEnabled;
+    }
+
+    public int getOpusGainEncodingQuality() {
+        return opusGainEncodingQuality;
+    }
+
+    public void setOpusGainEncodingQuality(int opusGainEncodingQuality) {
+        this.opusGainEncodingQuality = Math.max(0, Math.min(opusGainEncodingQuality, OPUS_QUALITY_MAX));
+    }
+
     public AudioDataFormat getOutputFormat() {
         return outputFormat;
     }
@@ -68,16 +128,114 @@ public class AudioConfiguration {
         this.frameBufferFactory = frameBufferFactory;
     }
 
+    public OpusBatchEncodingGroup getOpusBatchEncodingGroup() {
+        return opusBatchEncodingGroup;
+    }
+
+    /**
+     * @param opusBatchEncodingGroup Group to encode the output of all pipelines in when its format matches the output
+     *                               format, null to encode each frame separately.
+     */
+    public void setOpusBatchEncodingGroup(OpusBatchEncodingGroup opusBatchEncodingGroup) {
+        this.opusBatchEncodingGroup = opusBatchEncodingGroup;
+    }
+
+    public NativeResourcePools getNativeResourcePools() {
+        return nativeResourcePools;
+    }
+
+    /**
+     * @param nativeResourcePools Pools to take the native converters, decoders and encoders of pipelines from. The
+     *                            default pools keep no idle resources, so they are created and destroyed for each
+     *                            track.
+     */
+    public void setNativeResourcePools(NativeResourcePools nativeResourcePools) {
+        this.nativeResourcePools = nativeResourcePools;
+    }
+
+    public AdaptiveBufferPolicy getAdaptiveBufferPolicy() {
+        return adaptiveBufferPolicy;
+    }
+
+    /**
+     * @param adaptiveBufferPolicy Policy to adapt how much of the frame buffer duration tracks fill by the reliability of
+     *                             their source, null to always fill the whole frame buffer.
+     */
+    public void setAdaptiveBufferPolicy(AdaptiveBufferPolicy adaptiveBufferPolicy) {
+        this.adaptiveBufferPolicy = adaptiveBufferPolicy;
+    }
+
+    public int getReadAheadBufferSize() {
+        return readAheadBufferSize;
+    }
+
+    /**
+     * @param readAheadBufferSize Size in bytes of the buffer which remote media streams are read ahead into on a
+     *                            background thread, see {@link PrefetchingSeekableInputStream}. Zero to read them
+     *                            directly on the playback thread.
+     */
+    public void setReadAheadBufferSize(int readAheadBufferSize) {
+        this.readAheadBufferSize = Math.max(0, readAheadBufferSize);
+    }
+
+    public int getChunkedDownloadSize() {
+        return chunkedDownloadSize;
+    }
+
+    /**
+     * @param chunkedDownloadSize Size in bytes of the ranges which static remote tracks of known length are downloaded
+     *                            in, see {@link ChunkedHttpStream}. Values between 512 KB and 2 MB work well. Zero to
+     *                            download them over a single connection instead.
+     */
+    public void setChunkedDownloadSize(int chunkedDownloadSize) {
+        this.chunkedDownloadSize = chunkedDownloadSize > 0 ?
+            Math.max(ChunkedHttpStream.MINIMUM_CHUNK_SIZE, chunkedDownloadSize) : 0;
+    }
+
+    public int getChunkedDownloadParallelism() {
+        return chunkedDownloadParallelism;
+    }
+
+    /**
+     * @param chunkedDownloadParallelism Maximum number of ranges of one track downloaded at the same time when chunked
+     *                                   download is enabled.
+     */
+    public void setChunkedDownloadParallelism(int chunkedDownloadParallelism) {
+        this.chunkedDownloadParallelism = Math.max(1, chunkedDownloadParallelism);
+    }
+
+    public SegmentCache getSegmentCache() {
+        return segmentCache;
+    }
+
+    /**
+     * @param segmentCache Disk cache to read remote tracks of known length through, null to always read them from their
+     *                     origin.
+     */
+    public void setSegmentCache(SegmentCache segmentCache) {
+        this.segmentCache = segmentCache;
+    }
+
     /**
      * @return A copy of this configuration.
      */
     public AudioConfiguration copy() {
         AudioConfiguration copy = new AudioConfiguration();
         copy.setResamplingQuality(resamplingQuality);
+        copy.setResamplingImplementation(resamplingImplementation);
         copy.setOpusEncodingQuality(opusEncodingQuality);
+        copy.setOpusGainVolumeEnabled(opusGainVolumeEnabled);
+        copy.setOpusGainEncodingQuality(opusGainEncodingQuality);
         copy.setOutputFormat(outputFormat);
         copy.setFilterHotSwapEnabled(filterHotSwapEnabled);
         copy.setFrameBufferFactory(frameBufferFactory);
+        copy.setOpusBatchEncodingGroup(opusBatchEncodingGroup);
+        copy.setNativeResourcePools(nativeResourcePools);
+        copy.setAdaptiveBufferPolicy(adaptiveBufferPolicy);
+        copy.setReadAheadBufferSize(readAheadBufferSize);
+        copy.setChunkedDownloadSize(chunkedDownloadSize);
+        copy.setChunkedDownloadParallelism(chunkedDownloadParallelism);
+        copy.setSegmentCache(segmentCache);
         return copy;
     }
 
@@ -89,4 +247,19 @@ public class AudioConfiguration {
         MEDIUM,
         LOW
     }
+
+    /**
+     * Resampler implementations
+     */
+    public enum ResamplingImplementation {
+        /**
+         * libsamplerate through the natives library.
+         */
+        NATIVE,
+        /**
+         * Polyphase windowed sinc resampler implemented in Java, with filter banks shared by all pipelines which convert
+         * between the same sample rates. Falls back to the native one for rate pairs which would need too many phases.
+         */
+        JAVA
+    }
 }
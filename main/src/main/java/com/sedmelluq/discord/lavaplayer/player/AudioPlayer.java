@@ -3,7 +3,14 @@ package com.sedmelluq.discord.lavaplayer.player;
 import com.sedmelluq.discord.lavaplayer.filter.PcmFilterFactory;
 import com.sedmelluq.discord.lavaplayer.player.event.AudioEventListener;
 import com.sedmelluq.discord.lavaplayer.track.AudioTrack;
+import com.sedmelluq.discord.lavaplayer.tools.ExceptionTools;
 import com.sedmelluq.discord.lavaplayer.track.playback.AudioFrameProvider;
+import com.sedmelluq.discord.lavaplayer.track.playback.AudioFrameProviderTools;
+import com.sedmelluq.discord.lavaplayer.track.playback.MutableAudioFrame;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
  * An audio player that is capable of playing audio tracks and provides audio frames from the currently playing track.
@@ -39,6 +46,41 @@ public interface AudioPlayer extends AudioFrameProvider {
 
     void setFrameBufferDuration(Integer duration);
 
+    /**
+     * Provide the data of the next frame straight into a buffer owned by the caller, for example a (direct) packet buffer
+     * with room for the packet header in front of the frame data. Saves copying the data out of a separate frame
+     * instance. The position and limit of the buffer are not changed.
+     *
+     * @param target Buffer to write the frame data to
+     * @param offset Offset in the buffer to write the frame data at
+     * @return Length of the frame data written, -1 if no frame was available.
+     */
+    default int provide(ByteBuffer target, int offset) {
+        try {
+            return provide(target, offset, 0, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException | InterruptedException e) {
+            ExceptionTools.keepInterrupted(e);
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Same as {@link #provide(ByteBuffer, int)}, but waits for a frame for up to the specified time.
+     *
+     * @param target  Buffer to write the frame data to
+     * @param offset  Offset in the buffer to write the frame data at
+     * @param timeout Timeout, 0 for non-blocking mode
+     * @param unit    Time unit for the timeout value
+     * @return Length of the frame data written, -1 if no frame was available.
+     * @throws TimeoutException     If no frame became available within the timeout.
+     * @throws InterruptedException When interrupted externally (or for seek/stop).
+     */
+    default int provide(ByteBuffer target, int offset, long timeout, TimeUnit unit)
+        throws TimeoutException, InterruptedException {
+
+        return AudioFrameProviderTools.provideInto(this, new MutableAudioFrame(), target, offset, timeout, unit);
+    }
+
     /**
      * @return Whether the player is paused
      */
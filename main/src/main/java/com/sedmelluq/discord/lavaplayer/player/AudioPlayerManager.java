@@ -7,6 +7,7 @@ import com.sedmelluq.discord.lavaplayer.track.AudioItem;
 import com.sedmelluq.discord.lavaplayer.track.AudioReference;
 import com.sedmelluq.discord.lavaplayer.track.AudioTrack;
 import com.sedmelluq.discord.lavaplayer.track.DecodedTrackHolder;
+import com.sedmelluq.discord.lavaplayer.track.playback.MutableAudioFrame;
 import org.apache.http.client.config.RequestConfig;
 import org.apache.http.impl.client.HttpClientBuilder;
 import org.jetbrains.annotations.Nullable;
@@ -243,6 +244,31 @@ public interface AudioPlayerManager {
      */
     AudioPlayer createPlayer();
 
+    /**
+     * Provide the next frame of each of the players in one pass, for a send loop which serves many players on every
+     * tick. Equivalent to calling {@link AudioPlayer#provide(MutableAudioFrame)} on each player, but implementations can
+     * share the per-call work between the players of the batch.
+     *
+     * @param players  Players to provide frames from
+     * @param frames   Frames to store the provided frames in, the frame at each index belongs to the player at the same
+     *                 index
+     * @param provided Array to store whether the player at each index provided a frame in, reused between calls
+     * @return Number of players which provided a frame.
+     */
+    default int provide(List<? extends AudioPlayer> players, MutableAudioFrame[] frames, boolean[] provided) {
+        int count = 0;
+
+        for (int i = 0; i < players.size(); i++) {
+            provided[i] = players.get(i).provide(frames[i]);
+
+            if (provided[i]) {
+                count++;
+            }
+        }
+
+        return count;
+    }
+
     /**
      * @param configurator Function used to reconfigure the request config of all sources which perform HTTP requests.
      *                     Applied to all current and future registered sources. Setting this while sources are already in
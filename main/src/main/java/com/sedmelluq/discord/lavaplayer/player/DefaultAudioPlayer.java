@@ -12,6 +12,7 @@ import com.sedmelluq.discord.lavaplayer.track.playback.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
@@ -37,6 +38,7 @@ public class DefaultAudioPlayer implements AudioPlayer, TrackStateListener {
     private final List<AudioEventListener> listeners;
     private final Object trackSwitchLock;
     private final AudioPlayerOptions options;
+    private final MutableAudioFrame directFrame;
 
     /**
      * @param manager Audio player manager which this player is attached to
@@ -48,6 +50,7 @@ public class DefaultAudioPlayer implements AudioPlayer, TrackStateListener {
         listeners = new ArrayList<>();
         trackSwitchLock = new Object();
         options = new AudioPlayerOptions();
+        directFrame = new MutableAudioFrame();
     }
 
     /**
@@ -208,17 +211,62 @@ public class DefaultAudioPlayer implements AudioPlayer, TrackStateListener {
     public boolean provide(MutableAudioFrame targetFrame, long timeout, TimeUnit unit)
         throws TimeoutException, InterruptedException {
 
+        if (timeout == 0) {
+            return provideWithoutWaiting(targetFrame, System.currentTimeMillis(), System.nanoTime(),
+                manager.getTrackStuckThresholdNanos());
+        }
+
         InternalAudioTrack track;
 
         lastRequestTime = System.currentTimeMillis();
 
-        if (timeout == 0 && paused.get()) {
+        while ((track = activeTrack) != null) {
+            if (track.provide(targetFrame, timeout, unit)) {
+                lastReceiveTime = System.nanoTime();
+                shadowTrack = null;
+
+                if (targetFrame.isTerminator()) {
+                    handleTerminator(track);
+                    continue;
+                }
+
+                return true;
+            }
+
+            return false;
+        }
+
+        return false;
+    }
+
+    /**
+     * Non-blocking provide for {@link DefaultAudioPlayerManager#provide(List, MutableAudioFrame[], boolean[])}, which
+     * reads the clocks and the stuck threshold once for all players of a batch.
+     *
+     * @param targetFrame    Frame to update with the details and data of the provided frame.
+     * @param requestTime    Current time in milliseconds
+     * @param receiveTime    Current value of {@link System#nanoTime()}
+     * @param stuckThreshold Threshold in nanoseconds for considering the track stuck
+     * @return <code>true</code> if a frame was provided.
+     */
+    boolean provideInBatch(MutableAudioFrame targetFrame, long requestTime, long receiveTime, long stuckThreshold) {
+        return provideWithoutWaiting(targetFrame, requestTime, receiveTime, stuckThreshold);
+    }
+
+    private boolean provideWithoutWaiting(MutableAudioFrame targetFrame, long requestTime, long receiveTime,
+                                          long stuckThreshold) {
+
+        InternalAudioTrack track;
+
+        lastRequestTime = requestTime;
+
+        if (paused.get()) {
             return false;
         }
 
         while ((track = activeTrack) != null) {
-            if (timeout > 0 ? track.provide(targetFrame, timeout, unit) : track.provide(targetFrame)) {
-                lastReceiveTime = System.nanoTime();
+            if (track.provide(targetFrame)) {
+                lastReceiveTime = receiveTime;
                 shadowTrack = null;
 
                 if (targetFrame.isTerminator()) {
@@ -227,17 +275,30 @@ public class DefaultAudioPlayer implements AudioPlayer, TrackStateListener {
                 }
 
                 return true;
-            } else if (timeout == 0) {
-                checkStuck(track);
-                return provideShadowFrame(targetFrame);
-            } else {
-                return false;
             }
+
+            checkStuck(track, receiveTime, stuckThreshold);
+            return provideShadowFrame(targetFrame);
         }
 
         return false;
     }
 
+    DefaultAudioPlayerManager getManager() {
+        return manager;
+    }
+
+    /**
+     * Reuses one frame instance for the frame details, so like the other provide methods, this should only be called
+     * from one thread at a time.
+     */
+    @Override
+    public int provide(ByteBuffer target, int offset, long timeout, TimeUnit unit)
+        throws TimeoutException, InterruptedException {
+
+        return AudioFrameProviderTools.provideInto(this, directFrame, target, offset, timeout, unit);
+    }
+
     private void handleTerminator(InternalAudioTrack track) {
         synchronized (trackSwitchLock) {
             if (activeTrack == track) {
@@ -252,11 +313,15 @@ public class DefaultAudioPlayer implements AudioPlayer, TrackStateListener {
     }
 
     private void checkStuck(AudioTrack track) {
-        if (!stuckEventSent && System.nanoTime() - lastReceiveTime > manager.getTrackStuckThresholdNanos()) {
+        checkStuck(track, System.nanoTime(), manager.getTrackStuckThresholdNanos());
+    }
+
+    private void checkStuck(AudioTrack track, long currentTime, long stuckThreshold) {
+        if (!stuckEventSent && currentTime - lastReceiveTime > stuckThreshold) {
             stuckEventSent = true;
 
             StackTraceElement[] stackTrace = getStackTrace(track);
-            long threshold = TimeUnit.NANOSECONDS.toMillis(manager.getTrackStuckThresholdNanos());
+            long threshold = TimeUnit.NANOSECONDS.toMillis(stuckThreshold);
 
             dispatchEvent(new TrackStuckEvent(this, track, threshold, stackTrace));
         }
@@ -8,9 +8,12 @@ import com.sedmelluq.discord.lavaplayer.tools.io.MessageInput;
 import com.sedmelluq.discord.lavaplayer.tools.io.MessageOutput;
 import com.sedmelluq.discord.lavaplayer.track.*;
 import com.sedmelluq.discord.lavaplayer.track.playback.AudioTrackExecutor;
+import com.sedmelluq.discord.lavaplayer.track.playback.DecodeScheduler;
 import com.sedmelluq.discord.lavaplayer.track.playback.LocalAudioTrackExecutor;
+import com.sedmelluq.discord.lavaplayer.track.playback.MutableAudioFrame;
 import com.sedmelluq.lava.common.tools.DaemonThreadFactory;
 import com.sedmelluq.lava.common.tools.ExecutorTools;
+import com.sedmelluq.lava.common.tools.VirtualThreadTools;
 import org.apache.http.client.config.RequestConfig;
 import org.apache.http.impl.client.HttpClientBuilder;
 import org.jetbrains.annotations.Nullable;
@@ -51,6 +54,7 @@ public class DefaultAudioPlayerManager implements AudioPlayerManager {
     private volatile Consumer<HttpClientBuilder> httpBuilderConfigurator;
 
     // Executors
+    private final PlaybackThreadMode playbackThreadMode;
     private final ExecutorService trackPlaybackExecutorService;
     private final ThreadPoolExecutor trackInfoExecutorService;
     private final ScheduledExecutorService scheduledExecutorService;
@@ -62,6 +66,7 @@ public class DefaultAudioPlayerManager implements AudioPlayerManager {
     private final AtomicLong cleanupThreshold;
     private volatile int frameBufferDuration;
     private volatile boolean useSeekGhosting;
+    private volatile DecodeScheduler decodeScheduler;
 
     // Additional services
     private final GarbageCollectionMonitor garbageCollectionMonitor;
@@ -72,11 +77,36 @@ public class DefaultAudioPlayerManager implements AudioPlayerManager {
      * Create a new instance
      */
     public DefaultAudioPlayerManager() {
+        this(PlaybackThreadMode.PLATFORM);
+    }
+
+    /**
+     * Create a new instance
+     *
+     * @param playbackThreadMode Type of threads to execute playing tracks on
+     */
+    public DefaultAudioPlayerManager(PlaybackThreadMode playbackThreadMode) {
         sourceManagers = new ArrayList<>();
 
         // Executors
-        trackPlaybackExecutorService = new ThreadPoolExecutor(1, Integer.MAX_VALUE, 10, TimeUnit.SECONDS,
-            new SynchronousQueue<>(), new DaemonThreadFactory("playback"));
+        ExecutorService virtualExecutor = playbackThreadMode != PlaybackThreadMode.PLATFORM ?
+            VirtualThreadTools.createThreadPerTaskExecutor("playback") : null;
+
+        if (virtualExecutor != null) {
+            this.playbackThreadMode = playbackThreadMode;
+            trackPlaybackExecutorService = virtualExecutor;
+        } else {
+            if (playbackThreadMode != PlaybackThreadMode.PLATFORM) {
+                log.warn("Virtual threads are not supported by this runtime, using platform threads for playback. " +
+                    "Each playing track occupies a thread of its own.");
+            }
+
+            this.playbackThreadMode = playbackThreadMode == PlaybackThreadMode.COOPERATIVE ?
+                PlaybackThreadMode.COOPERATIVE : PlaybackThreadMode.PLATFORM;
+            trackPlaybackExecutorService = new ThreadPoolExecutor(1, Integer.MAX_VALUE, 10, TimeUnit.SECONDS,
+                new SynchronousQueue<>(), new DaemonThreadFactory("playback"));
+        }
+
         trackInfoExecutorService = ExecutorTools.createEagerlyScalingExecutor(1, DEFAULT_LOADER_POOL_SIZE,
             TimeUnit.SECONDS.toMillis(30), LOADER_QUEUE_CAPACITY, new DaemonThreadFactory("info-loader"));
         scheduledExecutorService = Executors.newScheduledThreadPool(1, new DaemonThreadFactory("manager"));
@@ -88,6 +118,7 @@ public class DefaultAudioPlayerManager implements AudioPlayerManager {
         cleanupThreshold = new AtomicLong(DEFAULT_CLEANUP_THRESHOLD);
         frameBufferDuration = DEFAULT_FRAME_BUFFER_DURATION;
         useSeekGhosting = true;
+        decodeScheduler = playbackThreadMode == PlaybackThreadMode.COOPERATIVE ? new DecodeScheduler() : null;
 
         // Additional services
         garbageCollectionMonitor = new GarbageCollectionMonitor(scheduledExecutorService);
@@ -347,7 +378,8 @@ public class DefaultAudioPlayerManager implements AudioPlayerManager {
             return customExecutor;
         } else {
             int bufferDuration = Optional.ofNullable(playerOptions.frameBufferDuration.get()).orElse(frameBufferDuration);
-            return new LocalAudioTrackExecutor(track, configuration, playerOptions, useSeekGhosting, bufferDuration);
+            return new LocalAudioTrackExecutor(track, configuration, playerOptions, useSeekGhosting, bufferDuration,
+                decodeScheduler);
 
         }
     }
@@ -377,6 +409,22 @@ public class DefaultAudioPlayerManager implements AudioPlayerManager {
         this.frameBufferDuration = Math.max(200, frameBufferDuration);
     }
 
+    /**
+     * @return The scheduler which paces the decoding of tracks, null if tracks decode whenever their buffer has space.
+     */
+    public DecodeScheduler getDecodeScheduler() {
+        return decodeScheduler;
+    }
+
+    /**
+     * @param decodeScheduler The scheduler to pace the decoding of tracks started after this call with, null to decode
+     *                        whenever the frame buffer has space. Set by default in
+     *                        {@link PlaybackThreadMode#COOPERATIVE} mode.
+     */
+    public void setDecodeScheduler(DecodeScheduler decodeScheduler) {
+        this.decodeScheduler = decodeScheduler;
+    }
+
     @Override
     public void setTrackStuckThreshold(long trackStuckThreshold) {
         this.trackStuckThreshold = TimeUnit.MILLISECONDS.toNanos(trackStuckThreshold);
@@ -454,6 +502,14 @@ public class DefaultAudioPlayerManager implements AudioPlayerManager {
         return null;
     }
 
+    /**
+     * @return The mode that playing tracks are executed in. May differ from the requested mode if virtual threads are
+     * not supported by the runtime.
+     */
+    public PlaybackThreadMode getPlaybackThreadMode() {
+        return playbackThreadMode;
+    }
+
     public ExecutorService getExecutor() {
         return trackPlaybackExecutorService;
     }
@@ -470,6 +526,40 @@ public class DefaultAudioPlayerManager implements AudioPlayerManager {
         return new DefaultAudioPlayer(this);
     }
 
+    /**
+     * Reads the clocks and the stuck threshold once for the whole batch instead of once per player. A player which
+     * throws is logged and counted as not having provided a frame, so it does not hold back the rest of the batch.
+     */
+    @Override
+    public int provide(List<? extends AudioPlayer> players, MutableAudioFrame[] frames, boolean[] provided) {
+        long requestTime = System.currentTimeMillis();
+        long receiveTime = System.nanoTime();
+        long stuckThreshold = trackStuckThreshold;
+        int count = 0;
+
+        for (int i = 0; i < players.size(); i++) {
+            AudioPlayer player = players.get(i);
+
+            try {
+                if (player instanceof DefaultAudioPlayer && ((DefaultAudioPlayer) player).getManager() == this) {
+                    provided[i] = ((DefaultAudioPlayer) player).provideInBatch(frames[i], requestTime, receiveTime,
+                        stuckThreshold);
+                } else {
+                    provided[i] = player.provide(frames[i]);
+                }
+            } catch (RuntimeException e) {
+                log.error("Failed to provide a frame from a player in a batch.", e);
+                provided[i] = false;
+            }
+
+            if (provided[i]) {
+                count++;
+            }
+        }
+
+        return count;
+    }
+
     @Override
     public void setHttpRequestConfigurator(Function<RequestConfig, RequestConfig> configurator) {
         this.httpConfigurator = configurator;
@@ -0,0 +1,25 @@
+package com.sedmelluq.discord.lavaplayer.player;
+
+/**
+ * Type of threads which are used for executing playing tracks.
+ */
+public enum PlaybackThreadMode {
+    /**
+     * Each playing track runs on a platform thread from an unbounded thread pool.
+     */
+    PLATFORM,
+    /**
+     * Each playing track runs on its own virtual thread. Requires JDK 21 or newer, falls back to {@link #PLATFORM} on
+     * runtimes which do not support virtual threads.
+     */
+    VIRTUAL,
+    /**
+     * Same as {@link #VIRTUAL}, but tracks also decode cooperatively according to a
+     * {@link com.sedmelluq.discord.lavaplayer.track.playback.DecodeScheduler}: in bursts while the frame buffer is
+     * below the refill watermark, yielding regularly to other tracks. On runtimes which do not support virtual threads,
+     * the same pacing is applied on platform threads. There each playing track still occupies a platform thread of its
+     * own, as in {@link #PLATFORM}, so this mode does not reduce the number of threads on JDK versions older than 21.
+     * It only shortens the time that those threads spend decoding at once.
+     */
+    COOPERATIVE
+}
@@ -1,18 +1,32 @@
 package com.sedmelluq.discord.lavaplayer.source.http;
 
 import com.sedmelluq.discord.lavaplayer.container.MediaContainerDescriptor;
+import com.sedmelluq.discord.lavaplayer.player.AudioConfiguration;
 import com.sedmelluq.discord.lavaplayer.source.AudioSourceManager;
 import com.sedmelluq.discord.lavaplayer.tools.Units;
+import com.sedmelluq.discord.lavaplayer.tools.io.ChunkedHttpStream;
+import com.sedmelluq.discord.lavaplayer.tools.io.HttpClientTools;
 import com.sedmelluq.discord.lavaplayer.tools.io.HttpInterface;
 import com.sedmelluq.discord.lavaplayer.tools.io.PersistentHttpStream;
+import com.sedmelluq.discord.lavaplayer.tools.io.PrefetchingSeekableInputStream;
+import com.sedmelluq.discord.lavaplayer.tools.io.SeekableInputStream;
+import com.sedmelluq.discord.lavaplayer.tools.io.SegmentCache;
 import com.sedmelluq.discord.lavaplayer.track.AudioTrack;
 import com.sedmelluq.discord.lavaplayer.track.AudioTrackInfo;
 import com.sedmelluq.discord.lavaplayer.track.DelegatedAudioTrack;
 import com.sedmelluq.discord.lavaplayer.track.InternalAudioTrack;
 import com.sedmelluq.discord.lavaplayer.track.playback.LocalAudioTrackExecutor;
+import org.apache.http.Header;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpStatus;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpGet;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.DataInputStream;
+import java.io.IOException;
 import java.net.URI;
 
 /**
@@ -50,12 +64,121 @@ public class HttpAudioTrack extends DelegatedAudioTrack {
         try (HttpInterface httpInterface = sourceManager.getHttpInterface()) {
             log.debug("Starting http track from URL: {}", trackInfo.identifier);
 
-            try (PersistentHttpStream inputStream = new PersistentHttpStream(httpInterface, new URI(trackInfo.identifier), Units.CONTENT_LENGTH_UNKNOWN)) {
+            try (SeekableInputStream inputStream = createStream(localExecutor, httpInterface)) {
                 processDelegate((InternalAudioTrack) containerTrackFactory.createTrack(trackInfo, inputStream), localExecutor);
             }
         }
     }
 
+    private SeekableInputStream createStream(LocalAudioTrackExecutor localExecutor, HttpInterface httpInterface)
+        throws Exception {
+
+        AudioConfiguration configuration = localExecutor.getProcessingContext().configuration;
+        URI contentUrl = new URI(trackInfo.identifier);
+
+        if (configuration.getChunkedDownloadSize() > 0) {
+            SeekableInputStream chunkedStream = createChunkedStream(configuration, httpInterface, contentUrl);
+
+            if (chunkedStream != null) {
+                return chunkedStream;
+            }
+        }
+
+        PersistentHttpStream httpStream = new PersistentHttpStream(httpInterface, contentUrl,
+            Units.CONTENT_LENGTH_UNKNOWN);
+
+        if (configuration.getSegmentCache() == null) {
+            return PrefetchingSeekableInputStream.wrap(httpStream, configuration.getReadAheadBufferSize());
+        }
+
+        try {
+            if (!HttpClientTools.isSuccessWithContent(httpStream.checkStatusCode())) {
+                // Reading the stream reconnects and reports the error as it would without this check.
+                httpStream.close();
+                return PrefetchingSeekableInputStream.wrap(httpStream, configuration.getReadAheadBufferSize());
+            }
+
+            return PrefetchingSeekableInputStream.wrap(
+                SegmentCache.wrap(configuration.getSegmentCache(), getCacheKey(httpStream.getCurrentResponse()),
+                    httpStream),
+                configuration.getReadAheadBufferSize()
+            );
+        } catch (Exception e) {
+            httpStream.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Requests the first chunk of the resource, which shows whether the server supports ranges and the length of the
+     * resource, and is then used as the first chunk of the stream, so that finding these out costs no extra request.
+     *
+     * @return Chunked stream for the resource, null if the server did not respond with the requested range.
+     */
+    private SeekableInputStream createChunkedStream(AudioConfiguration configuration, HttpInterface httpInterface,
+                                                    URI contentUrl) throws IOException {
+
+        int chunkSize = configuration.getChunkedDownloadSize();
+        HttpGet request = new HttpGet(contentUrl);
+        request.setHeader(HttpHeaders.RANGE, "bytes=0-" + (chunkSize - 1));
+
+        try (CloseableHttpResponse response = httpInterface.execute(request)) {
+            long contentLength = getPartialContentLength(response, chunkSize);
+
+            if (contentLength == Units.CONTENT_LENGTH_UNKNOWN) {
+                // Without range support, the regular stream reads the resource or reports the error of the response.
+                return null;
+            }
+
+            byte[] firstChunk = new byte[(int) Math.min(chunkSize, contentLength)];
+            new DataInputStream(response.getEntity().getContent()).readFully(firstChunk);
+
+            log.debug("Downloading http track {} in chunks, length {}.", trackInfo.identifier, contentLength);
+
+            ChunkedHttpStream stream = new ChunkedHttpStream(sourceManager::getHttpInterface, contentUrl,
+                contentLength, chunkSize, configuration.getChunkedDownloadParallelism());
+            stream.setInitialData(firstChunk);
+
+            // Chunks already download ahead of the reader, so reading ahead on top of that would only add a copy.
+            return SegmentCache.wrap(configuration.getSegmentCache(), getCacheKey(response), stream);
+        }
+    }
+
+    private static long getPartialContentLength(HttpResponse response, int chunkSize) {
+        Header contentRange = response.getFirstHeader(HttpHeaders.CONTENT_RANGE);
+
+        if (response.getStatusLine().getStatusCode() != HttpStatus.SC_PARTIAL_CONTENT || contentRange == null ||
+            !contentRange.getValue().startsWith("bytes 0-")) {
+
+            return Units.CONTENT_LENGTH_UNKNOWN;
+        }
+
+        String value = contentRange.getValue();
+        int separator = value.indexOf('/');
+
+        try {
+            long end = Long.parseLong(value.substring("bytes 0-".length(), separator));
+            long length = Long.parseLong(value.substring(separator + 1));
+
+            // A server may shorten the range, which the chunks of the stream do not account for.
+            return end == Math.min(chunkSize, length) - 1 ? length : Units.CONTENT_LENGTH_UNKNOWN;
+        } catch (NumberFormatException | IndexOutOfBoundsException e) {
+            // Includes an unknown length, which is given as an asterisk.
+            return Units.CONTENT_LENGTH_UNKNOWN;
+        }
+    }
+
+    private String getCacheKey(HttpResponse response) {
+        Header validator = response.getFirstHeader(HttpHeaders.ETAG);
+
+        if (validator == null) {
+            validator = response.getFirstHeader(HttpHeaders.LAST_MODIFIED);
+        }
+
+        // Without a validator there is no way to tell whether the content behind the URL has changed.
+        return validator != null ? "http:" + trackInfo.identifier + ":" + validator.getValue() : null;
+    }
+
     @Override
     protected AudioTrack makeShallowClone() {
         return new HttpAudioTrack(trackInfo, containerTrackFactory, sourceManager);
@@ -4,6 +4,7 @@ import com.sedmelluq.discord.lavaplayer.container.*;
 import com.sedmelluq.discord.lavaplayer.player.AudioPlayerManager;
 import com.sedmelluq.discord.lavaplayer.source.ProbingAudioSourceManager;
 import com.sedmelluq.discord.lavaplayer.tools.FriendlyException;
+import com.sedmelluq.discord.lavaplayer.tools.io.SeekableInputStream;
 import com.sedmelluq.discord.lavaplayer.track.AudioItem;
 import com.sedmelluq.discord.lavaplayer.track.AudioReference;
 import com.sedmelluq.discord.lavaplayer.track.AudioTrack;
@@ -20,6 +21,8 @@ import static com.sedmelluq.discord.lavaplayer.tools.FriendlyException.Severity.
  * Audio source manager that implements finding audio files from the local file system.
  */
 public class LocalAudioSourceManager extends ProbingAudioSourceManager {
+    private volatile boolean memoryMappingEnabled;
+
     public LocalAudioSourceManager() {
         this(MediaContainerRegistry.DEFAULT_REGISTRY);
     }
@@ -28,6 +31,15 @@ public class LocalAudioSourceManager extends ProbingAudioSourceManager {
         super(containerRegistry);
     }
 
+    /**
+     * @param memoryMappingEnabled Whether to read files through a memory mapping, see
+     *                             {@link MappedLocalSeekableInputStream}. This avoids the buffered stream layers and
+     *                             makes seeking free, which helps when serving large local libraries.
+     */
+    public void setMemoryMappingEnabled(boolean memoryMappingEnabled) {
+        this.memoryMappingEnabled = memoryMappingEnabled;
+    }
+
     @Override
     public String getSourceName() {
         return "local";
@@ -50,7 +62,7 @@ public class LocalAudioSourceManager extends ProbingAudioSourceManager {
     }
 
     private MediaContainerDetectionResult detectContainerForFile(AudioReference reference, File file) {
-        try (LocalSeekableInputStream inputStream = new LocalSeekableInputStream(file)) {
+        try (SeekableInputStream inputStream = createInputStream(file)) {
             int lastDotIndex = file.getName().lastIndexOf('.');
             String fileExtension = lastDotIndex >= 0 ? file.getName().substring(lastDotIndex + 1) : null;
 
@@ -61,6 +73,10 @@ public class LocalAudioSourceManager extends ProbingAudioSourceManager {
         }
     }
 
+    SeekableInputStream createInputStream(File file) {
+        return memoryMappingEnabled ? new MappedLocalSeekableInputStream(file) : new LocalSeekableInputStream(file);
+    }
+
     @Override
     public boolean isTrackEncodable(AudioTrack track) {
         return true;
@@ -0,0 +1,202 @@
+package com.sedmelluq.discord.lavaplayer.source.local;
+
+import com.sedmelluq.discord.lavaplayer.tools.io.SeekableInputStream;
+import com.sedmelluq.discord.lavaplayer.track.info.AudioTrackInfoProvider;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Seekable input stream implementation for local files which memory maps the file instead of reading it through a
+ * buffered stream. Reads copy directly from the mapping, seeking only changes the position and {@link #slice(int)}
+ * gives parsers which can consume a buffer a view of the file without copying it, which reaches the decoders as a
+ * direct buffer. Files larger than what fits into a single buffer are mapped in multiple regions. The file handle is
+ * only held while mapping, the mapping itself is released when the stream is garbage collected after it has been
+ * closed.
+ */
+public class MappedLocalSeekableInputStream extends SeekableInputStream {
+    private static final int REGION_SHIFT = 30;
+    private static final int REGION_SIZE = 1 << REGION_SHIFT;
+
+    private MappedByteBuffer[] regions;
+    private long position;
+
+    /**
+     * @param file File to create a stream for.
+     */
+    public MappedLocalSeekableInputStream(File file) {
+        super(file.length(), 0);
+
+        try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r")) {
+            FileChannel channel = randomAccessFile.getChannel();
+
+            contentLength = channel.size();
+            regions = new MappedByteBuffer[(int) ((contentLength + REGION_SIZE - 1) >>> REGION_SHIFT)];
+
+            for (int i = 0; i < regions.length; i++) {
+                long start = (long) i << REGION_SHIFT;
+                regions[i] = channel.map(FileChannel.MapMode.READ_ONLY, start,
+                    Math.min(REGION_SIZE, contentLength - start));
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (position >= contentLength) {
+            return -1;
+        }
+
+        int value = region(position).get((int) (position & (REGION_SIZE - 1))) & 0xFF;
+        position++;
+        return value;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        } else if (position >= contentLength) {
+            return -1;
+        }
+
+        MappedByteBuffer region = region(position);
+        int regionOffset = (int) (position & (REGION_SIZE - 1));
+        int count = Math.min(len, region.capacity() - regionOffset);
+
+        // Only this stream uses the buffer, so its position can be moved without duplicating it.
+        region.position(regionOffset);
+        region.get(b, off, count);
+
+        position += count;
+        return count;
+    }
+
+    @Override
+    public int readInto(ByteBuffer target) throws IOException {
+        if (!target.hasRemaining()) {
+            return 0;
+        } else if (position >= contentLength) {
+            return -1;
+        }
+
+        MappedByteBuffer region = region(position);
+        int regionOffset = (int) (position & (REGION_SIZE - 1));
+        int count = Math.min(target.remaining(), region.capacity() - regionOffset);
+
+        region.limit(regionOffset + count);
+        region.position(regionOffset);
+        target.put(region);
+        region.limit(region.capacity());
+
+        position += count;
+        return count;
+    }
+
+    /**
+     * Read the specified number of bytes as a read-only view of the mapped file, unless the range crosses the boundary
+     * of two mapped regions, in which case it is copied. The buffer stays valid after this stream is closed.
+     *
+     * @param length Number of bytes to read
+     * @return Buffer containing the next length bytes of the file.
+     * @throws IOException If fewer than length bytes remain in the file
+     */
+    @Override
+    public ByteBuffer slice(int length) throws IOException {
+        if (length > contentLength - position) {
+            throw new EOFException("Cannot slice " + length + " bytes, only " + (contentLength - position) +
+                " remain.");
+        }
+
+        MappedByteBuffer region = region(position);
+        int regionOffset = (int) (position & (REGION_SIZE - 1));
+
+        if (length > region.capacity() - regionOffset) {
+            // Packet routers read the array of heap buffers directly, so the copy must not be a read-only buffer.
+            ByteBuffer copy = ByteBuffer.allocate(length);
+
+            while (copy.hasRemaining()) {
+                readInto(copy);
+            }
+
+            copy.flip();
+            return copy;
+        }
+
+        ByteBuffer view = region.asReadOnlyBuffer();
+        view.position(regionOffset);
+        view.limit(regionOffset + length);
+        position += length;
+        return view.slice();
+    }
+
+    @Override
+    public long skip(long n) {
+        long count = Math.max(0, Math.min(n, contentLength - position));
+        position += count;
+        return count;
+    }
+
+    @Override
+    public int available() {
+        return (int) Math.min(Integer.MAX_VALUE, contentLength - position);
+    }
+
+    @Override
+    public synchronized void reset() throws IOException {
+        throw new IOException("mark/reset not supported");
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    @Override
+    public void close() {
+        // There is no way to unmap explicitly, dropping the references lets the mapping be released sooner.
+        regions = null;
+    }
+
+    @Override
+    public long getPosition() {
+        return position;
+    }
+
+    @Override
+    public void seek(long position) {
+        seekHard(position);
+    }
+
+    @Override
+    public boolean canSeekHard() {
+        return true;
+    }
+
+    @Override
+    public List<AudioTrackInfoProvider> getTrackInfoProviders() {
+        return Collections.emptyList();
+    }
+
+    @Override
+    protected void seekHard(long position) {
+        this.position = position;
+    }
+
+    private MappedByteBuffer region(long position) throws IOException {
+        if (regions == null) {
+            throw new IOException("Stream is closed.");
+        }
+
+        return regions[(int) (position >>> REGION_SHIFT)];
+    }
+}
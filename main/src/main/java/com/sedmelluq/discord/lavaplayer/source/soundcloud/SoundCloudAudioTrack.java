@@ -1,10 +1,14 @@
 package com.sedmelluq.discord.lavaplayer.source.soundcloud;
 
 import com.sedmelluq.discord.lavaplayer.container.mp3.Mp3AudioTrack;
+import com.sedmelluq.discord.lavaplayer.player.AudioConfiguration;
 import com.sedmelluq.discord.lavaplayer.source.AudioSourceManager;
 import com.sedmelluq.discord.lavaplayer.tools.io.HttpClientTools;
 import com.sedmelluq.discord.lavaplayer.tools.io.HttpInterface;
 import com.sedmelluq.discord.lavaplayer.tools.io.PersistentHttpStream;
+import com.sedmelluq.discord.lavaplayer.tools.io.PrefetchingSeekableInputStream;
+import com.sedmelluq.discord.lavaplayer.tools.io.SeekableInputStream;
+import com.sedmelluq.discord.lavaplayer.tools.io.SegmentCache;
 import com.sedmelluq.discord.lavaplayer.track.AudioTrack;
 import com.sedmelluq.discord.lavaplayer.track.AudioTrackInfo;
 import com.sedmelluq.discord.lavaplayer.track.DelegatedAudioTrack;
@@ -57,7 +61,7 @@ public class SoundCloudAudioTrack extends DelegatedAudioTrack {
 
         if (mp3LookupUrl != null) {
             String playbackUrl = SoundCloudHelper.loadPlaybackUrl(httpInterface, identifier.substring(2));
-            loadFromMp3Url(localExecutor, httpInterface, playbackUrl);
+            loadFromMp3Url(localExecutor, httpInterface, identifier, playbackUrl);
             return;
         }
 
@@ -71,16 +75,25 @@ public class SoundCloudAudioTrack extends DelegatedAudioTrack {
     private void loadFromMp3Url(
         LocalAudioTrackExecutor localExecutor,
         HttpInterface httpInterface,
+        String identifier,
         String trackUrl
     ) throws Exception {
         log.debug("Starting SoundCloud track from URL: {}", trackUrl);
 
-        try (PersistentHttpStream stream = new PersistentHttpStream(httpInterface, new URI(trackUrl), null)) {
-            if (!HttpClientTools.isSuccessWithContent(stream.checkStatusCode())) {
-                throw new IOException("Invalid status code for soundcloud stream: " + stream.checkStatusCode());
+        try (PersistentHttpStream httpStream = new PersistentHttpStream(httpInterface, new URI(trackUrl), null)) {
+            if (!HttpClientTools.isSuccessWithContent(httpStream.checkStatusCode())) {
+                throw new IOException("Invalid status code for soundcloud stream: " + httpStream.checkStatusCode());
             }
 
-            processDelegate(new Mp3AudioTrack(trackInfo, stream), localExecutor);
+            AudioConfiguration configuration = localExecutor.getProcessingContext().configuration;
+
+            // The playback URL is signed for each load, the identifier contains the track and its format.
+            try (SeekableInputStream stream = PrefetchingSeekableInputStream.wrap(
+                SegmentCache.wrap(configuration.getSegmentCache(), "soundcloud:" + identifier, httpStream),
+                configuration.getReadAheadBufferSize())) {
+
+                processDelegate(new Mp3AudioTrack(trackInfo, stream), localExecutor);
+            }
         }
     }
 
@@ -6,6 +6,7 @@ import com.sedmelluq.discord.lavaplayer.tools.http.HttpStreamTools;
 import com.sedmelluq.discord.lavaplayer.tools.io.ChainedInputStream;
 import com.sedmelluq.discord.lavaplayer.tools.io.HttpInterface;
 import com.sedmelluq.discord.lavaplayer.tools.io.NonSeekableInputStream;
+import com.sedmelluq.discord.lavaplayer.tools.io.PrefetchingSeekableInputStream;
 import com.sedmelluq.discord.lavaplayer.tools.io.SeekableInputStream;
 import com.sedmelluq.discord.lavaplayer.track.AudioTrackInfo;
 import com.sedmelluq.discord.lavaplayer.track.DelegatedAudioTrack;
@@ -36,7 +37,9 @@ public class SoundCloudM3uAudioTrack extends DelegatedAudioTrack {
 
     @Override
     public void process(LocalAudioTrackExecutor localExecutor) throws Exception {
-        try (SegmentTracker segmentTracker = createSegmentTracker()) {
+        int readAheadBufferSize = localExecutor.getProcessingContext().configuration.getReadAheadBufferSize();
+
+        try (SegmentTracker segmentTracker = createSegmentTracker(readAheadBufferSize)) {
             segmentTracker.decoder.prepareStream(true);
 
             localExecutor.executeProcessingLoop(() -> segmentTracker.decoder.playStream(
@@ -52,23 +55,25 @@ public class SoundCloudM3uAudioTrack extends DelegatedAudioTrack {
         return HlsStreamSegmentParser.parseFromUrl(httpInterface, playbackUrl);
     }
 
-    private SegmentTracker createSegmentTracker() throws IOException {
+    private SegmentTracker createSegmentTracker(int readAheadBufferSize) throws IOException {
         List<HlsStreamSegment> initialSegments = loadSegments();
-        SegmentTracker tracker = new SegmentTracker(initialSegments);
+        SegmentTracker tracker = new SegmentTracker(initialSegments, readAheadBufferSize);
         tracker.setupDecoder(m3uInfo.decoderFactory);
         return tracker;
     }
 
     private class SegmentTracker implements AutoCloseable {
         private final List<HlsStreamSegment> segments;
+        private final int readAheadBufferSize;
         private long desiredPosition = 0;
         private long streamStartPosition = 0;
         private long lastUpdate;
         private SoundCloudSegmentDecoder decoder;
         private int segmentIndex = 0;
 
-        private SegmentTracker(List<HlsStreamSegment> segments) {
+        private SegmentTracker(List<HlsStreamSegment> segments, int readAheadBufferSize) {
             this.segments = segments;
+            this.readAheadBufferSize = readAheadBufferSize;
             this.lastUpdate = System.currentTimeMillis();
         }
 
@@ -77,7 +82,10 @@ public class SoundCloudM3uAudioTrack extends DelegatedAudioTrack {
         }
 
         private SeekableInputStream createChainedStream() {
-            return new NonSeekableInputStream(new ChainedInputStream(this::getNextStream));
+            // Closing a prefetching stream waits for its fill task, so the segment index is not advanced in the
+            // background after a seek has reset it.
+            return PrefetchingSeekableInputStream.wrap(new NonSeekableInputStream(new ChainedInputStream(this::getNextStream)),
+                readAheadBufferSize);
         }
 
         private void seekToTimecode(long timecode) throws IOException {
@@ -2,6 +2,8 @@ package com.sedmelluq.discord.lavaplayer.source.stream;
 
 import com.sedmelluq.discord.lavaplayer.tools.io.ChainedInputStream;
 import com.sedmelluq.discord.lavaplayer.tools.io.HttpInterface;
+import com.sedmelluq.discord.lavaplayer.tools.io.NonSeekableInputStream;
+import com.sedmelluq.discord.lavaplayer.tools.io.PrefetchingSeekableInputStream;
 import com.sedmelluq.discord.lavaplayer.track.AudioTrackInfo;
 import com.sedmelluq.discord.lavaplayer.track.DelegatedAudioTrack;
 import com.sedmelluq.discord.lavaplayer.track.playback.LocalAudioTrackExecutor;
@@ -31,8 +33,14 @@ public abstract class M3uStreamAudioTrack extends DelegatedAudioTrack {
     @Override
     public void process(LocalAudioTrackExecutor localExecutor) throws Exception {
         try (final HttpInterface httpInterface = getHttpInterface()) {
-            try (ChainedInputStream chainedInputStream = new ChainedInputStream(() -> getSegmentUrlProvider().getNextSegmentStream(httpInterface))) {
-                processJoinedStream(localExecutor, chainedInputStream);
+            int readAheadBufferSize = localExecutor.getProcessingContext().configuration.getReadAheadBufferSize();
+
+            try (ChainedInputStream chainedInputStream = new ChainedInputStream(() -> getSegmentUrlProvider().getNextSegmentStream(httpInterface));
+                 InputStream stream = readAheadBufferSize > 0
+                     ? new PrefetchingSeekableInputStream(new NonSeekableInputStream(chainedInputStream), readAheadBufferSize)
+                     : chainedInputStream) {
+
+                processJoinedStream(localExecutor, stream);
             }
         }
     }
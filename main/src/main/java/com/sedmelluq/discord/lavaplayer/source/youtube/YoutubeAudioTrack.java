@@ -2,17 +2,24 @@ package com.sedmelluq.discord.lavaplayer.source.youtube;
 
 import com.sedmelluq.discord.lavaplayer.container.matroska.MatroskaAudioTrack;
 import com.sedmelluq.discord.lavaplayer.container.mpeg.MpegAudioTrack;
+import com.sedmelluq.discord.lavaplayer.player.AudioConfiguration;
 import com.sedmelluq.discord.lavaplayer.source.AudioSourceManager;
 import com.sedmelluq.discord.lavaplayer.tools.FriendlyException;
 import com.sedmelluq.discord.lavaplayer.tools.io.HttpInterface;
+import com.sedmelluq.discord.lavaplayer.tools.io.PrefetchingSeekableInputStream;
+import com.sedmelluq.discord.lavaplayer.tools.io.SeekableInputStream;
+import com.sedmelluq.discord.lavaplayer.tools.io.SegmentCache;
 import com.sedmelluq.discord.lavaplayer.track.AudioTrack;
 import com.sedmelluq.discord.lavaplayer.track.AudioTrackInfo;
 import com.sedmelluq.discord.lavaplayer.track.DelegatedAudioTrack;
 import com.sedmelluq.discord.lavaplayer.track.playback.LocalAudioTrackExecutor;
+import org.apache.http.NameValuePair;
+import org.apache.http.client.utils.URLEncodedUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.StringJoiner;
 
@@ -59,7 +66,7 @@ public class YoutubeAudioTrack extends DelegatedAudioTrack {
     }
 
     private void processStatic(LocalAudioTrackExecutor localExecutor, HttpInterface httpInterface, FormatWithUrl format) throws Exception {
-        try (YoutubePersistentHttpStream stream = new YoutubePersistentHttpStream(httpInterface, format.signedUrl, format.details.getContentLength())) {
+        try (SeekableInputStream stream = createStaticStream(localExecutor, httpInterface, format)) {
             if (format.details.getType().getMimeType().endsWith("/webm")) {
                 processDelegate(new MatroskaAudioTrack(trackInfo, stream), localExecutor);
             } else {
@@ -68,6 +75,38 @@ public class YoutubeAudioTrack extends DelegatedAudioTrack {
         }
     }
 
+    private SeekableInputStream createStaticStream(LocalAudioTrackExecutor localExecutor, HttpInterface httpInterface,
+                                                   FormatWithUrl format) {
+
+        AudioConfiguration configuration = localExecutor.getProcessingContext().configuration;
+        long contentLength = format.details.getContentLength();
+        String cacheKey = getCacheKey(format);
+
+        // Chunks already download ahead of the reader, so reading ahead on top of that would only add a copy.
+        if (configuration.getChunkedDownloadSize() > 0 && !format.signedUrl.toString().contains("rn=")) {
+            return SegmentCache.wrap(configuration.getSegmentCache(), cacheKey,
+                new YoutubeChunkedHttpStream(sourceManager::getHttpInterface, format.signedUrl, contentLength,
+                    configuration.getChunkedDownloadSize(), configuration.getChunkedDownloadParallelism()));
+        }
+
+        return PrefetchingSeekableInputStream.wrap(
+            SegmentCache.wrap(configuration.getSegmentCache(), cacheKey,
+                new YoutubePersistentHttpStream(httpInterface, format.signedUrl, contentLength)),
+            configuration.getReadAheadBufferSize()
+        );
+    }
+
+    private String getCacheKey(FormatWithUrl format) {
+        // The signed URL changes with every load, the video and its format identify the content.
+        for (NameValuePair parameter : URLEncodedUtils.parse(format.signedUrl, StandardCharsets.UTF_8)) {
+            if ("itag".equals(parameter.getName())) {
+                return "youtube:" + getIdentifier() + ":" + parameter.getValue();
+            }
+        }
+
+        return null;
+    }
+
     private void processStream(LocalAudioTrackExecutor localExecutor, FormatWithUrl format) throws Exception {
         if (MIME_AUDIO_WEBM.equals(format.details.getType().getMimeType())) {
             throw new FriendlyException("YouTube WebM streams are currently not supported.", COMMON, null);
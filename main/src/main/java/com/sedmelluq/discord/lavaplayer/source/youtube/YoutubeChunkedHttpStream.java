@@ -0,0 +1,58 @@
+package com.sedmelluq.discord.lavaplayer.source.youtube;
+
+import com.sedmelluq.discord.lavaplayer.tools.io.ChunkedHttpStream;
+import com.sedmelluq.discord.lavaplayer.tools.io.HttpInterface;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpStatus;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.client.utils.URIBuilder;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.function.Supplier;
+
+/**
+ * A chunked HTTP stream implementation that uses the range parameter instead of HTTP headers for specifying the range
+ * of each chunk.
+ */
+public class YoutubeChunkedHttpStream extends ChunkedHttpStream {
+    /**
+     * @param httpInterfaceSupplier Supplier of HTTP interfaces, called on the download thread for each request
+     * @param contentUrl            The URL of the resource
+     * @param contentLength         The length of the resource in bytes
+     * @param chunkSize             Size of the chunks to download in bytes
+     * @param parallelism           Maximum number of chunks to download at the same time
+     */
+    public YoutubeChunkedHttpStream(Supplier<HttpInterface> httpInterfaceSupplier, URI contentUrl, long contentLength,
+                                    int chunkSize, int parallelism) {
+
+        super(httpInterfaceSupplier, contentUrl, contentLength, chunkSize, parallelism);
+    }
+
+    @Override
+    protected HttpGet createRangeRequest(long start, long end) {
+        try {
+            return new HttpGet(new URIBuilder(contentUrl).addParameter("range", start + "-" + end).build());
+        } catch (URISyntaxException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    protected void checkRangeResponse(HttpResponse response, long start, long end) throws IOException {
+        if (response.getStatusLine().getStatusCode() == HttpStatus.SC_PARTIAL_CONTENT) {
+            super.checkRangeResponse(response, start, end);
+            return;
+        }
+
+        // Range parameters in the URL are answered with 200, so only the exact length of the body shows that the range
+        // was applied. A body of unknown length cannot be told apart from the whole resource, so it is rejected too.
+        long length = response.getEntity().getContentLength();
+
+        if (length != end - start + 1) {
+            throw new IOException("Server responded with " + length + " bytes to the requested range " + start + "-" +
+                end + ".");
+        }
+    }
+}
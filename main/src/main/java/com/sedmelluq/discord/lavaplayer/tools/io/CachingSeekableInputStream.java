@@ -0,0 +1,156 @@
+package com.sedmelluq.discord.lavaplayer.tools.io;
+
+import com.sedmelluq.discord.lavaplayer.track.info.AudioTrackInfoProvider;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * A seekable stream which reads the segments present in a {@link SegmentCache} from disk, and downloads the missing
+ * ones from the underlying stream, storing them in the cache. Either way, a whole segment is loaded into memory at a
+ * time and reads are served from it, so the cache is only accessed when the stream moves to another segment. The
+ * underlying stream is only accessed on a cache miss, so a fully cached resource is played without any requests to
+ * its origin.
+ */
+public class CachingSeekableInputStream extends SeekableInputStream {
+    private final SegmentCache cache;
+    private final SegmentCache.Entry entry;
+    private final SeekableInputStream delegate;
+    private final int segmentSize;
+    private final byte[] segmentBuffer;
+    private int bufferedSegment;
+    private long position;
+    private boolean closed;
+
+    CachingSeekableInputStream(SegmentCache cache, SegmentCache.Entry entry, SeekableInputStream delegate) {
+        super(delegate.getContentLength(), Long.MAX_VALUE);
+
+        this.cache = cache;
+        this.entry = entry;
+        this.delegate = delegate;
+        this.segmentSize = cache.getSegmentSize();
+        this.segmentBuffer = new byte[segmentSize];
+        this.bufferedSegment = -1;
+        this.position = delegate.getPosition();
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (position >= contentLength) {
+            return -1;
+        }
+
+        int segmentOffset = loadSegment();
+        position++;
+        return segmentBuffer[segmentOffset] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        } else if (position >= contentLength) {
+            return -1;
+        }
+
+        int segmentOffset = loadSegment();
+        int count = (int) Math.min(len, Math.min(segmentSize - segmentOffset, contentLength - position));
+
+        System.arraycopy(segmentBuffer, segmentOffset, b, off, count);
+        position += count;
+        return count;
+    }
+
+    @Override
+    public long skip(long n) {
+        long count = Math.max(0, Math.min(n, contentLength - position));
+        position += count;
+        return count;
+    }
+
+    @Override
+    public int available() {
+        return 0;
+    }
+
+    @Override
+    public void seek(long position) {
+        // The underlying stream is only moved when a missing segment is downloaded.
+        seekHard(position);
+    }
+
+    @Override
+    protected void seekHard(long position) {
+        this.position = Math.max(0, Math.min(position, contentLength));
+    }
+
+    @Override
+    public boolean canSeekHard() {
+        return delegate.canSeekHard();
+    }
+
+    @Override
+    public long getPosition() {
+        return position;
+    }
+
+    @Override
+    public List<AudioTrackInfoProvider> getTrackInfoProviders() {
+        return delegate.getTrackInfoProviders();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!closed) {
+            closed = true;
+            cache.release(entry);
+        }
+
+        delegate.close();
+    }
+
+    private int loadSegment() throws IOException {
+        int index = (int) (position / segmentSize);
+
+        if (index != bufferedSegment) {
+            int segmentLength = (int) Math.min(segmentSize, contentLength - (long) index * segmentSize);
+
+            bufferedSegment = -1;
+
+            if (cache.readSegment(entry, index, segmentBuffer, segmentLength)) {
+                bufferedSegment = index;
+            } else {
+                downloadSegment(index, segmentLength);
+            }
+        }
+
+        return (int) (position - (long) index * segmentSize);
+    }
+
+    private void downloadSegment(int index, int length) throws IOException {
+        long start = (long) index * segmentSize;
+
+        // A cached segment can only be downloaded again if it was evicted, which requires seeking back.
+        if (delegate.getPosition() != start) {
+            delegate.seek(start);
+        }
+
+        bufferedSegment = -1;
+        int offset = 0;
+
+        while (offset < length) {
+            int result = delegate.read(segmentBuffer, offset, length - offset);
+
+            if (result < 0) {
+                throw new EOFException("Stream ended " + (length - offset) + " bytes before the end of segment " +
+                    index + ".");
+            }
+
+            offset += result;
+        }
+
+        bufferedSegment = index;
+        cache.storeSegment(entry, index, segmentBuffer, length);
+    }
+}
@@ -0,0 +1,575 @@
+package com.sedmelluq.discord.lavaplayer.tools.io;
+
+import com.sedmelluq.discord.lavaplayer.track.info.AudioTrackInfoProvider;
+import com.sedmelluq.lava.common.tools.DaemonThreadFactory;
+import org.apache.http.Header;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpStatus;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * A seekable stream for a remote resource of known length, which downloads it as fixed-size chunks with separate range
+ * requests. The chunks at and after the current position are downloaded in parallel, up to the configured number at a
+ * time, and handed to the reader in order. A limited number of downloaded chunks is kept after the reader has moved
+ * past them, so seeking back to a recently played part, or forward into an already downloaded part, does not cause
+ * any requests.
+ * <p>
+ * Each download runs on a shared pool of daemon threads unless a different executor is given, and gets its own HTTP
+ * interface from the supplier, as an HTTP interface must not be shared between threads. A failed download is retried
+ * once if the error is a retriable network error, otherwise its error is thrown to the reader, and the next read of
+ * the same chunk downloads it again. Downloads of chunks which are no longer needed after a seek are aborted, so
+ * there are never more downloads in progress than the configured number.
+ */
+public class ChunkedHttpStream extends SeekableInputStream {
+    private static final Logger log = LoggerFactory.getLogger(ChunkedHttpStream.class);
+
+    public static final int MINIMUM_CHUNK_SIZE = 64 * 1024;
+
+    private static final ThreadPoolExecutor sharedExecutor = new ThreadPoolExecutor(0, Integer.MAX_VALUE, 10,
+        TimeUnit.SECONDS, new SynchronousQueue<>(), new DaemonThreadFactory("chunk-download"));
+
+    protected final URI contentUrl;
+    private final Supplier<HttpInterface> httpInterfaceSupplier;
+    private final Executor executor;
+    private final int chunkSize;
+    private final int parallelism;
+    private final int maximumChunks;
+    private final long chunkCount;
+    private final ReentrantLock lock;
+    private final Condition condition;
+    private final Map<Long, Chunk> chunks;
+    private long position;
+    private long lastIndex;
+    private boolean closed;
+    private long downloadedChunks;
+    private long reusedChunks;
+
+    /**
+     * @param httpInterfaceSupplier Supplier of HTTP interfaces, called on the download thread for each request
+     * @param contentUrl            The URL of the resource
+     * @param contentLength         The length of the resource in bytes
+     * @param chunkSize             Size of the chunks to download in bytes
+     * @param parallelism           Maximum number of chunks to download at the same time
+     */
+    public ChunkedHttpStream(Supplier<HttpInterface> httpInterfaceSupplier, URI contentUrl, long contentLength,
+                             int chunkSize, int parallelism) {
+
+        this(httpInterfaceSupplier, contentUrl, contentLength, chunkSize, parallelism, sharedExecutor);
+    }
+
+    /**
+     * @param httpInterfaceSupplier Supplier of HTTP interfaces, called on the download thread for each request
+     * @param contentUrl            The URL of the resource
+     * @param contentLength         The length of the resource in bytes
+     * @param chunkSize             Size of the chunks to download in bytes
+     * @param parallelism           Maximum number of chunks to download at the same time
+     * @param executor              Executor to run the downloads on, each download blocks while it reads its chunk
+     */
+    public ChunkedHttpStream(Supplier<HttpInterface> httpInterfaceSupplier, URI contentUrl, long contentLength,
+                             int chunkSize, int parallelism, Executor executor) {
+
+        super(contentLength, Long.MAX_VALUE);
+
+        this.httpInterfaceSupplier = httpInterfaceSupplier;
+        this.contentUrl = contentUrl;
+        this.executor = executor;
+        this.chunkSize = Math.max(MINIMUM_CHUNK_SIZE, chunkSize);
+        this.parallelism = Math.max(1, parallelism);
+        // Keep as many chunks behind the read position as there are ahead of it.
+        this.maximumChunks = this.parallelism * 2 + 1;
+        this.chunkCount = (contentLength + this.chunkSize - 1) / this.chunkSize;
+        this.lock = new ReentrantLock();
+        this.condition = lock.newCondition();
+        this.chunks = new LinkedHashMap<>(16, 0.75f, true);
+        this.lastIndex = -1;
+    }
+
+    @Override
+    public int read() throws IOException {
+        lock.lock();
+
+        try {
+            if (position >= contentLength) {
+                return -1;
+            }
+
+            Chunk chunk = awaitChunk(position / chunkSize);
+            int value = chunk.data[(int) (position - chunk.start)] & 0xFF;
+            position++;
+            return value;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+
+        lock.lock();
+
+        try {
+            if (position >= contentLength) {
+                return -1;
+            }
+
+            long index = position / chunkSize;
+            Chunk chunk = awaitChunk(index);
+
+            int chunkOffset = (int) (position - chunk.start);
+            int count = Math.min(len, chunk.data.length - chunkOffset);
+
+            System.arraycopy(chunk.data, chunkOffset, b, off, count);
+            position += count;
+            return count;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int readInto(ByteBuffer target) throws IOException {
+        if (!target.hasRemaining()) {
+            return 0;
+        }
+
+        lock.lock();
+
+        try {
+            if (position >= contentLength) {
+                return -1;
+            }
+
+            Chunk chunk = awaitChunk(position / chunkSize);
+
+            int chunkOffset = (int) (position - chunk.start);
+            int count = Math.min(target.remaining(), chunk.data.length - chunkOffset);
+
+            target.put(chunk.data, chunkOffset, count);
+            position += count;
+            return count;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public long skip(long n) {
+        if (n <= 0) {
+            return 0;
+        }
+
+        lock.lock();
+
+        try {
+            long count = Math.min(n, Math.max(0, contentLength - position));
+            position += count;
+            return count;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int available() {
+        lock.lock();
+
+        try {
+            Chunk chunk = position < contentLength ? chunks.get(position / chunkSize) : null;
+
+            if (chunk == null || !chunk.done || chunk.failure != null) {
+                return 0;
+            }
+
+            return (int) (chunk.start + chunk.data.length - position);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void seek(long position) {
+        // Moving the position is free, the chunks are only requested by the next read.
+        seekHard(position);
+    }
+
+    @Override
+    protected void seekHard(long position) {
+        lock.lock();
+
+        try {
+            this.position = Math.max(0, Math.min(position, contentLength));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean canSeekHard() {
+        return true;
+    }
+
+    @Override
+    public long getPosition() {
+        lock.lock();
+
+        try {
+            return position;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public List<AudioTrackInfoProvider> getTrackInfoProviders() {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public void close() {
+        lock.lock();
+
+        try {
+            closed = true;
+
+            for (Chunk chunk : chunks.values()) {
+                cancel(chunk);
+            }
+
+            chunks.clear();
+            condition.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Use data which has already been downloaded from the start of the resource as its first chunk, so that it is not
+     * requested again. Useful when the length of the resource was found out with a range request for the first chunk.
+     *
+     * @param data The first bytes of the resource, ignored unless it contains the whole first chunk
+     */
+    public void setInitialData(byte[] data) {
+        lock.lock();
+
+        try {
+            int length = (int) Math.min(chunkSize, contentLength);
+
+            if (closed || data.length < length || chunks.containsKey(0L)) {
+                return;
+            }
+
+            Chunk chunk = new Chunk(0, data.length == length ? data : Arrays.copyOf(data, length));
+            chunk.done = true;
+            chunks.put(0L, chunk);
+            downloadedChunks++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return Number of chunks downloaded by this stream.
+     */
+    public long getDownloadedChunks() {
+        lock.lock();
+
+        try {
+            return downloadedChunks;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return Number of times the reader moved to a chunk which had been downloaded before a seek.
+     */
+    public long getReusedChunks() {
+        lock.lock();
+
+        try {
+            return reusedChunks;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @param start Position of the first byte to request
+     * @param end   Position of the last byte to request, inclusive
+     * @return Request for the specified range of the resource.
+     */
+    protected HttpGet createRangeRequest(long start, long end) {
+        HttpGet request = new HttpGet(contentUrl);
+        request.setHeader(HttpHeaders.RANGE, "bytes=" + start + "-" + end);
+        return request;
+    }
+
+    /**
+     * Check that a successful response contains the requested range, so that a server which ignores the range does not
+     * hand the wrong part of the resource to the reader. Requires a partial content response with a matching
+     * Content-Range header, unless the whole resource was requested.
+     *
+     * @param response Response to the request created by {@link #createRangeRequest(long, long)}
+     * @param start    Position of the first requested byte
+     * @param end      Position of the last requested byte, inclusive
+     * @throws IOException If the response does not contain the requested range
+     */
+    protected void checkRangeResponse(HttpResponse response, long start, long end) throws IOException {
+        if (response.getStatusLine().getStatusCode() == HttpStatus.SC_PARTIAL_CONTENT) {
+            Header contentRange = response.getFirstHeader(HttpHeaders.CONTENT_RANGE);
+
+            if (contentRange == null || !contentRange.getValue().startsWith("bytes " + start + "-" + end + "/")) {
+                throw new IOException("Server responded with range " +
+                    (contentRange != null ? contentRange.getValue() : "(none)") + " instead of the requested " + start +
+                    "-" + end + ".");
+            }
+        } else if (start != 0 || end != contentLength - 1) {
+            throw new IOException("Server ignored the requested range " + start + "-" + end + ".");
+        }
+    }
+
+    private Chunk awaitChunk(long index) throws IOException {
+        Chunk chunk = chunks.get(index);
+
+        // The reader only returns to a chunk it has already read after seeking.
+        if (chunk != null && chunk.read && index != lastIndex) {
+            reusedChunks++;
+        }
+
+        requestWindow(index);
+        chunk = chunks.get(index);
+
+        // No chunks are requested anymore after the stream has been closed.
+        if (chunk == null) {
+            throw new IOException("Stream is closed.");
+        }
+
+        try {
+            while (!chunk.done) {
+                if (closed) {
+                    throw new IOException("Stream is closed.");
+                }
+
+                condition.await();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException();
+        }
+
+        if (chunk.failure != null) {
+            chunks.remove(index);
+            throw rethrowFailure(chunk.failure);
+        }
+
+        chunk.read = true;
+        lastIndex = index;
+        return chunk;
+    }
+
+    private void requestWindow(long index) {
+        if (closed) {
+            return;
+        }
+
+        long windowEnd = Math.min(chunkCount, index + parallelism);
+        cancelStaleDownloads(index, windowEnd);
+
+        for (long i = index; i < windowEnd; i++) {
+            if (!chunks.containsKey(i)) {
+                evictChunks(index, windowEnd);
+                startDownload(i);
+            } else if (i == index) {
+                // Accessing the chunk keeps it at the end of the eviction order.
+                chunks.get(i);
+            }
+        }
+    }
+
+    private void cancelStaleDownloads(long windowStart, long windowEnd) {
+        Iterator<Map.Entry<Long, Chunk>> iterator = chunks.entrySet().iterator();
+
+        // After a seek, the downloads of the previous window would otherwise keep taking up bandwidth and threads.
+        while (iterator.hasNext()) {
+            Map.Entry<Long, Chunk> entry = iterator.next();
+            long index = entry.getKey();
+
+            if (!entry.getValue().done && (index < windowStart || index >= windowEnd)) {
+                iterator.remove();
+                cancel(entry.getValue());
+            }
+        }
+    }
+
+    private void cancel(Chunk chunk) {
+        chunk.cancelled = true;
+        HttpGet request = chunk.request;
+
+        if (request != null) {
+            request.abort();
+        }
+    }
+
+    private void evictChunks(long windowStart, long windowEnd) {
+        Iterator<Map.Entry<Long, Chunk>> iterator = chunks.entrySet().iterator();
+
+        // Least recently accessed chunks are evicted first, chunks in the window or still downloading are kept.
+        while (chunks.size() >= maximumChunks && iterator.hasNext()) {
+            Map.Entry<Long, Chunk> entry = iterator.next();
+            long index = entry.getKey();
+
+            if (entry.getValue().done && (index < windowStart || index >= windowEnd)) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private void startDownload(long index) {
+        long start = index * chunkSize;
+        Chunk chunk = new Chunk(start, (int) Math.min(chunkSize, contentLength - start));
+
+        chunks.put(index, chunk);
+
+        try {
+            executor.execute(() -> download(chunk));
+        } catch (RejectedExecutionException e) {
+            chunk.failure = e;
+            chunk.done = true;
+        }
+    }
+
+    private void download(Chunk chunk) {
+        Throwable failure = null;
+
+        for (int attempt = 0; ; attempt++) {
+            try {
+                readChunk(chunk);
+                failure = null;
+                break;
+            } catch (IOException e) {
+                failure = e;
+
+                if (attempt > 0 || !HttpClientTools.isRetriableNetworkException(e) || chunk.cancelled) {
+                    break;
+                }
+
+                log.debug("Retrying download of range {}-{} of {}.", chunk.start, chunk.end(), contentUrl, e);
+            } catch (Throwable e) {
+                // Anything not reported to the reader would leave it waiting for the chunk forever.
+                failure = e;
+                break;
+            }
+        }
+
+        lock.lock();
+
+        try {
+            chunk.failure = failure;
+            chunk.done = true;
+
+            if (failure == null && !chunk.cancelled) {
+                downloadedChunks++;
+            }
+
+            condition.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void readChunk(Chunk chunk) throws IOException {
+        HttpGet request = createRangeRequest(chunk.start, chunk.end());
+        chunk.request = request;
+
+        // Cancelled before the request could be aborted.
+        if (chunk.cancelled) {
+            return;
+        }
+
+        try (HttpInterface httpInterface = httpInterfaceSupplier.get();
+             CloseableHttpResponse response = httpInterface.execute(request)) {
+
+            HttpClientTools.assertSuccessWithContent(response, "chunk download");
+            checkRangeResponse(response, chunk.start, chunk.end());
+
+            InputStream content = response.getEntity().getContent();
+            int offset = 0;
+
+            while (offset < chunk.data.length) {
+                if (chunk.cancelled) {
+                    return;
+                }
+
+                int result = content.read(chunk.data, offset, chunk.data.length - offset);
+
+                if (result < 0) {
+                    throw new EOFException("Range " + chunk.start + "-" + chunk.end() + " ended after " + offset +
+                        " bytes.");
+                }
+
+                offset += result;
+            }
+        }
+    }
+
+    private static IOException rethrowFailure(Throwable failure) {
+        if (failure instanceof RuntimeException) {
+            throw (RuntimeException) failure;
+        } else if (failure instanceof Error) {
+            throw (Error) failure;
+        }
+
+        return new IOException("Downloading a chunk of the stream failed.", failure);
+    }
+
+    private static class Chunk {
+        private final long start;
+        private final byte[] data;
+        private boolean done;
+        private boolean read;
+        private Throwable failure;
+        private volatile boolean cancelled;
+        private volatile HttpGet request;
+
+        private Chunk(long start, int length) {
+            this(start, new byte[length]);
+        }
+
+        private Chunk(long start, byte[] data) {
+            this.start = start;
+            this.data = data;
+        }
+
+        private long end() {
+            return start + data.length - 1;
+        }
+    }
+}
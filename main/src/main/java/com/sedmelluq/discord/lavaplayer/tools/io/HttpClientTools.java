@@ -27,6 +27,7 @@ import java.net.SocketException;
 import java.net.SocketTimeoutException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.channels.ClosedByInterruptException;
 import java.nio.charset.StandardCharsets;
 
 import static com.sedmelluq.discord.lavaplayer.tools.FriendlyException.Severity.SUSPICIOUS;
@@ -203,6 +204,16 @@ public class HttpClientTools {
             isRetriableNestedSslException(exception);
     }
 
+    /**
+     * @param exception Exception to check
+     * @return True if the connection was closed because the reading thread was interrupted. This happens instead of an
+     * {@link java.io.InterruptedIOException} when reading on a virtual thread.
+     */
+    public static boolean isClosedByInterruptException(Throwable exception) {
+        return exception instanceof ClosedByInterruptException ||
+            (exception instanceof SocketException && "Closed by interrupt".equals(exception.getMessage()));
+    }
+
     public static boolean isConnectionResetException(Throwable exception) {
         return (exception instanceof SocketException || exception instanceof SSLException)
             && "Connection reset".equals(exception.getMessage());
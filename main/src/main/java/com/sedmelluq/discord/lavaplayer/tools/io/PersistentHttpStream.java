@@ -145,6 +145,12 @@ public class PersistentHttpStream extends SeekableInputStream implements AutoClo
     }
 
     private void handleNetworkException(IOException exception, boolean attemptReconnect) throws IOException {
+        if (HttpClientTools.isClosedByInterruptException(exception)) {
+            // The connection is unusable now, make sure the next read after handling the interrupt reconnects.
+            close();
+            throw exception;
+        }
+
         if (!attemptReconnect || !HttpClientTools.isRetriableNetworkException(exception)) {
             throw exception;
         }
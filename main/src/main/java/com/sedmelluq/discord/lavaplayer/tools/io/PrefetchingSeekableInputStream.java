@@ -0,0 +1,462 @@
+package com.sedmelluq.discord.lavaplayer.tools.io;
+
+import com.sedmelluq.discord.lavaplayer.track.info.AudioTrackInfoProvider;
+import com.sedmelluq.lava.common.tools.DaemonThreadFactory;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A wrapper around a seekable input stream which reads ahead of the current position on a background thread, so that
+ * stalls of the underlying stream, such as a slow HTTP connection, do not directly delay the reader. The data is kept
+ * in a ring buffer, of which up to three quarters is filled ahead of the read position and the rest keeps the most
+ * recently read data. Seeking anywhere within the buffered data does not cause any IO on the underlying stream.
+ * <p>
+ * The underlying stream is only accessed by the fill task, which runs on a shared pool of daemon threads unless a
+ * different executor is given. The fill task stops whenever the read-ahead part of the buffer is full and is started
+ * again by the reader once there is room for another chunk. Errors from the underlying stream are thrown to the
+ * reader once it has read all data before the error, and the next read after that tries again.
+ */
+public class PrefetchingSeekableInputStream extends SeekableInputStream {
+    private static final int MAXIMUM_CHUNK_SIZE = 64 * 1024;
+
+    private static final ThreadPoolExecutor sharedExecutor = new ThreadPoolExecutor(0, Integer.MAX_VALUE, 10,
+        TimeUnit.SECONDS, new SynchronousQueue<>(), new DaemonThreadFactory("prefetch"));
+
+    private final SeekableInputStream delegate;
+    private final Executor executor;
+    private final byte[] buffer;
+    private final int readAheadLimit;
+    private final int chunkSize;
+    private final ReentrantLock lock;
+    private final Condition condition;
+    private long windowStart;
+    private long windowEnd;
+    private long readPosition;
+    private long generation;
+    private boolean endOfStream;
+    private boolean filling;
+    private boolean closed;
+    private Throwable failure;
+    private long stallCount;
+    private long stallNanos;
+
+    /**
+     * @param delegate   The stream to read ahead from, closed when this stream is closed
+     * @param bufferSize Size of the ring buffer in bytes
+     */
+    public PrefetchingSeekableInputStream(SeekableInputStream delegate, int bufferSize) {
+        this(delegate, bufferSize, sharedExecutor);
+    }
+
+    /**
+     * @param delegate   The stream to read ahead from, closed when this stream is closed
+     * @param bufferSize Size of the ring buffer in bytes
+     * @param executor   Executor to run the fill task on, the task blocks while reading from the underlying stream
+     */
+    public PrefetchingSeekableInputStream(SeekableInputStream delegate, int bufferSize, Executor executor) {
+        super(delegate.getContentLength(), delegate.getMaxSkipDistance());
+
+        this.delegate = delegate;
+        this.executor = executor;
+        this.buffer = new byte[Math.max(bufferSize, 4096)];
+        this.readAheadLimit = buffer.length - buffer.length / 4;
+        this.chunkSize = Math.min(MAXIMUM_CHUNK_SIZE, readAheadLimit);
+        this.lock = new ReentrantLock();
+        this.condition = lock.newCondition();
+        this.windowStart = delegate.getPosition();
+        this.windowEnd = windowStart;
+        this.readPosition = windowStart;
+    }
+
+    /**
+     * @param delegate   The stream to read ahead from
+     * @param bufferSize Size of the ring buffer in bytes, zero to not read ahead
+     * @return A prefetching stream for the delegate, or the delegate itself if the buffer size is zero.
+     */
+    public static SeekableInputStream wrap(SeekableInputStream delegate, int bufferSize) {
+        return bufferSize > 0 ? new PrefetchingSeekableInputStream(delegate, bufferSize) : delegate;
+    }
+
+    @Override
+    public int read() throws IOException {
+        lock.lock();
+
+        try {
+            if (!awaitData()) {
+                return -1;
+            }
+
+            int value = buffer[bufferIndex(readPosition)] & 0xFF;
+            readPosition++;
+            scheduleFill();
+            return value;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+
+        lock.lock();
+
+        try {
+            if (!awaitData()) {
+                return -1;
+            }
+
+            int count = (int) Math.min(len, windowEnd - readPosition);
+            int index = bufferIndex(readPosition);
+            int firstPart = Math.min(count, buffer.length - index);
+
+            System.arraycopy(buffer, index, b, off, firstPart);
+            System.arraycopy(buffer, 0, b, off + firstPart, count - firstPart);
+
+            readPosition += count;
+            scheduleFill();
+            return count;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int readInto(ByteBuffer target) throws IOException {
+        if (!target.hasRemaining()) {
+            return 0;
+        }
+
+        lock.lock();
+
+        try {
+            if (!awaitData()) {
+                return -1;
+            }
+
+            int count = (int) Math.min(target.remaining(), windowEnd - readPosition);
+            int index = bufferIndex(readPosition);
+            int firstPart = Math.min(count, buffer.length - index);
+
+            target.put(buffer, index, firstPart);
+            target.put(buffer, 0, count - firstPart);
+
+            readPosition += count;
+            scheduleFill();
+            return count;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        if (n <= 0) {
+            return 0;
+        }
+
+        lock.lock();
+
+        try {
+            if (!awaitData()) {
+                return 0;
+            }
+
+            long count = Math.min(n, windowEnd - readPosition);
+            readPosition += count;
+            scheduleFill();
+            return count;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int available() {
+        lock.lock();
+
+        try {
+            return (int) Math.min(Integer.MAX_VALUE, windowEnd - readPosition);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void seek(long position) throws IOException {
+        lock.lock();
+
+        try {
+            if (position >= windowStart && position <= windowEnd) {
+                readPosition = position;
+                scheduleFill();
+                return;
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        super.seek(position);
+    }
+
+    @Override
+    protected void seekHard(long position) {
+        lock.lock();
+
+        try {
+            // A fill in progress notices the changed generation and discards what it read.
+            generation++;
+            windowStart = position;
+            windowEnd = position;
+            readPosition = position;
+            endOfStream = false;
+            failure = null;
+            scheduleFill();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean canSeekHard() {
+        return delegate.canSeekHard();
+    }
+
+    @Override
+    public long getPosition() {
+        lock.lock();
+
+        try {
+            return readPosition;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public long getContentLength() {
+        return delegate.getContentLength();
+    }
+
+    @Override
+    public List<AudioTrackInfoProvider> getTrackInfoProviders() {
+        return delegate.getTrackInfoProviders();
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+
+        try {
+            closed = true;
+            condition.signalAll();
+        } finally {
+            lock.unlock();
+        }
+
+        // Closing the underlying stream aborts a read the fill task may be blocked in.
+        delegate.close();
+
+        lock.lock();
+
+        try {
+            while (filling) {
+                condition.awaitUninterruptibly();
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        // The fill task may have reopened the underlying stream before it noticed that this stream was closed.
+        delegate.close();
+    }
+
+    /**
+     * @return Number of bytes read ahead of the current position.
+     */
+    public long getBufferedBytes() {
+        lock.lock();
+
+        try {
+            return windowEnd - readPosition;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return Maximum number of bytes read ahead of the current position.
+     */
+    public int getReadAheadLimit() {
+        return readAheadLimit;
+    }
+
+    /**
+     * @return Number of times the reader had to wait for data from the underlying stream.
+     */
+    public long getStallCount() {
+        lock.lock();
+
+        try {
+            return stallCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return Total time in milliseconds the reader has waited for data from the underlying stream.
+     */
+    public long getStallTime() {
+        lock.lock();
+
+        try {
+            return TimeUnit.NANOSECONDS.toMillis(stallNanos);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean awaitData() throws IOException {
+        if (readPosition < windowEnd) {
+            return true;
+        }
+
+        long stallStart = 0;
+
+        try {
+            while (readPosition >= windowEnd) {
+                if (closed) {
+                    throw new IOException("Stream is closed.");
+                } else if (failure != null) {
+                    Throwable error = failure;
+                    failure = null;
+                    throw rethrowFailure(error);
+                } else if (endOfStream) {
+                    return false;
+                }
+
+                scheduleFill();
+
+                if (stallStart == 0) {
+                    stallStart = System.nanoTime();
+                    stallCount++;
+                }
+
+                condition.await();
+            }
+
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException();
+        } finally {
+            if (stallStart != 0) {
+                stallNanos += System.nanoTime() - stallStart;
+            }
+        }
+    }
+
+    private void scheduleFill() {
+        if (filling || closed || endOfStream || failure != null || windowEnd - readPosition > readAheadLimit - chunkSize) {
+            return;
+        }
+
+        filling = true;
+
+        try {
+            executor.execute(this::fill);
+        } catch (RejectedExecutionException e) {
+            filling = false;
+            failure = e;
+            condition.signalAll();
+        }
+    }
+
+    private void fill() {
+        while (true) {
+            long position;
+            long fillGeneration;
+            int index;
+            int length;
+
+            lock.lock();
+
+            try {
+                long ahead = windowEnd - readPosition;
+
+                if (closed || endOfStream || failure != null || ahead >= readAheadLimit) {
+                    filling = false;
+                    condition.signalAll();
+                    return;
+                }
+
+                length = (int) Math.min(chunkSize, readAheadLimit - ahead);
+                // Drop the oldest history to make room, the read-ahead limit keeps this behind the read position.
+                windowStart = Math.max(windowStart, windowEnd + length - buffer.length);
+                index = bufferIndex(windowEnd);
+                length = Math.min(length, buffer.length - index);
+                position = windowEnd;
+                fillGeneration = generation;
+            } finally {
+                lock.unlock();
+            }
+
+            int result = 0;
+            Throwable error = null;
+
+            try {
+                if (delegate.getPosition() != position) {
+                    delegate.seek(position);
+                }
+
+                result = delegate.read(buffer, index, length);
+            } catch (IOException | RuntimeException e) {
+                error = e;
+            }
+
+            lock.lock();
+
+            try {
+                if (fillGeneration == generation && !closed) {
+                    if (error != null) {
+                        failure = error;
+                    } else if (result < 0) {
+                        endOfStream = true;
+                    } else {
+                        windowEnd += result;
+                    }
+
+                    condition.signalAll();
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private int bufferIndex(long position) {
+        return (int) (position % buffer.length);
+    }
+
+    private static IOException rethrowFailure(Throwable failure) {
+        // Unchecked exceptions are rethrown as they are, as their type may carry meaning, like a friendly exception.
+        if (failure instanceof RuntimeException) {
+            throw (RuntimeException) failure;
+        }
+
+        return new IOException("Reading ahead from the underlying stream failed.", failure);
+    }
+}
@@ -5,14 +5,19 @@ import com.sedmelluq.discord.lavaplayer.track.info.AudioTrackInfoProvider;
 import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.util.List;
 
 /**
  * An input stream that is seekable.
  */
 public abstract class SeekableInputStream extends InputStream {
+    private static final int TRANSFER_SIZE = 8192;
+
     protected long contentLength;
     private final long maxSkipDistance;
+    private byte[] transferBuffer;
+    private ByteBuffer sliceBuffer;
 
     /**
      * @param contentLength   Total stream length
@@ -101,5 +106,67 @@ public abstract class SeekableInputStream extends InputStream {
         }
     }
 
+    /**
+     * Read bytes into the remaining space of a buffer, advancing its position by the number of bytes read. Streams
+     * which hold the data in memory override this to copy it directly into the buffer, otherwise direct buffers are
+     * filled through a small intermediate array.
+     *
+     * @param target Buffer to read into
+     * @return Number of bytes read, -1 if the stream has ended.
+     * @throws IOException On read error
+     */
+    public int readInto(ByteBuffer target) throws IOException {
+        if (!target.hasRemaining()) {
+            return 0;
+        } else if (target.hasArray()) {
+            int read = read(target.array(), target.arrayOffset() + target.position(), target.remaining());
+
+            if (read > 0) {
+                target.position(target.position() + read);
+            }
+
+            return read;
+        }
+
+        if (transferBuffer == null) {
+            transferBuffer = new byte[TRANSFER_SIZE];
+        }
+
+        int read = read(transferBuffer, 0, Math.min(target.remaining(), transferBuffer.length));
+
+        if (read > 0) {
+            target.put(transferBuffer, 0, read);
+        }
+
+        return read;
+    }
+
+    /**
+     * Read the specified number of bytes as a buffer. Implementations which hold the data in memory return a view of it
+     * without copying, others read it into a buffer which is reused by the next call, so the contents of the returned
+     * buffer are only guaranteed to be valid until the next read from this stream. The buffer must not be modified.
+     *
+     * @param length Number of bytes to read
+     * @return Buffer where the range between position and limit contains the next length bytes of the stream.
+     * @throws IOException On read error or if the stream ends before length bytes
+     */
+    public ByteBuffer slice(int length) throws IOException {
+        if (sliceBuffer == null || sliceBuffer.capacity() < length) {
+            sliceBuffer = ByteBuffer.allocate(length * 2);
+        }
+
+        sliceBuffer.clear();
+        sliceBuffer.limit(length);
+
+        while (sliceBuffer.hasRemaining()) {
+            if (readInto(sliceBuffer) < 0) {
+                throw new EOFException("Stream ended " + sliceBuffer.remaining() + " bytes before the end of slice.");
+            }
+        }
+
+        sliceBuffer.flip();
+        return sliceBuffer;
+    }
+
     public abstract List<AudioTrackInfoProvider> getTrackInfoProviders();
 }
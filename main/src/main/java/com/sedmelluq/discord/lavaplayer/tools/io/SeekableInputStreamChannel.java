@@ -0,0 +1,47 @@
+package com.sedmelluq.discord.lavaplayer.tools.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.spi.AbstractInterruptibleChannel;
+
+/**
+ * Readable byte channel which reads from a seekable input stream with {@link SeekableInputStream#readInto(ByteBuffer)},
+ * so streams which hold their data in memory copy it directly into the buffer of the reader. Like the channel returned
+ * by {@link java.nio.channels.Channels#newChannel(java.io.InputStream)}, an interrupt during a read closes the channel
+ * and the stream, which aborts a read that is blocked in the stream.
+ */
+public class SeekableInputStreamChannel extends AbstractInterruptibleChannel implements ReadableByteChannel {
+    private final SeekableInputStream inputStream;
+
+    /**
+     * @param inputStream The stream to read from
+     */
+    public SeekableInputStreamChannel(SeekableInputStream inputStream) {
+        this.inputStream = inputStream;
+    }
+
+    @Override
+    public int read(ByteBuffer output) throws IOException {
+        if (!isOpen()) {
+            throw new ClosedChannelException();
+        }
+
+        boolean completed = false;
+
+        try {
+            begin();
+            int result = inputStream.readInto(output);
+            completed = true;
+            return result;
+        } finally {
+            end(completed);
+        }
+    }
+
+    @Override
+    protected void implCloseChannel() throws IOException {
+        inputStream.close();
+    }
+}
@@ -0,0 +1,365 @@
+package com.sedmelluq.discord.lavaplayer.tools.io;
+
+import com.sedmelluq.discord.lavaplayer.tools.Units;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A cache of remote media on the local disk, so that tracks which are played often can be read from disk instead of
+ * being downloaded again every time. Each resource is identified by a key chosen by its source, which must change when
+ * the content changes, such as a video id with the format, or a URL with its ETag. The content of a resource is
+ * stored in fixed-size segments in a sparse file of its full length, which is read and written with positional file
+ * channel operations, so only the parts which have actually been played take disk space. Streams read a whole segment
+ * at a time, so the cache is only accessed once per segment.
+ * <p>
+ * The total size of all stored segments is kept under a size budget by evicting whole resources, least recently used
+ * first. A resource which is evicted while a stream still reads it stays readable for that stream and its file is
+ * deleted once the stream is closed. The index of the cache is only kept in memory, so the files left in the
+ * directory by a previous instance are deleted when the cache is created.
+ */
+public class SegmentCache {
+    private static final Logger log = LoggerFactory.getLogger(SegmentCache.class);
+
+    public static final int DEFAULT_SEGMENT_SIZE = 256 * 1024;
+
+    private static final String FILE_SUFFIX = ".segments";
+
+    private final Path directory;
+    private final long maximumSize;
+    private final int segmentSize;
+    private final ReentrantLock lock;
+    private final Map<String, Entry> entries;
+    private long size;
+    private long fileCounter;
+    private long hitCount;
+    private long missCount;
+
+    /**
+     * @param directory   Directory to store the cached content in, created if it does not exist
+     * @param maximumSize Maximum total size of the cached content in bytes
+     * @throws IOException If the directory cannot be created or cleaned up
+     */
+    public SegmentCache(Path directory, long maximumSize) throws IOException {
+        this(directory, maximumSize, DEFAULT_SEGMENT_SIZE);
+    }
+
+    /**
+     * @param directory   Directory to store the cached content in, created if it does not exist
+     * @param maximumSize Maximum total size of the cached content in bytes
+     * @param segmentSize Size of the segments in bytes, which is also how much is downloaded at once on a cache miss
+     * @throws IOException If the directory cannot be created or cleaned up
+     */
+    public SegmentCache(Path directory, long maximumSize, int segmentSize) throws IOException {
+        this.directory = directory;
+        this.maximumSize = maximumSize;
+        this.segmentSize = Math.max(4096, segmentSize);
+        this.lock = new ReentrantLock();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+
+        Files.createDirectories(directory);
+
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + FILE_SUFFIX)) {
+            for (Path file : files) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    /**
+     * @param cache    The cache to use, may be null
+     * @param key      Key which identifies the content of the stream
+     * @param delegate The stream to read the content from on a cache miss
+     * @return A stream which reads through the cache, or the delegate itself if there is no cache or the content of the
+     * stream cannot be cached.
+     */
+    public static SeekableInputStream wrap(SegmentCache cache, String key, SeekableInputStream delegate) {
+        return cache != null ? cache.wrap(key, delegate) : delegate;
+    }
+
+    /**
+     * @param key      Key which identifies the content of the stream
+     * @param delegate The stream to read the content from on a cache miss, closed when the returned stream is closed
+     * @return A stream which reads through the cache, or the delegate itself if its length is unknown or does not fit
+     * in the cache.
+     */
+    public SeekableInputStream wrap(String key, SeekableInputStream delegate) {
+        long contentLength = delegate.getContentLength();
+
+        if (key == null || contentLength == Units.CONTENT_LENGTH_UNKNOWN || contentLength <= 0 ||
+            contentLength > Math.min(maximumSize, Integer.MAX_VALUE)) {
+
+            return delegate;
+        }
+
+        try {
+            return new CachingSeekableInputStream(this, acquire(key, contentLength), delegate);
+        } catch (IOException e) {
+            log.warn("Failed to create cache file for {}, reading without cache.", key, e);
+            return delegate;
+        }
+    }
+
+    /**
+     * @return Total size of the cached content in bytes.
+     */
+    public long getSize() {
+        lock.lock();
+
+        try {
+            return size;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return Maximum total size of the cached content in bytes.
+     */
+    public long getMaximumSize() {
+        return maximumSize;
+    }
+
+    /**
+     * @return Number of segments which were read from the cache.
+     */
+    public long getHitCount() {
+        lock.lock();
+
+        try {
+            return hitCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return Number of segments which were downloaded because they were not in the cache.
+     */
+    public long getMissCount() {
+        lock.lock();
+
+        try {
+            return missCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Remove all content from the cache. Content which is currently being read is deleted once its stream is closed.
+     */
+    public void clear() {
+        lock.lock();
+
+        try {
+            for (Entry entry : entries.values()) {
+                evict(entry);
+            }
+
+            entries.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int getSegmentSize() {
+        return segmentSize;
+    }
+
+    boolean readSegment(Entry entry, int index, byte[] buffer, int length) throws IOException {
+        lock.lock();
+
+        try {
+            if (!entry.segments.get(index)) {
+                missCount++;
+                return false;
+            }
+
+            hitCount++;
+
+            if (!entry.evicted) {
+                // Only to update the position of the entry in the eviction order.
+                entries.get(entry.key);
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        // Stored segments are never modified, and the file stays open while the entry has users, so it can be read
+        // without holding the lock.
+        ByteBuffer target = ByteBuffer.wrap(buffer, 0, length);
+        long position = (long) index * segmentSize;
+
+        while (target.hasRemaining()) {
+            if (entry.channel.read(target, position + target.position()) < 0) {
+                throw new EOFException("Cache file of " + entry.key + " ended before the end of segment " + index + ".");
+            }
+        }
+
+        return true;
+    }
+
+    void storeSegment(Entry entry, int index, byte[] data, int length) {
+        lock.lock();
+
+        try {
+            // Another stream of the same content may be storing the same segment.
+            if (entry.evicted || entry.accountedSegments.get(index)) {
+                return;
+            }
+
+            entry.accountedSegments.set(index);
+            size += length;
+            entry.storedBytes += length;
+            evictOverBudget(entry);
+        } finally {
+            lock.unlock();
+        }
+
+        try {
+            ByteBuffer source = ByteBuffer.wrap(data, 0, length);
+            long position = (long) index * segmentSize;
+
+            while (source.hasRemaining()) {
+                entry.channel.write(source, position + source.position());
+            }
+        } catch (IOException e) {
+            log.warn("Failed to store segment {} of {} in cache.", index, entry.key, e);
+
+            lock.lock();
+
+            try {
+                if (!entry.evicted) {
+                    entry.accountedSegments.clear(index);
+                    size -= length;
+                    entry.storedBytes -= length;
+                }
+            } finally {
+                lock.unlock();
+            }
+
+            return;
+        }
+
+        lock.lock();
+
+        try {
+            entry.segments.set(index);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void release(Entry entry) {
+        lock.lock();
+
+        try {
+            entry.users--;
+
+            if (entry.evicted && entry.users == 0) {
+                deleteFile(entry);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Entry acquire(String key, long contentLength) throws IOException {
+        lock.lock();
+
+        try {
+            Entry entry = entries.get(key);
+
+            if (entry != null && entry.contentLength == contentLength) {
+                entry.users++;
+                return entry;
+            } else if (entry != null) {
+                // Same key with a different length means the key did not change with the content.
+                entries.remove(key);
+                evict(entry);
+            }
+
+            Path file = directory.resolve("entry-" + (fileCounter++) + FILE_SUFFIX);
+
+            // The file only takes disk space for the segments written to it.
+            FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.SPARSE);
+
+            entry = new Entry(key, file, channel, contentLength);
+            entries.put(key, entry);
+            return entry;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void evictOverBudget(Entry current) {
+        Iterator<Entry> iterator = entries.values().iterator();
+
+        while (size > maximumSize && iterator.hasNext()) {
+            Entry entry = iterator.next();
+
+            if (entry != current) {
+                iterator.remove();
+                evict(entry);
+            }
+        }
+    }
+
+    private void evict(Entry entry) {
+        log.debug("Evicting {} bytes of {} from cache.", entry.storedBytes, entry.key);
+
+        entry.evicted = true;
+        size -= entry.storedBytes;
+
+        if (entry.users == 0) {
+            deleteFile(entry);
+        }
+    }
+
+    private void deleteFile(Entry entry) {
+        try {
+            // Closed first, as an open file cannot be deleted on every platform.
+            entry.channel.close();
+            Files.deleteIfExists(entry.file);
+        } catch (IOException e) {
+            log.warn("Failed to delete cache file {}.", entry.file, e);
+        }
+    }
+
+    static class Entry {
+        private final String key;
+        private final Path file;
+        private final FileChannel channel;
+        private final long contentLength;
+        private final BitSet segments;
+        private final BitSet accountedSegments;
+        private long storedBytes;
+        private int users;
+        private boolean evicted;
+
+        private Entry(String key, Path file, FileChannel channel, long contentLength) {
+            this.key = key;
+            this.file = file;
+            this.channel = channel;
+            this.contentLength = contentLength;
+            this.segments = new BitSet();
+            this.accountedSegments = new BitSet();
+            this.users = 1;
+        }
+    }
+}
@@ -2,20 +2,51 @@ package com.sedmelluq.discord.lavaplayer.track.playback;
 
 import com.sedmelluq.discord.lavaplayer.format.AudioDataFormat;
 
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
 /**
- * Common parts of a frame buffer which are not likely to depend on the specific implementation.
+ * Common parts of a frame buffer which are not likely to depend on the specific implementation. Buffers created with
+ * {@link #AbstractAudioFrameBuffer(AudioDataFormat, ReentrantLock)} use a lock instead of an object monitor, so that
+ * blocking on the buffer does not pin the carrier thread when playing on virtual threads. Buffers created with
+ * {@link #AbstractAudioFrameBuffer(AudioDataFormat)} keep synchronizing on {@link #synchronizer} as before.
  */
 public abstract class AbstractAudioFrameBuffer implements AudioFrameBuffer {
     protected final AudioDataFormat format;
+    protected final ReentrantLock lock;
+    protected final Condition condition;
+    /**
+     * @deprecated Only used by buffers created with {@link #AbstractAudioFrameBuffer(AudioDataFormat)}, new buffers
+     * should use {@link #lock} and {@link #condition}, which do not pin the carrier thread of a virtual thread.
+     */
+    @Deprecated
     protected final Object synchronizer;
+    private final boolean monitorLocking;
     protected volatile boolean locked;
     protected volatile boolean receivedFrames;
     protected boolean terminated;
     protected boolean terminateOnEmpty;
-    protected boolean clearOnInsert;
+    protected volatile boolean clearOnInsert;
 
+    /**
+     * Create a buffer which synchronizes on {@link #synchronizer}, subclasses are expected to call
+     * <code>synchronizer.notifyAll()</code> in {@link #signalWaiters()}.
+     *
+     * @param format Format of the frames in the buffer
+     */
     protected AbstractAudioFrameBuffer(AudioDataFormat format) {
+        this(format, null);
+    }
+
+    /**
+     * @param format Format of the frames in the buffer
+     * @param lock   Lock to use instead of the object monitor, null to synchronize on {@link #synchronizer}
+     */
+    protected AbstractAudioFrameBuffer(AudioDataFormat format, ReentrantLock lock) {
         this.format = format;
+        this.monitorLocking = lock == null;
+        this.lock = monitorLocking ? new ReentrantLock() : lock;
+        this.condition = this.lock.newCondition();
         this.synchronizer = new Object();
         locked = false;
         receivedFrames = false;
@@ -26,34 +57,77 @@ public abstract class AbstractAudioFrameBuffer implements AudioFrameBuffer {
 
     @Override
     public void waitForTermination() throws InterruptedException {
-        synchronized (synchronizer) {
+        if (monitorLocking) {
+            synchronized (synchronizer) {
+                while (!terminated) {
+                    synchronizer.wait();
+                }
+            }
+
+            return;
+        }
+
+        lock.lockInterruptibly();
+
+        try {
             while (!terminated) {
-                synchronizer.wait();
+                condition.await();
             }
+        } finally {
+            lock.unlock();
         }
     }
 
     @Override
     public void setTerminateOnEmpty() {
-        synchronized (synchronizer) {
-            // Count this also as inserting the terminator frame, hence trigger clearOnInsert
-            if (clearOnInsert) {
-                clear();
-                clearOnInsert = false;
+        if (monitorLocking) {
+            synchronized (synchronizer) {
+                applyTerminateOnEmpty();
             }
 
-            if (!terminated) {
-                terminateOnEmpty = true;
-                signalWaiters();
-            }
+            return;
+        }
+
+        lock.lock();
+
+        try {
+            applyTerminateOnEmpty();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void applyTerminateOnEmpty() {
+        // Count this also as inserting the terminator frame, hence trigger clearOnInsert
+        if (clearOnInsert) {
+            clear();
+            clearOnInsert = false;
+        }
+
+        if (!terminated) {
+            terminateOnEmpty = true;
+            signalWaiters();
         }
     }
 
     @Override
     public void setClearOnInsert() {
-        synchronized (synchronizer) {
+        if (monitorLocking) {
+            synchronized (synchronizer) {
+                clearOnInsert = true;
+                terminateOnEmpty = false;
+            }
+
+            return;
+        }
+
+        lock.lock();
+
+        try {
             clearOnInsert = true;
             terminateOnEmpty = false;
+        } finally {
+            lock.unlock();
         }
     }
 
@@ -0,0 +1,303 @@
+package com.sedmelluq.discord.lavaplayer.track.playback;
+
+import com.sedmelluq.discord.lavaplayer.format.AudioDataFormat;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Frame buffer which passes everything through to another frame buffer, but only lets the consuming side fill it up
+ * to a target number of frames which adapts to the source as described in {@link AdaptiveBufferPolicy}. The capacity
+ * reported by this buffer is relative to the target, so a {@link DecodeScheduler} applied on top of it paces the
+ * decoding within the target. The target is only updated by the decoding thread of the track, the providing side
+ * only records underruns for it.
+ */
+public class AdaptiveAudioFrameBuffer implements AudioFrameBuffer {
+    private final AudioFrameBuffer delegate;
+    private final AudioDataFormat format;
+    private final int minimumFrames;
+    private final int maximumFrames;
+    private final long stableIntervalNanos;
+    private final long frameDurationNanos;
+    private final AtomicBoolean stopping;
+    private final AtomicLong producedFrames;
+    private final AtomicLong providedFrames;
+    private volatile int targetFrames;
+    private volatile long underrunCount;
+    private volatile boolean delivering;
+    private long handledUnderruns;
+    private long lastProducedTime;
+    private long pacingTime;
+    private long intervalStartTime;
+    private long intervalStall;
+    private long previousIntervalStall;
+
+    /**
+     * @param delegate The frame buffer to pass frames to, its full capacity is the upper limit of the target
+     * @param policy   Policy which decides how the target adapts
+     * @param format   Format of the frames in the buffer
+     */
+    public AdaptiveAudioFrameBuffer(AudioFrameBuffer delegate, AdaptiveBufferPolicy policy, AudioDataFormat format) {
+        this(delegate, policy, format, null);
+    }
+
+    /**
+     * @param delegate The frame buffer to pass frames to, its full capacity is the upper limit of the target
+     * @param policy   Policy which decides how the target adapts
+     * @param format   Format of the frames in the buffer
+     * @param stopping Atomic boolean which has true value when the track is in a state of pending stop.
+     */
+    public AdaptiveAudioFrameBuffer(AudioFrameBuffer delegate, AdaptiveBufferPolicy policy, AudioDataFormat format,
+                                    AtomicBoolean stopping) {
+
+        this.delegate = delegate;
+        this.stopping = stopping;
+        this.format = format;
+        this.maximumFrames = Math.max(1, delegate.getFullCapacity());
+        this.minimumFrames = Math.min(maximumFrames,
+            Math.max(1, (int) Math.ceil((double) policy.getMinimumDuration() / format.frameDuration())));
+        this.stableIntervalNanos = TimeUnit.MILLISECONDS.toNanos(policy.getStableInterval());
+        this.frameDurationNanos = TimeUnit.MILLISECONDS.toNanos(format.frameDuration());
+        this.producedFrames = new AtomicLong();
+        this.providedFrames = new AtomicLong();
+        this.targetFrames = minimumFrames;
+        this.intervalStartTime = System.nanoTime();
+    }
+
+    /**
+     * @return Current target duration of the buffer in milliseconds.
+     */
+    public long getTargetDuration() {
+        return targetFrames * format.frameDuration();
+    }
+
+    /**
+     * @return Number of times the buffer ran empty in the middle of playback.
+     */
+    public long getUnderrunCount() {
+        return underrunCount;
+    }
+
+    @Override
+    public void consume(AudioFrame frame) throws InterruptedException {
+        boolean clearing = beforeProduce();
+        delegate.consume(frame);
+        afterProduce(clearing);
+    }
+
+    @Override
+    public ByteBuffer reserve(int maximumLength) throws InterruptedException {
+        // The reservation is counted as produced only when it is committed.
+        boolean clearing = beforeProduce();
+        ByteBuffer reserved = delegate.reserve(maximumLength);
+
+        if (clearing && reserved != null) {
+            providedFrames.set(producedFrames.get());
+        }
+
+        return reserved;
+    }
+
+    @Override
+    public void commit(long timecode, int volume, int length) {
+        delegate.commit(timecode, volume, length);
+        afterProduce(false);
+    }
+
+    private boolean beforeProduce() throws InterruptedException {
+        long now = System.nanoTime();
+        boolean clearing = delegate.hasClearOnInsert();
+
+        // The time between frames after a seek includes the seek itself, which says nothing about the source.
+        if (lastProducedTime != 0 && !clearing) {
+            intervalStall = Math.max(intervalStall, now - lastProducedTime - pacingTime);
+        }
+
+        adjustTarget(now);
+
+        // A pending clear after a seek frees the whole buffer, waiting for it to drain would only delay the seek.
+        if (!clearing) {
+            int excess;
+
+            while ((excess = getBufferedFrames() - targetFrames + 1) > 0) {
+                // The player stops providing frames once the track is stopped, so if the interrupt sent along with it
+                // was consumed elsewhere, the buffered frame count would never drop and this would wait forever.
+                if (stopping != null && stopping.get()) {
+                    throw new InterruptedException();
+                }
+
+                Thread.sleep(excess * format.frameDuration());
+            }
+        }
+
+        return clearing;
+    }
+
+    private void afterProduce(boolean cleared) {
+        if (cleared) {
+            providedFrames.set(producedFrames.get());
+        }
+
+        producedFrames.incrementAndGet();
+        lastProducedTime = System.nanoTime();
+        pacingTime = 0;
+    }
+
+    /**
+     * Exclude time the decoding thread spent waiting on purpose from the time it took the source to produce the next
+     * frame, so that pacing by a {@link ScheduledAudioFrameBuffer} on top of this buffer is not mistaken for the source
+     * stalling. Only called by the decoding thread.
+     *
+     * @param nanos Time spent waiting in nanoseconds
+     */
+    void addPacingTime(long nanos) {
+        pacingTime += nanos;
+    }
+
+    private void adjustTarget(long now) {
+        long underruns = underrunCount;
+        int target = targetFrames;
+
+        if (underruns != handledUnderruns) {
+            handledUnderruns = underruns;
+            target *= 2;
+            intervalStartTime = now;
+        } else if (now - intervalStartTime >= stableIntervalNanos) {
+            target -= target / 4;
+            previousIntervalStall = intervalStall;
+            intervalStall = 0;
+            intervalStartTime = now;
+        }
+
+        long stall = Math.max(intervalStall, previousIntervalStall);
+        int stallFrames = (int) Math.min(maximumFrames, (2 * stall + frameDurationNanos - 1) / frameDurationNanos);
+
+        targetFrames = Math.min(maximumFrames, Math.max(target, Math.max(minimumFrames, stallFrames)));
+    }
+
+    private int getBufferedFrames() {
+        return (int) Math.max(0, producedFrames.get() - providedFrames.get());
+    }
+
+    private void onProvided(boolean provided, boolean terminator) {
+        if (provided) {
+            delivering = true;
+
+            if (!terminator) {
+                providedFrames.incrementAndGet();
+            }
+        } else if (delivering) {
+            delivering = false;
+
+            if (!delegate.hasClearOnInsert()) {
+                underrunCount++;
+            }
+        }
+    }
+
+    @Override
+    public void rebuild(AudioFrameRebuilder rebuilder) {
+        delegate.rebuild(rebuilder);
+    }
+
+    @Override
+    public AudioFrame provide() {
+        AudioFrame frame = delegate.provide();
+        onProvided(frame != null, frame != null && frame.isTerminator());
+        return frame;
+    }
+
+    @Override
+    public AudioFrame provide(long timeout, TimeUnit unit) throws TimeoutException, InterruptedException {
+        try {
+            AudioFrame frame = delegate.provide(timeout, unit);
+            onProvided(frame != null, frame != null && frame.isTerminator());
+            return frame;
+        } catch (TimeoutException e) {
+            onProvided(false, false);
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean provide(MutableAudioFrame targetFrame) {
+        boolean provided = delegate.provide(targetFrame);
+        onProvided(provided, provided && targetFrame.isTerminator());
+        return provided;
+    }
+
+    @Override
+    public boolean provide(MutableAudioFrame targetFrame, long timeout, TimeUnit unit)
+        throws TimeoutException, InterruptedException {
+
+        try {
+            boolean provided = delegate.provide(targetFrame, timeout, unit);
+            onProvided(provided, provided && targetFrame.isTerminator());
+            return provided;
+        } catch (TimeoutException e) {
+            onProvided(false, false);
+            throw e;
+        }
+    }
+
+    @Override
+    public int getRemainingCapacity() {
+        return Math.max(0, Math.min(delegate.getRemainingCapacity(), targetFrames - getBufferedFrames()));
+    }
+
+    @Override
+    public int getFullCapacity() {
+        return targetFrames;
+    }
+
+    @Override
+    public void waitForTermination() throws InterruptedException {
+        delegate.waitForTermination();
+    }
+
+    @Override
+    public void setTerminateOnEmpty() {
+        delegate.setTerminateOnEmpty();
+    }
+
+    @Override
+    public void setClearOnInsert() {
+        delegate.setClearOnInsert();
+    }
+
+    @Override
+    public boolean hasClearOnInsert() {
+        return delegate.hasClearOnInsert();
+    }
+
+    @Override
+    public void clear() {
+        // Running empty after a clear is not an underrun of the source.
+        delivering = false;
+        delegate.clear();
+        providedFrames.set(producedFrames.get());
+    }
+
+    @Override
+    public void lockBuffer() {
+        delegate.lockBuffer();
+    }
+
+    @Override
+    public boolean hasReceivedFrames() {
+        return delegate.hasReceivedFrames();
+    }
+
+    @Override
+    public Long getLastInputTimecode() {
+        return delegate.getLastInputTimecode();
+    }
+
+    @Override
+    public void dispose() {
+        delegate.dispose();
+    }
+}
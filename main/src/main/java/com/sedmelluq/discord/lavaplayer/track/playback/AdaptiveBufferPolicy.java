@@ -0,0 +1,77 @@
+package com.sedmelluq.discord.lavaplayer.track.playback;
+
+import com.sedmelluq.discord.lavaplayer.format.AudioDataFormat;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Sizes the effective frame buffer of locally executed tracks by how reliably their source delivers data, instead of
+ * always filling the whole configured frame buffer duration. The frame buffer duration becomes the upper limit, and the
+ * decoding of a track pauses once it has buffered its current target duration. The target starts at the minimum
+ * duration, and:
+ * <ul>
+ *   <li>doubles whenever the consumer finds the buffer empty in the middle of playback</li>
+ *   <li>is kept at least twice as long as the longest recent pause between two frames produced by the source, which
+ *   covers the latency jitter of reading from the source</li>
+ *   <li>shrinks by a quarter after each stable interval without underruns, down to the floor given by the above.</li>
+ * </ul>
+ * Local files and cached content settle at the minimum duration, while flaky remote streams keep a larger buffer. With
+ * {@link AllocatingAudioFrameBuffer}, this directly reduces the memory held by buffered frames.
+ */
+public class AdaptiveBufferPolicy {
+    public static final int DEFAULT_MINIMUM_DURATION = 1000;
+    public static final long DEFAULT_STABLE_INTERVAL = TimeUnit.SECONDS.toMillis(30);
+
+    private final int minimumDuration;
+    private final long stableInterval;
+
+    /**
+     * Create a policy with the default minimum duration and stable interval.
+     */
+    public AdaptiveBufferPolicy() {
+        this(DEFAULT_MINIMUM_DURATION, DEFAULT_STABLE_INTERVAL);
+    }
+
+    /**
+     * @param minimumDuration Minimum target duration of the buffer in milliseconds
+     * @param stableInterval  Time in milliseconds without underruns after which the target duration is reduced
+     */
+    public AdaptiveBufferPolicy(int minimumDuration, long stableInterval) {
+        this.minimumDuration = Math.max(0, minimumDuration);
+        this.stableInterval = Math.max(1, stableInterval);
+    }
+
+    /**
+     * @return Minimum target duration of the buffer in milliseconds.
+     */
+    public int getMinimumDuration() {
+        return minimumDuration;
+    }
+
+    /**
+     * @return Time in milliseconds without underruns after which the target duration is reduced.
+     */
+    public long getStableInterval() {
+        return stableInterval;
+    }
+
+    /**
+     * @param frameBuffer Frame buffer of a track, its full capacity is the upper limit of the target duration
+     * @param format      Format of the frames in the buffer
+     * @return Frame buffer which applies this policy to the frames consumed by it.
+     */
+    public AudioFrameBuffer apply(AudioFrameBuffer frameBuffer, AudioDataFormat format) {
+        return apply(frameBuffer, format, null);
+    }
+
+    /**
+     * @param frameBuffer Frame buffer of a track, its full capacity is the upper limit of the target duration
+     * @param format      Format of the frames in the buffer
+     * @param stopping    Atomic boolean which has true value when the track is in a state of pending stop.
+     * @return Frame buffer which applies this policy to the frames consumed by it.
+     */
+    public AudioFrameBuffer apply(AudioFrameBuffer frameBuffer, AudioDataFormat format, AtomicBoolean stopping) {
+        return new AdaptiveAudioFrameBuffer(frameBuffer, this, format, stopping);
+    }
+}
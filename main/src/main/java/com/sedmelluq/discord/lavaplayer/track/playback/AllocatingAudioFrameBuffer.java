@@ -10,6 +10,7 @@ import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * A frame buffer. Stores the specified duration worth of frames in the internal buffer.
@@ -28,7 +29,7 @@ public class AllocatingAudioFrameBuffer extends AbstractAudioFrameBuffer {
      * @param stopping       Atomic boolean which has true value when the track is in a state of pending stop.
      */
     public AllocatingAudioFrameBuffer(int bufferDuration, AudioDataFormat format, AtomicBoolean stopping) {
-        super(format);
+        super(format, new ReentrantLock());
         this.fullCapacity = bufferDuration / 20 + 1;
         this.audioFrames = new ArrayBlockingQueue<>(fullCapacity);
         this.stopping = stopping;
@@ -145,12 +146,16 @@ public class AllocatingAudioFrameBuffer extends AbstractAudioFrameBuffer {
     public Long getLastInputTimecode() {
         Long lastTimecode = null;
 
-        synchronized (synchronizer) {
+        lock.lock();
+
+        try {
             if (!clearOnInsert) {
                 for (AudioFrame frame : audioFrames) {
                     lastTimecode = frame.getTimecode();
                 }
             }
+        } finally {
+            lock.unlock();
         }
 
         return lastTimecode;
@@ -182,13 +187,17 @@ public class AllocatingAudioFrameBuffer extends AbstractAudioFrameBuffer {
     }
 
     private AudioFrame fetchPendingTerminator() {
-        synchronized (synchronizer) {
+        lock.lock();
+
+        try {
             if (terminateOnEmpty) {
                 terminateOnEmpty = false;
                 terminated = true;
-                synchronizer.notifyAll();
+                condition.signalAll();
                 return TerminatorAudioFrame.INSTANCE;
             }
+        } finally {
+            lock.unlock();
         }
 
         return null;
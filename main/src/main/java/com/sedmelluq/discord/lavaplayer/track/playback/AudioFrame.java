@@ -2,6 +2,8 @@ package com.sedmelluq.discord.lavaplayer.track.playback;
 
 import com.sedmelluq.discord.lavaplayer.format.AudioDataFormat;
 
+import java.nio.ByteBuffer;
+
 /**
  * Represents an audio frame.
  */
@@ -35,6 +37,17 @@ public interface AudioFrame {
      */
     void getData(byte[] buffer, int offset);
 
+    /**
+     * Before calling this method, the caller should verify that the data fits in the buffer using
+     * {@link #getDataLength()}.
+     *
+     * @param buffer Buffer to write the frame data to, starting at its current position. The position is advanced by
+     *               the length of the data.
+     */
+    default void getData(ByteBuffer buffer) {
+        buffer.put(getData());
+    }
+
     /**
      * @return The data format of this buffer.
      */
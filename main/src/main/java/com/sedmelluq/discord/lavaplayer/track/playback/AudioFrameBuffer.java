@@ -1,5 +1,7 @@
 package com.sedmelluq.discord.lavaplayer.track.playback;
 
+import java.nio.ByteBuffer;
+
 /**
  * A frame buffer. Stores the specified duration worth of frames in the internal buffer.
  * Consumes frames in a blocking manner and provides frames in a non-blocking manner.
@@ -60,4 +62,42 @@ public interface AudioFrameBuffer extends AudioFrameProvider, AudioFrameConsumer
      * receiving the next frame.
      */
     Long getLastInputTimecode();
+
+    /**
+     * Reserve space for the data of the next frame, so that the producer can encode it in place instead of handing over
+     * a frame to be copied with {@link #consume(AudioFrame)}. Blocks until there is space like consume does. The
+     * reservation must be completed with {@link #commit(long, int, int)}, a reservation which is not committed is
+     * discarded by the next one.
+     *
+     * @param maximumLength Maximum length of the frame data
+     * @return Buffer positioned at the reserved space with at least the requested amount remaining, which may only be
+     * written to until the commit. <code>null</code> if this buffer does not support reservations or currently does not
+     * accept frames, in which case the frame should be passed to {@link #consume(AudioFrame)} instead.
+     * @throws InterruptedException When interrupted externally (or for seek/stop).
+     */
+    default ByteBuffer reserve(int maximumLength) throws InterruptedException {
+        return null;
+    }
+
+    /**
+     * Publish the frame written into the space returned by the last {@link #reserve(int)} call. May only be called after
+     * reserve returned a buffer, which buffers that do not support reservations never do.
+     *
+     * @param timecode Timecode of the frame
+     * @param volume   Volume of the frame
+     * @param length   Length of the frame data written to the reserved space
+     * @throws IllegalStateException If there is no reservation to commit
+     */
+    default void commit(long timecode, int volume, int length) {
+        throw new IllegalStateException("Frame buffer does not support reservations, so there is nothing to commit.");
+    }
+
+    /**
+     * Signal that the executor is done with this buffer: no more frames will be added to it, and once the track is
+     * stopped, no more frames will be requested from it either. Buffers which hold resources that can be reused by
+     * other buffers release them here.
+     */
+    default void dispose() {
+        // Nothing to release by default
+    }
 }
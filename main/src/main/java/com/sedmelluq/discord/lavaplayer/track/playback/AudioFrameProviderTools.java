@@ -2,6 +2,7 @@ package com.sedmelluq.discord.lavaplayer.track.playback;
 
 import com.sedmelluq.discord.lavaplayer.tools.ExceptionTools;
 
+import java.nio.ByteBuffer;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
@@ -21,4 +22,37 @@ public class AudioFrameProviderTools {
             throw new RuntimeException(e);
         }
     }
+
+    /**
+     * Provides a frame from the provider with its data stored straight into the target buffer at the specified offset.
+     * The frame buffers copy the frame data directly into the storage of a mutable frame, so this is the only copy of
+     * the data on the way from the frame buffer to the caller. The position and limit of the target buffer are restored
+     * before returning.
+     *
+     * @param provider    Provider to take the frame from
+     * @param targetFrame Frame instance to reuse for the frame details, its buffer is replaced
+     * @param target      Buffer to store the frame data in
+     * @param offset      Offset in the target buffer to store the frame data at
+     * @param timeout     Timeout, 0 for non-blocking mode
+     * @param unit        Time unit for the timeout value
+     * @return Length of the frame data, -1 if no frame was provided.
+     * @throws TimeoutException     If no frame became available within the timeout.
+     * @throws InterruptedException When interrupted externally (or for seek/stop).
+     */
+    public static int provideInto(AudioFrameProvider provider, MutableAudioFrame targetFrame, ByteBuffer target,
+                                  int offset, long timeout, TimeUnit unit) throws TimeoutException, InterruptedException {
+
+        int position = target.position();
+        int limit = target.limit();
+
+        targetFrame.setBuffer(target, offset);
+
+        try {
+            boolean provided = timeout > 0 ? provider.provide(targetFrame, timeout, unit) : provider.provide(targetFrame);
+            return provided ? targetFrame.getDataLength() : -1;
+        } finally {
+            target.limit(limit);
+            target.position(position);
+        }
+    }
 }
@@ -0,0 +1,80 @@
+package com.sedmelluq.discord.lavaplayer.track.playback;
+
+import com.sedmelluq.discord.lavaplayer.format.AudioDataFormat;
+
+/**
+ * Paces the decoding of locally executed tracks. Instead of topping up the frame buffer by one frame every time the
+ * consumer takes one, a track decodes in bursts: once its frame buffer is full, the decoding thread sleeps until the
+ * buffer has drained down to the refill watermark and then decodes until it is full again. While decoding, the thread
+ * yields after every few frames so that other tracks sharing the same carrier threads get their turn.
+ * <p>
+ * Combined with virtual threads this bounds the number of threads decoding at any moment to the carrier pool size,
+ * which is the number of cores, as neither waiting for the buffer to drain nor waiting for source data occupies a
+ * carrier thread. On platform threads, each track still keeps its thread while it sleeps, so the pacing does not bound
+ * the number of threads there.
+ */
+public class DecodeScheduler {
+    public static final float DEFAULT_REFILL_WATERMARK = 0.5f;
+    public static final int DEFAULT_YIELD_INTERVAL = 10;
+
+    private final float refillWatermark;
+    private final int yieldInterval;
+
+    /**
+     * Create a scheduler with the default refill watermark and yield interval.
+     */
+    public DecodeScheduler() {
+        this(DEFAULT_REFILL_WATERMARK, DEFAULT_YIELD_INTERVAL);
+    }
+
+    /**
+     * @param refillWatermark Fraction of the full buffer capacity that the buffer has to drain to before decoding
+     *                        resumes
+     * @param yieldInterval   Number of frames to decode between yielding the thread, 0 to never yield
+     */
+    public DecodeScheduler(float refillWatermark, int yieldInterval) {
+        this.refillWatermark = Math.max(0f, Math.min(refillWatermark, 1f));
+        this.yieldInterval = Math.max(0, yieldInterval);
+    }
+
+    /**
+     * @return Fraction of the full buffer capacity that the buffer has to drain to before decoding resumes.
+     */
+    public float getRefillWatermark() {
+        return refillWatermark;
+    }
+
+    /**
+     * @return Number of frames to decode between yielding the thread.
+     */
+    public int getYieldInterval() {
+        return yieldInterval;
+    }
+
+    /**
+     * @param frameBuffer Frame buffer of a track
+     * @param format      Format of the frames in the buffer
+     * @return Frame buffer which applies the scheduling of this instance to the frames consumed by it.
+     */
+    public AudioFrameBuffer schedule(AudioFrameBuffer frameBuffer, AudioDataFormat format) {
+        return new ScheduledAudioFrameBuffer(frameBuffer, this, format);
+    }
+
+    /**
+     * Wait until the buffer has drained down to the refill watermark. As the buffer is drained at a constant rate of
+     * one frame per frame duration while playing, sleeping for the duration of the missing frames does not need any
+     * signal from the consumer.
+     *
+     * @param frameBuffer The frame buffer to wait on
+     * @param format      Format of the frames in the buffer
+     * @throws InterruptedException When interrupted externally (or for seek/stop).
+     */
+    void awaitRefill(AudioFrameBuffer frameBuffer, AudioDataFormat format) throws InterruptedException {
+        int targetCapacity = Math.max(1, (int) (frameBuffer.getFullCapacity() * (1f - refillWatermark)));
+        int remainingCapacity;
+
+        while ((remainingCapacity = frameBuffer.getRemainingCapacity()) < targetCapacity) {
+            Thread.sleep((targetCapacity - remainingCapacity) * format.frameDuration());
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package com.sedmelluq.discord.lavaplayer.track.playback;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.ref.Cleaner;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Pool of off-heap memory regions (slabs) for the frame data of frame buffers. Slabs are direct byte buffers, so the
+ * frame data of thousands of buffered tracks does not live in the old generation of the heap, and they are recycled
+ * when the track that used them has finished, so buffers are not allocated again for every track.
+ * <p>
+ * Slab sizes are rounded up to {@link #SLAB_GRANULARITY}, so all tracks with the same buffer duration and output format
+ * share the same size class. The total size of all allocated slabs is limited by the capacity of the pool, when it
+ * would be exceeded, {@link #acquire(int)} returns <code>null</code> and the buffer falls back to heap memory.
+ * <p>
+ * A slab acquired for an owner is also returned to the pool when the owner is garbage collected without releasing it,
+ * such as a frame buffer of a track which was never played to its end, so such slabs do not stay counted as in use.
+ */
+public class FrameBufferSlabPool {
+    private static final Logger log = LoggerFactory.getLogger(FrameBufferSlabPool.class);
+
+    public static final int SLAB_GRANULARITY = 16 * 1024;
+
+    private static final Cleaner cleaner = Cleaner.create();
+
+    private final long totalCapacity;
+    private final Map<Integer, Deque<ByteBuffer>> freeSlabs;
+    private final Map<ByteBuffer, Cleaner.Cleanable> ownedSlabs;
+    private long allocatedBytes;
+    private int slabsInUse;
+    private int slabsFree;
+    private int peakSlabsInUse;
+    private long reclaimedSlabs;
+
+    /**
+     * @param totalCapacity Maximum total size of all slabs in bytes, including the ones which are currently free
+     */
+    public FrameBufferSlabPool(long totalCapacity) {
+        this.totalCapacity = totalCapacity;
+        this.freeSlabs = new HashMap<>();
+        this.ownedSlabs = new IdentityHashMap<>();
+    }
+
+    /**
+     * @return A factory for frame buffers which take their frame data regions from this pool.
+     */
+    public AudioFrameBufferFactory createFrameBufferFactory() {
+        return (bufferDuration, format, stopping) -> new LockFreeAudioFrameBuffer(bufferDuration, format, stopping, this);
+    }
+
+    /**
+     * @param size Minimum size of the slab in bytes
+     * @return A slab with a capacity of at least the requested size, with its position at zero and limit at capacity.
+     * <code>null</code> if allocating it would exceed the capacity of the pool.
+     */
+    public ByteBuffer acquire(int size) {
+        return acquire(size, null);
+    }
+
+    /**
+     * @param size  Minimum size of the slab in bytes
+     * @param owner Object which uses the slab, the slab is returned to the pool when the owner becomes unreachable
+     *              without having released it. The slab must not be used by anything that outlives the owner.
+     * @return A slab with a capacity of at least the requested size, with its position at zero and limit at capacity.
+     * <code>null</code> if allocating it would exceed the capacity of the pool.
+     */
+    public synchronized ByteBuffer acquire(int size, Object owner) {
+        int slabSize = roundToGranularity(size);
+        Deque<ByteBuffer> slabs = freeSlabs.get(slabSize);
+        ByteBuffer slab = slabs != null ? slabs.poll() : null;
+
+        if (slab != null) {
+            slabsFree--;
+        } else {
+            if (allocatedBytes + slabSize > totalCapacity && !evictFreeSlabs(allocatedBytes + slabSize - totalCapacity)) {
+                log.debug("Frame buffer slab pool is exhausted ({} of {} bytes allocated).", allocatedBytes, totalCapacity);
+                return null;
+            }
+
+            slab = ByteBuffer.allocateDirect(slabSize);
+            allocatedBytes += slabSize;
+        }
+
+        slabsInUse++;
+        peakSlabsInUse = Math.max(peakSlabsInUse, slabsInUse);
+
+        if (owner != null) {
+            ownedSlabs.put(slab, cleaner.register(owner, new SlabReclaimer(this, slab)));
+        }
+
+        slab.clear();
+        return slab;
+    }
+
+    /**
+     * @param slab A slab previously returned by {@link #acquire(int)}, which must not be used by the caller anymore.
+     */
+    public void release(ByteBuffer slab) {
+        Cleaner.Cleanable cleanable;
+
+        synchronized (this) {
+            cleanable = ownedSlabs.remove(slab);
+            recycle(slab);
+        }
+
+        if (cleanable != null) {
+            // Only unregisters it, the slab is no longer owned so the reclaimer does nothing.
+            cleanable.clean();
+        }
+    }
+
+    /**
+     * @return Maximum total size of all slabs in bytes.
+     */
+    public long getTotalCapacity() {
+        return totalCapacity;
+    }
+
+    /**
+     * @return Total size of all currently allocated slabs in bytes, including the ones which are currently free.
+     */
+    public synchronized long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    /**
+     * @return Number of slabs currently used by frame buffers.
+     */
+    public synchronized int getSlabsInUse() {
+        return slabsInUse;
+    }
+
+    /**
+     * @return Number of allocated slabs waiting to be reused.
+     */
+    public synchronized int getSlabsFree() {
+        return slabsFree;
+    }
+
+    /**
+     * @return The highest number of slabs that have been in use at the same time.
+     */
+    public synchronized int getPeakSlabsInUse() {
+        return peakSlabsInUse;
+    }
+
+    /**
+     * @return Number of slabs which were returned to the pool because their owner was garbage collected without
+     * releasing them.
+     */
+    public synchronized long getReclaimedSlabs() {
+        return reclaimedSlabs;
+    }
+
+    private synchronized void reclaim(ByteBuffer slab) {
+        if (ownedSlabs.remove(slab) != null) {
+            log.debug("Reclaimed a frame buffer slab of {} bytes from an owner which did not release it.",
+                slab.capacity());
+
+            reclaimedSlabs++;
+            recycle(slab);
+        }
+    }
+
+    private void recycle(ByteBuffer slab) {
+        slabsInUse--;
+        slabsFree++;
+
+        freeSlabs.computeIfAbsent(slab.capacity(), size -> new ArrayDeque<>()).push(slab);
+    }
+
+    private boolean evictFreeSlabs(long bytesNeeded) {
+        long evicted = 0;
+        Iterator<Deque<ByteBuffer>> iterator = freeSlabs.values().iterator();
+
+        while (evicted < bytesNeeded && iterator.hasNext()) {
+            Deque<ByteBuffer> slabs = iterator.next();
+
+            while (evicted < bytesNeeded && !slabs.isEmpty()) {
+                // The memory of a direct buffer is freed once the buffer object is garbage collected.
+                evicted += slabs.pop().capacity();
+                slabsFree--;
+            }
+
+            if (slabs.isEmpty()) {
+                iterator.remove();
+            }
+        }
+
+        allocatedBytes -= evicted;
+        return evicted >= bytesNeeded;
+    }
+
+    private static int roundToGranularity(int size) {
+        return (size + SLAB_GRANULARITY - 1) / SLAB_GRANULARITY * SLAB_GRANULARITY;
+    }
+
+    private static class SlabReclaimer implements Runnable {
+        private final FrameBufferSlabPool pool;
+        private final ByteBuffer slab;
+
+        private SlabReclaimer(FrameBufferSlabPool pool, ByteBuffer slab) {
+            this.pool = pool;
+            this.slab = slab;
+        }
+
+        @Override
+        public void run() {
+            pool.reclaim(slab);
+        }
+    }
+}
@@ -2,6 +2,8 @@ package com.sedmelluq.discord.lavaplayer.track.playback;
 
 import com.sedmelluq.discord.lavaplayer.format.AudioDataFormat;
 
+import java.nio.ByteBuffer;
+
 /**
  * A single audio frame.
  */
@@ -66,6 +68,11 @@ public class ImmutableAudioFrame implements AudioFrame {
         System.arraycopy(data, 0, buffer, offset, data.length);
     }
 
+    @Override
+    public void getData(ByteBuffer buffer) {
+        buffer.put(data);
+    }
+
     @Override
     public AudioDataFormat getFormat() {
         return format;
@@ -10,6 +10,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.InterruptedIOException;
+import java.nio.channels.ClosedByInterruptException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -54,9 +55,33 @@ public class LocalAudioTrackExecutor implements AudioTrackExecutor {
     public LocalAudioTrackExecutor(InternalAudioTrack audioTrack, AudioConfiguration configuration,
                                    AudioPlayerOptions playerOptions, boolean useSeekGhosting, int bufferDuration) {
 
+        this(audioTrack, configuration, playerOptions, useSeekGhosting, bufferDuration, null);
+    }
+
+    /**
+     * @param audioTrack      The audio track that this executor executes
+     * @param configuration   Configuration to use for audio processing
+     * @param playerOptions   Mutable player options (for example volume).
+     * @param useSeekGhosting Whether to keep providing old frames continuing from the previous position during a seek
+     *                        until frames from the new position arrive.
+     * @param bufferDuration  The size of the frame buffer in milliseconds
+     * @param decodeScheduler Scheduler to pace the decoding of the track with, null to decode whenever there is space
+     *                        in the frame buffer.
+     */
+    public LocalAudioTrackExecutor(InternalAudioTrack audioTrack, AudioConfiguration configuration,
+                                   AudioPlayerOptions playerOptions, boolean useSeekGhosting, int bufferDuration,
+                                   DecodeScheduler decodeScheduler) {
+
         this.audioTrack = audioTrack;
         AudioDataFormat currentFormat = configuration.getOutputFormat();
-        this.frameBuffer = configuration.getFrameBufferFactory().create(bufferDuration, currentFormat, disposedOf);
+        AudioFrameBuffer buffer = configuration.getFrameBufferFactory().create(bufferDuration, currentFormat, disposedOf);
+        AdaptiveBufferPolicy adaptivePolicy = configuration.getAdaptiveBufferPolicy();
+
+        if (adaptivePolicy != null) {
+            buffer = adaptivePolicy.apply(buffer, currentFormat, disposedOf);
+        }
+
+        this.frameBuffer = decodeScheduler != null ? decodeScheduler.schedule(buffer, currentFormat) : buffer;
         this.processingContext = new AudioProcessingContext(configuration, frameBuffer, playerOptions, currentFormat);
         this.useSeekGhosting = useSeekGhosting;
     }
@@ -95,6 +120,7 @@ public class LocalAudioTrackExecutor implements AudioTrackExecutor {
         synchronized (actionSynchronizer) {
             if (disposedOf.get()) {
                 log.warn("Attempt to execute executor that has been disposed of");
+                frameBuffer.dispose();
                 return;
             }
         }
@@ -134,6 +160,7 @@ public class LocalAudioTrackExecutor implements AudioTrackExecutor {
 
                     markerTracker.trigger(ENDED);
                     state.set(AudioTrackState.FINISHED);
+                    frameBuffer.dispose();
                 }
 
                 if (interrupt != null) {
@@ -156,6 +183,7 @@ public class LocalAudioTrackExecutor implements AudioTrackExecutor {
                 thread.interrupt();
             } else {
                 log.debug("Tried to stop track {} which is not playing.", audioTrack.getIdentifier());
+                frameBuffer.dispose();
             }
         }
     }
@@ -347,6 +375,15 @@ public class LocalAudioTrackExecutor implements AudioTrackExecutor {
             }
         }
 
+        if (exception == null) {
+            // Interrupting a virtual thread blocked on a socket or a channel closes it instead of just waking it up.
+            ClosedByInterruptException closedException = findDeepException(throwable, ClosedByInterruptException.class);
+
+            if (closedException != null) {
+                exception = new InterruptedException(closedException.getMessage());
+            }
+        }
+
         if (exception == null && Thread.interrupted()) {
             return new InterruptedException();
         }
@@ -0,0 +1,554 @@
+package com.sedmelluq.discord.lavaplayer.track.playback;
+
+import com.sedmelluq.discord.lavaplayer.format.AudioDataFormat;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Audio frame buffer implementation for a single producer (the track decoding thread) and a single consumer (the
+ * thread providing frames to the player). Frame data is stored in one byte region used as a ring buffer, either on the
+ * heap or in a slab taken from a {@link FrameBufferSlabPool}, and the
+ * positions of the producer and the consumer are tracked with sequence counters, so neither side takes a lock while
+ * the buffer is neither full nor empty. A waiting side is parked and unparked by the other side only when the buffer
+ * is full or empty.
+ * <p>
+ * The consumer claims a frame by advancing the read sequence and releases it after copying its data out. Clearing the
+ * buffer, which may happen from any thread, claims all published frames at once in the same way, so the consumer never
+ * reads a frame that is being overwritten.
+ */
+public class LockFreeAudioFrameBuffer extends AbstractAudioFrameBuffer {
+    private static final Logger log = LoggerFactory.getLogger(LockFreeAudioFrameBuffer.class);
+
+    private final int maximumFrameCount;
+    private final int worstCaseFrameCount;
+    private final int[] frameOffsets;
+    private final int[] frameLengths;
+    private final long[] frameTimecodes;
+    private final int[] frameVolumes;
+    private final int frameBufferLength;
+    private final AtomicBoolean stopping;
+    private final FrameBufferSlabPool slabPool;
+    private ByteBuffer slab;
+    private final ByteBuffer producerView;
+    private final ByteBuffer consumerView;
+    private final ByteBuffer reservationView;
+    private boolean disposed;
+    private boolean reserved;
+    private int reservedOffset;
+    private int reservedLength;
+
+    private final AtomicLong readSequence;
+    private volatile long releasedSequence;
+    private volatile long writeSequence;
+    private int writeOffset;
+
+    private volatile Thread waitingProducer;
+    private volatile Thread waitingConsumer;
+    private MutableAudioFrame bridgeFrame;
+
+    /**
+     * @param bufferDuration The length of the internal buffer in milliseconds
+     * @param format         The format of the frames held in this buffer
+     * @param stopping       Atomic boolean which has true value when the track is in a state of pending stop.
+     */
+    public LockFreeAudioFrameBuffer(int bufferDuration, AudioDataFormat format, AtomicBoolean stopping) {
+        this(bufferDuration, format, stopping, null);
+    }
+
+    /**
+     * @param bufferDuration The length of the internal buffer in milliseconds
+     * @param format         The format of the frames held in this buffer
+     * @param stopping       Atomic boolean which has true value when the track is in a state of pending stop.
+     * @param slabPool       Pool to take the frame data region from, null to allocate it on the heap. The region is
+     *                       returned to the pool when the buffer is disposed of, or when it is garbage collected
+     *                       without having been disposed of.
+     */
+    public LockFreeAudioFrameBuffer(int bufferDuration, AudioDataFormat format, AtomicBoolean stopping,
+                                    FrameBufferSlabPool slabPool) {
+
+        super(format, new ReentrantLock());
+        this.maximumFrameCount = bufferDuration / (int) format.frameDuration() + 1;
+        this.frameOffsets = new int[maximumFrameCount];
+        this.frameLengths = new int[maximumFrameCount];
+        this.frameTimecodes = new long[maximumFrameCount];
+        this.frameVolumes = new int[maximumFrameCount];
+        this.frameBufferLength = format.expectedChunkSize() * maximumFrameCount;
+        this.worstCaseFrameCount = frameBufferLength / format.maximumChunkSize();
+        this.stopping = stopping;
+        this.readSequence = new AtomicLong();
+
+        this.slab = slabPool != null ? slabPool.acquire(frameBufferLength, this) : null;
+        this.slabPool = slab != null ? slabPool : null;
+
+        ByteBuffer storage = slab != null ? slab : ByteBuffer.allocate(frameBufferLength);
+        this.producerView = storage.duplicate();
+        this.consumerView = storage.duplicate();
+        this.reservationView = storage.duplicate();
+    }
+
+    /**
+     * @return Number of frames that can be added to the buffer without blocking.
+     */
+    @Override
+    public int getRemainingCapacity() {
+        long released = releasedSequence;
+        long write = writeSequence;
+
+        if (released == write) {
+            return worstCaseFrameCount;
+        }
+
+        int bufferHead = frameOffsets[frameIndex(released)];
+        int bufferTail = writeOffset;
+        int maximumFrameSize = format.maximumChunkSize();
+
+        if (bufferHead < bufferTail) {
+            return (frameBufferLength - bufferTail) / maximumFrameSize + bufferHead / maximumFrameSize;
+        } else {
+            return (bufferHead - bufferTail) / maximumFrameSize;
+        }
+    }
+
+    /**
+     * @return Total number of frames that the buffer can hold.
+     */
+    @Override
+    public int getFullCapacity() {
+        return worstCaseFrameCount;
+    }
+
+    @Override
+    public void consume(AudioFrame frame) throws InterruptedException {
+        // If an interrupt sent along with setting the stopping status was silently consumed elsewhere, this check should
+        // still trigger. Guarantees that stopped tracks cannot get stuck in this method.
+        if (stopping != null && stopping.get()) {
+            throw new InterruptedException();
+        }
+
+        if (!locked) {
+            receivedFrames = true;
+
+            if (clearOnInsert) {
+                applyClearOnInsert();
+            }
+
+            if (frame.getDataLength() > frameBufferLength) {
+                throw new IllegalArgumentException("Frame is too big for buffer.");
+            }
+
+            storeFrame(frame.getTimecode(), frame.getVolume(), frame);
+        }
+    }
+
+    /**
+     * Reserves space for a frame directly in the frame data region, which is a direct buffer when the buffer has a slab,
+     * so the frame data does not need to be copied. Only the producer thread may reserve and commit.
+     */
+    @Override
+    public ByteBuffer reserve(int maximumLength) throws InterruptedException {
+        if (stopping != null && stopping.get()) {
+            throw new InterruptedException();
+        }
+
+        if (locked || maximumLength > frameBufferLength) {
+            return null;
+        }
+
+        if (clearOnInsert) {
+            applyClearOnInsert();
+        }
+
+        int frameOffset = awaitSpace(maximumLength);
+
+        reserved = true;
+        reservedOffset = frameOffset;
+        reservedLength = maximumLength;
+
+        reservationView.limit(frameOffset + maximumLength);
+        reservationView.position(frameOffset);
+        return reservationView;
+    }
+
+    @Override
+    public void commit(long timecode, int volume, int length) {
+        if (!reserved) {
+            throw new IllegalStateException("No frame has been reserved.");
+        } else if (length > reservedLength) {
+            throw new IllegalArgumentException("Frame is longer than the reserved space.");
+        }
+
+        reserved = false;
+
+        if (!locked) {
+            receivedFrames = true;
+            publishFrame(timecode, volume, reservedOffset, length);
+        }
+    }
+
+    @Override
+    public AudioFrame provide() {
+        if (provide(getBridgeFrame())) {
+            return unwrapBridgeFrame();
+        }
+
+        return null;
+    }
+
+    @Override
+    public AudioFrame provide(long timeout, TimeUnit unit) throws TimeoutException, InterruptedException {
+        if (provide(getBridgeFrame(), timeout, unit)) {
+            return unwrapBridgeFrame();
+        }
+
+        return null;
+    }
+
+    @Override
+    public boolean provide(MutableAudioFrame targetFrame) {
+        while (true) {
+            long read = readSequence.get();
+
+            if (read == writeSequence) {
+                return providePendingTerminator(targetFrame);
+            }
+
+            // Fails only if the buffer was cleared in the meantime.
+            if (readSequence.compareAndSet(read, read + 1)) {
+                popFrame(frameIndex(read), targetFrame);
+                releasedSequence = read + 1;
+                unparkWaiter(waitingProducer);
+                return true;
+            }
+        }
+    }
+
+    @Override
+    public boolean provide(MutableAudioFrame targetFrame, long timeout, TimeUnit unit)
+        throws TimeoutException, InterruptedException {
+
+        long endTime = System.nanoTime() + unit.toNanos(timeout);
+        Thread current = Thread.currentThread();
+
+        while (!provide(targetFrame)) {
+            long remaining = endTime - System.nanoTime();
+
+            if (remaining <= 0) {
+                throw new TimeoutException();
+            }
+
+            waitingConsumer = current;
+
+            try {
+                // Check again after registering as a waiter, otherwise a frame published in between would not wake us up.
+                if (provide(targetFrame)) {
+                    return true;
+                }
+
+                LockSupport.parkNanos(this, remaining);
+            } finally {
+                waitingConsumer = null;
+            }
+
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+        }
+
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        if (claimPublishedFrames(false) != null) {
+            unparkWaiter(waitingProducer);
+        }
+    }
+
+    @Override
+    public void rebuild(AudioFrameRebuilder rebuilder) {
+        List<ImmutableAudioFrame> frames = claimPublishedFrames(true);
+
+        if (frames == null) {
+            return;
+        }
+
+        log.debug("Running rebuilder {} on {} buffered frames.", rebuilder.getClass().getSimpleName(), frames.size());
+
+        try {
+            for (ImmutableAudioFrame frame : frames) {
+                AudioFrame rebuilt = rebuilder.rebuild(frame);
+                storeFrame(rebuilt.getTimecode(), rebuilt.getVolume(), rebuilt);
+            }
+        } catch (InterruptedException e) {
+            log.debug("Interrupted while storing rebuilt frames, dropping the rest of them.");
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Returns the frame data region to the slab pool if the buffer has one. If the consumer has not yet reached the end
+     * of the buffer and the track is not being stopped, this is deferred until the terminator frame is provided, so the
+     * already buffered frames can still be played.
+     */
+    @Override
+    public void dispose() {
+        lock.lock();
+
+        try {
+            disposed = true;
+
+            if (terminated || (stopping != null && stopping.get())) {
+                releaseSlab();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Long getLastInputTimecode() {
+        if (!clearOnInsert) {
+            long write = writeSequence;
+
+            if (write != readSequence.get()) {
+                return frameTimecodes[frameIndex(write - 1)];
+            }
+        }
+
+        return null;
+    }
+
+    @Override
+    protected void signalWaiters() {
+        unparkWaiter(waitingConsumer);
+    }
+
+    private void applyClearOnInsert() {
+        lock.lock();
+
+        try {
+            if (clearOnInsert) {
+                clear();
+                clearOnInsert = false;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean providePendingTerminator(MutableAudioFrame targetFrame) {
+        lock.lock();
+
+        try {
+            if (terminateOnEmpty && readSequence.get() == writeSequence) {
+                terminateOnEmpty = false;
+                terminated = true;
+                targetFrame.setTerminator(true);
+                condition.signalAll();
+
+                if (disposed) {
+                    releaseSlab();
+                }
+
+                return true;
+            }
+
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void releaseSlab() {
+        if (slab != null) {
+            // Locking makes sure nothing is stored anymore, clearing that the consumer has finished copying and does not
+            // read anything anymore. Only then the slab can be handed to another buffer.
+            locked = true;
+            clear();
+
+            slabPool.release(slab);
+            slab = null;
+        }
+    }
+
+    private void popFrame(int index, MutableAudioFrame targetFrame) {
+        targetFrame.setTimecode(frameTimecodes[index]);
+        targetFrame.setVolume(frameVolumes[index]);
+        targetFrame.setTerminator(false);
+        targetFrame.setFormat(format);
+
+        if (frameVolumes[index] == 0) {
+            byte[] silence = format.silenceBytes();
+            targetFrame.store(silence, 0, silence.length);
+        } else {
+            int offset = frameOffsets[index];
+            consumerView.limit(offset + frameLengths[index]);
+            consumerView.position(offset);
+            targetFrame.store(consumerView);
+        }
+    }
+
+    /**
+     * Claims all frames published so far, as if the consumer had consumed all of them.
+     *
+     * @param copy Whether to return copies of the claimed frames
+     * @return Copies of the claimed frames if requested, otherwise an empty list. <code>null</code> if there was nothing
+     * to claim.
+     */
+    private List<ImmutableAudioFrame> claimPublishedFrames(boolean copy) {
+        while (true) {
+            long read = readSequence.get();
+            long write = writeSequence;
+
+            if (releasedSequence != read) {
+                // The consumer is in the middle of copying a frame, which takes no longer than a single array copy.
+                Thread.onSpinWait();
+            } else if (read == write) {
+                return null;
+            } else if (readSequence.compareAndSet(read, write)) {
+                if (!copy) {
+                    releasedSequence = write;
+                    return Collections.emptyList();
+                }
+
+                List<ImmutableAudioFrame> frames = new ArrayList<>((int) (write - read));
+
+                for (long sequence = read; sequence < write; sequence++) {
+                    int index = frameIndex(sequence);
+                    byte[] data = new byte[frameLengths[index]];
+                    producerView.limit(frameOffsets[index] + data.length);
+                    producerView.position(frameOffsets[index]);
+                    producerView.get(data);
+                    frames.add(new ImmutableAudioFrame(frameTimecodes[index], data, frameVolumes[index], format));
+                }
+
+                releasedSequence = write;
+                return frames;
+            }
+        }
+    }
+
+    private void storeFrame(long timecode, int volume, AudioFrame frame) throws InterruptedException {
+        int frameLength = frame.getDataLength();
+        int frameOffset = awaitSpace(frameLength);
+
+        producerView.limit(frameOffset + frameLength);
+        producerView.position(frameOffset);
+        frame.getData(producerView);
+
+        publishFrame(timecode, volume, frameOffset, frameLength);
+    }
+
+    private int awaitSpace(int frameLength) throws InterruptedException {
+        Thread current = Thread.currentThread();
+        int frameOffset;
+
+        while ((frameOffset = findSpace(frameLength)) < 0) {
+            waitingProducer = current;
+
+            try {
+                // Check again after registering as a waiter, otherwise space freed in between would not wake us up.
+                frameOffset = findSpace(frameLength);
+
+                if (frameOffset >= 0) {
+                    return frameOffset;
+                }
+
+                LockSupport.park(this);
+            } finally {
+                waitingProducer = null;
+            }
+
+            if (Thread.interrupted() || (stopping != null && stopping.get())) {
+                throw new InterruptedException();
+            }
+        }
+
+        return frameOffset;
+    }
+
+    /**
+     * @param frameLength Length of the frame data
+     * @return Offset in the data region where the data of the next frame fits, -1 if there is currently no space for it.
+     */
+    private int findSpace(int frameLength) {
+        long write = writeSequence;
+        long released = releasedSequence;
+
+        if (write - released >= maximumFrameCount) {
+            return -1;
+        } else if (write == released) {
+            return 0;
+        }
+
+        int bufferHead = frameOffsets[frameIndex(released)];
+        int bufferTail = writeOffset;
+
+        if (bufferHead < bufferTail) {
+            if (bufferTail + frameLength <= frameBufferLength) {
+                return bufferTail;
+            } else if (bufferHead >= frameLength) {
+                return 0;
+            } else {
+                return -1;
+            }
+        } else if (bufferTail + frameLength <= bufferHead) {
+            return bufferTail;
+        } else {
+            return -1;
+        }
+    }
+
+    private void publishFrame(long timecode, int volume, int frameOffset, int frameLength) {
+        long write = writeSequence;
+        int index = frameIndex(write);
+
+        frameOffsets[index] = frameOffset;
+        frameLengths[index] = frameLength;
+        frameTimecodes[index] = timecode;
+        frameVolumes[index] = volume;
+        writeOffset = frameOffset + frameLength;
+
+        writeSequence = write + 1;
+        unparkWaiter(waitingConsumer);
+    }
+
+    private int frameIndex(long sequence) {
+        return (int) (sequence % maximumFrameCount);
+    }
+
+    private static void unparkWaiter(Thread waiter) {
+        if (waiter != null) {
+            LockSupport.unpark(waiter);
+        }
+    }
+
+    private MutableAudioFrame getBridgeFrame() {
+        if (bridgeFrame == null) {
+            bridgeFrame = new MutableAudioFrame();
+            bridgeFrame.setBuffer(ByteBuffer.allocate(format.maximumChunkSize()));
+        }
+
+        return bridgeFrame;
+    }
+
+    private AudioFrame unwrapBridgeFrame() {
+        if (bridgeFrame.isTerminator()) {
+            return TerminatorAudioFrame.INSTANCE;
+        } else {
+            return new ImmutableAudioFrame(bridgeFrame.getTimecode(), bridgeFrame.getData(), bridgeFrame.getVolume(),
+                bridgeFrame.getFormat());
+        }
+    }
+}
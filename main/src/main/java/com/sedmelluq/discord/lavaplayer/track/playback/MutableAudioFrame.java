@@ -33,6 +33,19 @@ public class MutableAudioFrame extends AbstractMutableAudioFrame {
         this.frameLength = frameBuffer.remaining();
     }
 
+    /**
+     * This should be called only by the requester of a frame. Unlike {@link #setBuffer(ByteBuffer)}, this does not depend
+     * on the position of the buffer, so the same buffer can be reused for every frame without resetting it.
+     *
+     * @param frameBuffer Buffer to use internally.
+     * @param offset      Offset in the buffer to store the frame data at.
+     */
+    public void setBuffer(ByteBuffer frameBuffer, int offset) {
+        this.frameBuffer = frameBuffer;
+        this.framePosition = offset;
+        this.frameLength = 0;
+    }
+
     /**
      * This should be called only by the provider of a frame.
      *
@@ -47,6 +60,19 @@ public class MutableAudioFrame extends AbstractMutableAudioFrame {
         frameLength = length;
     }
 
+    /**
+     * This should be called only by the provider of a frame.
+     *
+     * @param buffer Buffer to copy the remaining data from into the internal buffer of this instance.
+     */
+    public void store(ByteBuffer buffer) {
+        int length = buffer.remaining();
+        frameBuffer.position(framePosition);
+        frameBuffer.limit(frameBuffer.capacity());
+        frameBuffer.put(buffer);
+        frameLength = length;
+    }
+
     @Override
     public int getDataLength() {
         return frameLength;
@@ -66,4 +92,17 @@ public class MutableAudioFrame extends AbstractMutableAudioFrame {
         frameBuffer.get(buffer, offset, frameLength);
         frameBuffer.position(previous);
     }
+
+    @Override
+    public void getData(ByteBuffer buffer) {
+        int previousPosition = frameBuffer.position();
+        int previousLimit = frameBuffer.limit();
+
+        frameBuffer.limit(framePosition + frameLength);
+        frameBuffer.position(framePosition);
+        buffer.put(frameBuffer);
+
+        frameBuffer.limit(previousLimit);
+        frameBuffer.position(previousPosition);
+    }
 }
@@ -8,6 +8,7 @@ import java.nio.ByteBuffer;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Audio frame buffer implementation which never allocates any new objects after creation. All instances of mutable
@@ -23,8 +24,14 @@ public class NonAllocatingAudioFrameBuffer extends AbstractAudioFrameBuffer {
     private MutableAudioFrame bridgeFrame;
 
     private final byte[] frameBuffer;
+    private final ByteBuffer reservation;
     private int firstFrame;
     private int frameCount;
+    private long poppedFrameCount;
+    private long clearCount;
+    private boolean reserved;
+    private int reservedOffset;
+    private int reservedLength;
 
     /**
      * @param bufferDuration The length of the internal buffer in milliseconds
@@ -32,11 +39,12 @@ public class NonAllocatingAudioFrameBuffer extends AbstractAudioFrameBuffer {
      * @param stopping       Atomic boolean which has true value when the track is in a state of pending stop.
      */
     public NonAllocatingAudioFrameBuffer(int bufferDuration, AudioDataFormat format, AtomicBoolean stopping) {
-        super(format);
+        super(format, new ReentrantLock());
         int maximumFrameCount = bufferDuration / (int) format.frameDuration() + 1;
         frames = createFrames(maximumFrameCount, format);
         silentFrame = createSilentFrame(format);
         this.frameBuffer = new byte[format.expectedChunkSize() * maximumFrameCount];
+        this.reservation = ByteBuffer.wrap(frameBuffer);
         worstCaseFrameCount = frameBuffer.length / format.maximumChunkSize();
         this.stopping = stopping;
     }
@@ -46,7 +54,9 @@ public class NonAllocatingAudioFrameBuffer extends AbstractAudioFrameBuffer {
      */
     @Override
     public int getRemainingCapacity() {
-        synchronized (synchronizer) {
+        lock.lock();
+
+        try {
             if (frameCount == 0) {
                 return worstCaseFrameCount;
             }
@@ -63,6 +73,8 @@ public class NonAllocatingAudioFrameBuffer extends AbstractAudioFrameBuffer {
             } else {
                 return (bufferHead - bufferTail) / maximumFrameSize;
             }
+        } finally {
+            lock.unlock();
         }
     }
 
@@ -83,7 +95,9 @@ public class NonAllocatingAudioFrameBuffer extends AbstractAudioFrameBuffer {
             throw new InterruptedException();
         }
 
-        synchronized (synchronizer) {
+        lock.lockInterruptibly();
+
+        try {
             if (!locked) {
                 receivedFrames = true;
 
@@ -93,51 +107,138 @@ public class NonAllocatingAudioFrameBuffer extends AbstractAudioFrameBuffer {
                 }
 
                 while (!attemptStore(frame)) {
-                    synchronizer.wait();
+                    condition.await();
                 }
 
-                synchronizer.notifyAll();
+                condition.signalAll();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Reserves space for a frame in the data buffer itself, so the frame data does not need to be copied. Frames are not
+     * moved around by a rebuild while a reservation is outstanding.
+     */
+    @Override
+    public ByteBuffer reserve(int maximumLength) throws InterruptedException {
+        if (stopping != null && stopping.get()) {
+            throw new InterruptedException();
+        }
+
+        if (maximumLength > frameBuffer.length) {
+            return null;
+        }
+
+        lock.lockInterruptibly();
+
+        try {
+            if (locked) {
+                return null;
+            }
+
+            if (clearOnInsert) {
+                clear();
+                clearOnInsert = false;
+            }
+
+            int frameOffset;
+
+            while ((frameOffset = findSpace(maximumLength)) < 0) {
+                condition.await();
+            }
+
+            reserved = true;
+            reservedOffset = frameOffset;
+            reservedLength = maximumLength;
+
+            reservation.limit(frameOffset + maximumLength);
+            reservation.position(frameOffset);
+            return reservation;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void commit(long timecode, int volume, int length) {
+        lock.lock();
+
+        try {
+            if (!reserved) {
+                throw new IllegalStateException("No frame has been reserved.");
+            } else if (length > reservedLength) {
+                throw new IllegalArgumentException("Frame is longer than the reserved space.");
+            }
+
+            reserved = false;
+
+            if (!locked) {
+                receivedFrames = true;
+
+                ReferenceMutableAudioFrame targetFrame = frames[nextFrameIndex()];
+                targetFrame.setTimecode(timecode);
+                targetFrame.setVolume(volume);
+                targetFrame.setDataReference(frameBuffer, reservedOffset, length);
+                frameCount++;
+
+                condition.signalAll();
             }
+        } finally {
+            lock.unlock();
         }
     }
 
     @Override
     public AudioFrame provide() {
-        synchronized (synchronizer) {
+        lock.lock();
+
+        try {
             if (provide(getBridgeFrame())) {
                 return unwrapBridgeFrame();
             }
 
             return null;
+        } finally {
+            lock.unlock();
         }
     }
 
     @Override
     public AudioFrame provide(long timeout, TimeUnit unit) throws TimeoutException, InterruptedException {
-        synchronized (synchronizer) {
+        lock.lockInterruptibly();
+
+        try {
             if (provide(getBridgeFrame(), timeout, unit)) {
                 return unwrapBridgeFrame();
             }
 
             return null;
+        } finally {
+            lock.unlock();
         }
     }
 
     @Override
     public boolean provide(MutableAudioFrame targetFrame) {
-        synchronized (synchronizer) {
+        lock.lock();
+
+        try {
             if (frameCount == 0) {
                 if (terminateOnEmpty) {
                     popPendingTerminator(targetFrame);
-                    synchronizer.notifyAll();
+                    condition.signalAll();
                     return true;
                 }
                 return false;
             } else {
                 popFrame(targetFrame);
-                synchronizer.notifyAll();
+                condition.signalAll();
                 return true;
             }
+        } finally {
+            lock.unlock();
         }
     }
 
@@ -145,28 +246,30 @@ public class NonAllocatingAudioFrameBuffer extends AbstractAudioFrameBuffer {
     public boolean provide(MutableAudioFrame targetFrame, long timeout, TimeUnit unit)
         throws TimeoutException, InterruptedException {
 
-        long currentTime = System.nanoTime();
-        long endTime = currentTime + unit.toMillis(timeout);
+        long remaining = unit.toNanos(timeout);
 
-        synchronized (synchronizer) {
+        lock.lockInterruptibly();
+
+        try {
             while (frameCount == 0) {
                 if (terminateOnEmpty) {
                     popPendingTerminator(targetFrame);
-                    synchronizer.notifyAll();
+                    condition.signalAll();
                     return true;
                 }
 
-                synchronizer.wait(endTime - currentTime);
-                currentTime = System.nanoTime();
-
-                if (currentTime >= endTime) {
+                if (remaining <= 0) {
                     throw new TimeoutException();
                 }
+
+                remaining = condition.awaitNanos(remaining);
             }
 
             popFrame(targetFrame);
-            synchronizer.notifyAll();
+            condition.signalAll();
             return true;
+        } finally {
+            lock.unlock();
         }
     }
 
@@ -186,6 +289,7 @@ public class NonAllocatingAudioFrameBuffer extends AbstractAudioFrameBuffer {
 
         firstFrame = wrappedFrameIndex(firstFrame + 1);
         frameCount--;
+        poppedFrameCount++;
     }
 
     private void popPendingTerminator(MutableAudioFrame frame) {
@@ -197,66 +301,203 @@ public class NonAllocatingAudioFrameBuffer extends AbstractAudioFrameBuffer {
 
     @Override
     public void clear() {
-        synchronized (synchronizer) {
+        lock.lock();
+
+        try {
             frameCount = 0;
+            clearCount++;
+        } finally {
+            lock.unlock();
         }
     }
 
+    /**
+     * Rebuilds the buffered frames in place, starting from the one which will be provided next. The lock is only held
+     * while taking a snapshot of the frames and while putting each rebuilt frame back, so that the consumer keeps
+     * receiving frames while rebuilding runs. Rebuilt frames which have already been consumed in the meantime are
+     * dropped, and rebuilding is abandoned if the buffer is cleared.
+     *
+     * @param rebuilder Rebuilder to apply to the buffered frames
+     */
     @Override
     public void rebuild(AudioFrameRebuilder rebuilder) {
-        log.debug("Frame rebuild not supported on non-allocating frame buffer yet.");
+        AudioFrame[] snapshot;
+        long snapshotSequence;
+        long snapshotClearCount;
+
+        lock.lock();
+
+        try {
+            snapshot = new AudioFrame[frameCount];
+            snapshotSequence = poppedFrameCount;
+            snapshotClearCount = clearCount;
+
+            for (int i = 0; i < frameCount; i++) {
+                snapshot[i] = frames[wrappedFrameIndex(firstFrame + i)].freeze();
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        log.debug("Running rebuilder {} on {} buffered frames.", rebuilder.getClass().getSimpleName(), snapshot.length);
+
+        byte[] scratchBuffer = null;
+
+        for (int i = 0; i < snapshot.length; i++) {
+            AudioFrame rebuilt = rebuilder.rebuild(snapshot[i]);
+
+            lock.lock();
+
+            try {
+                if (clearCount != snapshotClearCount || clearOnInsert) {
+                    log.debug("Frame buffer was cleared during rebuild, abandoning it.");
+                    return;
+                }
+
+                long position = snapshotSequence + i - poppedFrameCount;
+
+                if (position < 0) {
+                    continue;
+                }
+
+                if (rebuilt.getDataLength() != snapshot[i].getDataLength() && scratchBuffer == null) {
+                    scratchBuffer = new byte[frameBuffer.length];
+                }
+
+                if (!replaceFrame((int) position, rebuilt, scratchBuffer)) {
+                    log.debug("Rebuilt frame does not fit in the buffer, keeping the original.");
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private boolean replaceFrame(int position, AudioFrame replacement, byte[] scratchBuffer) {
+        ReferenceMutableAudioFrame target = frames[wrappedFrameIndex(firstFrame + position)];
+        int newLength = replacement.getDataLength();
+
+        if (newLength != target.getDataLength()) {
+            if (reserved) {
+                // Moving the frames could overwrite the space the producer is writing to.
+                return false;
+            }
+
+            int totalLength = newLength - target.getDataLength();
+
+            for (int i = 0; i < frameCount; i++) {
+                totalLength += frames[wrappedFrameIndex(firstFrame + i)].getDataLength();
+            }
+
+            if (totalLength > frameBuffer.length) {
+                return false;
+            }
+
+            relayoutFrames(target, newLength, scratchBuffer);
+        }
+
+        replacement.getData(frameBuffer, target.getFrameOffset());
+        target.setVolume(replacement.getVolume());
+        target.setTimecode(replacement.getTimecode());
+        return true;
+    }
+
+    /**
+     * Lays the frames out contiguously from the start of the data buffer, leaving space of the given length for the
+     * data of the resized frame.
+     */
+    private void relayoutFrames(ReferenceMutableAudioFrame resizedFrame, int resizedLength, byte[] scratchBuffer) {
+        int offset = 0;
+
+        for (int i = 0; i < frameCount; i++) {
+            ReferenceMutableAudioFrame frame = frames[wrappedFrameIndex(firstFrame + i)];
+
+            if (frame == resizedFrame) {
+                frame.setDataReference(frameBuffer, offset, resizedLength);
+            } else {
+                frame.getData(scratchBuffer, offset);
+                frame.setDataReference(frameBuffer, offset, frame.getDataLength());
+            }
+
+            offset += frame.getDataLength();
+        }
+
+        System.arraycopy(scratchBuffer, 0, frameBuffer, 0, offset);
     }
 
     @Override
     public Long getLastInputTimecode() {
-        synchronized (synchronizer) {
+        lock.lock();
+
+        try {
             if (!clearOnInsert && frameCount > 0) {
                 return frames[wrappedFrameIndex(firstFrame + frameCount - 1)].getTimecode();
             }
+        } finally {
+            lock.unlock();
         }
 
         return null;
     }
 
     private boolean attemptStore(AudioFrame frame) {
-        if (frameCount >= frames.length) {
+        int frameLength = frame.getDataLength();
+        int frameOffset = findSpace(frameLength);
+
+        if (frameOffset < 0) {
             return false;
         }
 
-        int frameLength = frame.getDataLength();
+        store(frame, nextFrameIndex(), frameOffset, frameLength);
+        return true;
+    }
+
+    /**
+     * @param frameLength Length of the frame data
+     * @return Offset in the data buffer where the data of the next frame fits, -1 if there is currently no space for it.
+     */
+    private int findSpace(int frameLength) {
+        if (frameCount >= frames.length) {
+            return -1;
+        }
+
         int frameBufferLength = frameBuffer.length;
 
         if (frameCount == 0) {
-            firstFrame = 0;
-
             if (frameLength > frameBufferLength) {
                 throw new IllegalArgumentException("Frame is too big for buffer.");
             }
 
-            store(frame, 0, 0, frameLength);
-        } else {
-            int lastFrame = wrappedFrameIndex(firstFrame + frameCount - 1);
-            int nextFrame = wrappedFrameIndex(lastFrame + 1);
+            return 0;
+        }
 
-            int bufferHead = frames[firstFrame].getFrameOffset();
-            int bufferTail = frames[lastFrame].getFrameEndOffset();
+        int lastFrame = wrappedFrameIndex(firstFrame + frameCount - 1);
 
-            if (bufferHead < bufferTail) {
-                if (bufferTail + frameLength <= frameBufferLength) {
-                    store(frame, nextFrame, bufferTail, frameLength);
-                } else if (bufferHead >= frameLength) {
-                    store(frame, nextFrame, 0, frameLength);
-                } else {
-                    return false;
-                }
-            } else if (bufferTail + frameLength <= bufferHead) {
-                store(frame, nextFrame, bufferTail, frameLength);
+        int bufferHead = frames[firstFrame].getFrameOffset();
+        int bufferTail = frames[lastFrame].getFrameEndOffset();
+
+        if (bufferHead < bufferTail) {
+            if (bufferTail + frameLength <= frameBufferLength) {
+                return bufferTail;
+            } else if (bufferHead >= frameLength) {
+                return 0;
             } else {
-                return false;
+                return -1;
             }
+        } else if (bufferTail + frameLength <= bufferHead) {
+            return bufferTail;
+        } else {
+            return -1;
         }
+    }
 
-        return true;
+    private int nextFrameIndex() {
+        if (frameCount == 0) {
+            firstFrame = 0;
+            return 0;
+        }
+
+        return wrappedFrameIndex(firstFrame + frameCount);
     }
 
     private int wrappedFrameIndex(int index) {
@@ -314,8 +555,12 @@ public class NonAllocatingAudioFrameBuffer extends AbstractAudioFrameBuffer {
 
     @Override
     protected void signalWaiters() {
-        synchronized (synchronizer) {
-            synchronizer.notifyAll();
+        lock.lock();
+
+        try {
+            condition.signalAll();
+        } finally {
+            lock.unlock();
         }
     }
 }
@@ -1,5 +1,7 @@
 package com.sedmelluq.discord.lavaplayer.track.playback;
 
+import java.nio.ByteBuffer;
+
 /**
  * Mutable audio frame which contains no dedicated buffer, but refers to a segment in a specified byte buffer.
  */
@@ -46,6 +48,11 @@ public class ReferenceMutableAudioFrame extends AbstractMutableAudioFrame {
         System.arraycopy(frameBuffer, frameOffset, buffer, offset, frameLength);
     }
 
+    @Override
+    public void getData(ByteBuffer buffer) {
+        buffer.put(frameBuffer, frameOffset, frameLength);
+    }
+
     /**
      * @param frameBuffer See {@link #getFrameBuffer()}.
      * @param frameOffset See {@link #getFrameOffset()}.
@@ -0,0 +1,149 @@
+package com.sedmelluq.discord.lavaplayer.track.playback;
+
+import com.sedmelluq.discord.lavaplayer.format.AudioDataFormat;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Frame buffer which passes everything through to another frame buffer, but paces the consuming side according to
+ * a {@link DecodeScheduler}. The consuming side is only ever accessed by the decoding thread of the track.
+ */
+public class ScheduledAudioFrameBuffer implements AudioFrameBuffer {
+    private final AudioFrameBuffer delegate;
+    private final DecodeScheduler scheduler;
+    private final AudioDataFormat format;
+    private final AdaptiveAudioFrameBuffer adaptiveDelegate;
+    private int framesSinceYield;
+
+    /**
+     * @param delegate  The frame buffer to pass frames to
+     * @param scheduler Scheduler which decides when the decoding thread may continue
+     * @param format    Format of the frames in the buffer
+     */
+    public ScheduledAudioFrameBuffer(AudioFrameBuffer delegate, DecodeScheduler scheduler, AudioDataFormat format) {
+        this.delegate = delegate;
+        this.scheduler = scheduler;
+        this.format = format;
+        this.adaptiveDelegate = delegate instanceof AdaptiveAudioFrameBuffer ? (AdaptiveAudioFrameBuffer) delegate : null;
+    }
+
+    @Override
+    public void consume(AudioFrame frame) throws InterruptedException {
+        pace();
+        delegate.consume(frame);
+    }
+
+    @Override
+    public ByteBuffer reserve(int maximumLength) throws InterruptedException {
+        pace();
+        return delegate.reserve(maximumLength);
+    }
+
+    @Override
+    public void commit(long timecode, int volume, int length) {
+        delegate.commit(timecode, volume, length);
+    }
+
+    private void pace() throws InterruptedException {
+        // A pending clear after a seek frees the whole buffer, waiting for it to drain would only delay the seek.
+        if (!delegate.hasClearOnInsert() && delegate.getRemainingCapacity() == 0) {
+            framesSinceYield = 0;
+            long start = System.nanoTime();
+
+            try {
+                scheduler.awaitRefill(delegate, format);
+            } finally {
+                if (adaptiveDelegate != null) {
+                    adaptiveDelegate.addPacingTime(System.nanoTime() - start);
+                }
+            }
+        } else if (scheduler.getYieldInterval() > 0 && ++framesSinceYield >= scheduler.getYieldInterval()) {
+            framesSinceYield = 0;
+            Thread.yield();
+        }
+    }
+
+    @Override
+    public void rebuild(AudioFrameRebuilder rebuilder) {
+        delegate.rebuild(rebuilder);
+    }
+
+    @Override
+    public AudioFrame provide() {
+        return delegate.provide();
+    }
+
+    @Override
+    public AudioFrame provide(long timeout, TimeUnit unit) throws TimeoutException, InterruptedException {
+        return delegate.provide(timeout, unit);
+    }
+
+    @Override
+    public boolean provide(MutableAudioFrame targetFrame) {
+        return delegate.provide(targetFrame);
+    }
+
+    @Override
+    public boolean provide(MutableAudioFrame targetFrame, long timeout, TimeUnit unit)
+        throws TimeoutException, InterruptedException {
+
+        return delegate.provide(targetFrame, timeout, unit);
+    }
+
+    @Override
+    public int getRemainingCapacity() {
+        return delegate.getRemainingCapacity();
+    }
+
+    @Override
+    public int getFullCapacity() {
+        return delegate.getFullCapacity();
+    }
+
+    @Override
+    public void waitForTermination() throws InterruptedException {
+        delegate.waitForTermination();
+    }
+
+    @Override
+    public void setTerminateOnEmpty() {
+        delegate.setTerminateOnEmpty();
+    }
+
+    @Override
+    public void setClearOnInsert() {
+        delegate.setClearOnInsert();
+    }
+
+    @Override
+    public boolean hasClearOnInsert() {
+        return delegate.hasClearOnInsert();
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+    }
+
+    @Override
+    public void lockBuffer() {
+        delegate.lockBuffer();
+    }
+
+    @Override
+    public boolean hasReceivedFrames() {
+        return delegate.hasReceivedFrames();
+    }
+
+    @Override
+    public Long getLastInputTimecode() {
+        return delegate.getLastInputTimecode();
+    }
+
+    @Override
+    public void dispose() {
+        delegate.dispose();
+    }
+}
@@ -0,0 +1,73 @@
+package com.sedmelluq.discord.lavaplayer.filter.kernel;
+
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.ShortVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Kernels implemented with the Vector API. Compiled separately for Java 17 when the build is run with
+ * <code>-PvectorKernels=true</code>, only loaded by {@link PcmKernels} on Java 21 or later when the incubator module is
+ * available. The gain is applied with float arithmetic, so the result may differ from the scalar integer arithmetic by
+ * one in the least significant bit. Loop tails are handled by the scalar implementation.
+ */
+public class VectorPcmKernels extends ScalarPcmKernels {
+    private static final VectorSpecies<Float> FLOATS = FloatVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Short> SHORTS = VectorSpecies.of(short.class,
+        VectorShape.forBitSize(FLOATS.vectorBitSize() / 2));
+
+    @Override
+    public String getName() {
+        return "vector-" + FLOATS.vectorBitSize();
+    }
+
+    @Override
+    public void convertToFloat(short[] input, int inputOffset, float[] output, int outputOffset, int length) {
+        int bound = FLOATS.loopBound(length);
+
+        for (int i = 0; i < bound; i += FLOATS.length()) {
+            ShortVector samples = ShortVector.fromArray(SHORTS, input, inputOffset + i);
+            FloatVector converted = (FloatVector) samples.convertShape(VectorOperators.S2F, FLOATS, 0);
+            converted.mul(1.0f / 32768.0f).intoArray(output, outputOffset + i);
+        }
+
+        super.convertToFloat(input, inputOffset + bound, output, outputOffset + bound, length - bound);
+    }
+
+    @Override
+    public void convertToShort(float[] input, int inputOffset, short[] output, int outputOffset, int length) {
+        int bound = FLOATS.loopBound(length);
+
+        for (int i = 0; i < bound; i += FLOATS.length()) {
+            FloatVector samples = FloatVector.fromArray(FLOATS, input, inputOffset + i)
+                .mul(32768.0f)
+                .max(-32768.0f)
+                .min(32767.0f);
+
+            samples.convertShape(VectorOperators.F2S, SHORTS, 0)
+                .reinterpretAsShorts()
+                .intoArray(output, outputOffset + i);
+        }
+
+        super.convertToShort(input, inputOffset + bound, output, outputOffset + bound, length - bound);
+    }
+
+    @Override
+    public void applyGain(short[] samples, int offset, int length, int numerator, int denominator) {
+        int bound = FLOATS.loopBound(length);
+        float multiplier = (float) numerator / denominator;
+
+        for (int i = 0; i < bound; i += FLOATS.length()) {
+            ShortVector input = ShortVector.fromArray(SHORTS, samples, offset + i);
+            FloatVector scaled = ((FloatVector) input.convertShape(VectorOperators.S2F, FLOATS, 0))
+                .mul(multiplier)
+                .max(-32768.0f)
+                .min(32767.0f);
+
+            scaled.convertShape(VectorOperators.F2S, SHORTS, 0).reinterpretAsShorts().intoArray(samples, offset + i);
+        }
+
+        super.applyGain(samples, offset + bound, length - bound, numerator, denominator);
+    }
+}
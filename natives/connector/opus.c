@@ -24,6 +24,99 @@ CONNECTOR_EXPORT jint JNICALL Java_com_sedmelluq_discord_lavaplayer_natives_opus
 	return opus_encode((OpusEncoder*) instance, input, frame_size, output, output_length);
 }
 
+CONNECTOR_EXPORT jint JNICALL Java_com_sedmelluq_discord_lavaplayer_natives_opus_OpusEncoderLibrary_encodeAt(JNIEnv *jni, jobject me, jlong instance, jobject direct_input, jint frame_size,
+		jobject direct_output, jint output_offset, jint output_length) {
+	if (instance == 0) {
+		return 0;
+	}
+
+	opus_int16* input = (*jni)->GetDirectBufferAddress(jni, direct_input);
+	unsigned char* output = (*jni)->GetDirectBufferAddress(jni, direct_output);
+
+	if (input == NULL || output == NULL) {
+		return OPUS_BAD_ARG;
+	}
+
+	return opus_encode((OpusEncoder*) instance, input, frame_size, output + output_offset, output_length);
+}
+
+CONNECTOR_EXPORT jint JNICALL Java_com_sedmelluq_discord_lavaplayer_natives_opus_OpusEncoderLibrary_encodeToArray(JNIEnv *jni, jobject me, jlong instance, jobject direct_input, jint frame_size,
+		jbyteArray output, jint output_offset, jint output_length) {
+	if (instance == 0) {
+		return 0;
+	}
+
+	opus_int16* input = (*jni)->GetDirectBufferAddress(jni, direct_input);
+
+	if (input == NULL) {
+		return OPUS_BAD_ARG;
+	}
+
+	jbyte* output_bytes = (*jni)->GetPrimitiveArrayCritical(jni, output, NULL);
+
+	if (output_bytes == NULL) {
+		return OPUS_ALLOC_FAIL;
+	}
+
+	jint result = opus_encode((OpusEncoder*) instance, input, frame_size, (unsigned char*) output_bytes + output_offset, output_length);
+
+	(*jni)->ReleasePrimitiveArrayCritical(jni, output, output_bytes, 0);
+	return result;
+}
+
+#define ENCODE_BATCH_BLOCK 64
+
+CONNECTOR_EXPORT jint JNICALL Java_com_sedmelluq_discord_lavaplayer_natives_opus_OpusEncoderLibrary_encodeBatch(JNIEnv *jni, jobject me, jlongArray instances, jint count,
+		jobject direct_input, jint frame_size, jint input_stride, jobject direct_output, jint output_stride, jintArray results) {
+
+	opus_int16* input = (*jni)->GetDirectBufferAddress(jni, direct_input);
+	unsigned char* output = (*jni)->GetDirectBufferAddress(jni, direct_output);
+
+	if (input == NULL || output == NULL) {
+		return OPUS_BAD_ARG;
+	}
+
+	jlong encoders[ENCODE_BATCH_BLOCK];
+	jint lengths[ENCODE_BATCH_BLOCK];
+
+	/* Copied in blocks instead of held in critical regions, so the encoding does not block the garbage collector. */
+	for (jint offset = 0; offset < count; offset += ENCODE_BATCH_BLOCK) {
+		jint block = count - offset < ENCODE_BATCH_BLOCK ? count - offset : ENCODE_BATCH_BLOCK;
+
+		(*jni)->GetLongArrayRegion(jni, instances, offset, block, encoders);
+
+		if ((*jni)->ExceptionCheck(jni)) {
+			return OPUS_BAD_ARG;
+		}
+
+		for (jint i = 0; i < block; i++) {
+			jint index = offset + i;
+
+			if (encoders[i] == 0) {
+				lengths[i] = OPUS_INVALID_STATE;
+			} else {
+				lengths[i] = opus_encode((OpusEncoder*) encoders[i], input + index * input_stride, frame_size, output + index * output_stride, output_stride);
+			}
+		}
+
+		(*jni)->SetIntArrayRegion(jni, results, offset, block, lengths);
+
+		if ((*jni)->ExceptionCheck(jni)) {
+			return OPUS_BAD_ARG;
+		}
+	}
+
+	return OPUS_OK;
+}
+
+CONNECTOR_EXPORT jint JNICALL Java_com_sedmelluq_discord_lavaplayer_natives_opus_OpusEncoderLibrary_reset(JNIEnv *jni, jobject me, jlong instance) {
+	if (instance == 0) {
+		return 0;
+	}
+
+	return opus_encoder_ctl((OpusEncoder*) instance, OPUS_RESET_STATE);
+}
+
 CONNECTOR_EXPORT void JNICALL Java_com_sedmelluq_discord_lavaplayer_natives_opus_OpusEncoderLibrary_destroy(JNIEnv *jni, jobject me, jlong instance) {
 	OpusEncoder* encoder = (OpusEncoder*) instance;
 
@@ -50,6 +143,22 @@ CONNECTOR_EXPORT jint JNICALL Java_com_sedmelluq_discord_lavaplayer_natives_opus
 	return opus_decode((OpusDecoder*) instance, input, input_size, output, frame_size, 0);
 }
 
+CONNECTOR_EXPORT jint JNICALL Java_com_sedmelluq_discord_lavaplayer_natives_opus_OpusDecoderLibrary_setGain(JNIEnv *jni, jobject me, jlong instance, jint gain) {
+	if (instance == 0) {
+		return 0;
+	}
+
+	return opus_decoder_ctl((OpusDecoder*) instance, OPUS_SET_GAIN(gain));
+}
+
+CONNECTOR_EXPORT jint JNICALL Java_com_sedmelluq_discord_lavaplayer_natives_opus_OpusDecoderLibrary_reset(JNIEnv *jni, jobject me, jlong instance) {
+	if (instance == 0) {
+		return 0;
+	}
+
+	return opus_decoder_ctl((OpusDecoder*) instance, OPUS_RESET_STATE);
+}
+
 CONNECTOR_EXPORT void JNICALL Java_com_sedmelluq_discord_lavaplayer_natives_opus_OpusDecoderLibrary_destroy(JNIEnv *jni, jobject me, jlong instance) {
 	OpusDecoder* decoder = (OpusDecoder*) instance;
 
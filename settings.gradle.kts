@@ -9,7 +9,8 @@ include(
     ":extensions:format-xm",
     ":natives",
     ":natives-publish",
-    ":testbot"
+    ":testbot",
+    ":benchmarks"
 )
 
 // https://github.com/gradle/gradle/issues/19254
@@ -31,6 +32,7 @@ fun VersionCatalogBuilder.plugins() {
 
     plugin("maven-publish", "com.vanniktech.maven.publish").versionRef(mavenPublishPlugin)
     plugin("maven-publish-base", "com.vanniktech.maven.publish.base").versionRef(mavenPublishPlugin)
+    plugin("jmh", "me.champeau.jmh").version("0.7.2")
 }
 
 fun VersionCatalogBuilder.common() {